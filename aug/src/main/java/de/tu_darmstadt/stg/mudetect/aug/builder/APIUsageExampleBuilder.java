@@ -12,14 +12,18 @@ import de.tu_darmstadt.stg.mudetect.aug.model.dataflow.ParameterEdge;
 import de.tu_darmstadt.stg.mudetect.aug.model.dataflow.QualifierEdge;
 import de.tu_darmstadt.stg.mudetect.aug.model.dataflow.ReceiverEdge;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
+/**
+ * Builds an AUG with the nodes and edges in the order they are added, such that building the same AUG again yields the
+ * same iteration order.
+ */
 public class APIUsageExampleBuilder {
-    private final Map<String, Node> nodeMap = new HashMap<>();
-    private final Set<Edge> edges = new HashSet<>();
+    private final Map<String, Node> nodeMap = new LinkedHashMap<>();
+    private final Set<Edge> edges = new LinkedHashSet<>();
     private final Location location;
 
     public static APIUsageExampleBuilder buildAUG(Location location) {
@@ -3,6 +3,7 @@ package de.tu_darmstadt.stg.mudetect.aug.model;
 import org.jgrapht.graph.DirectedMultigraph;
 
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -11,7 +12,10 @@ public class APIUsageGraph extends DirectedMultigraph<Node, Edge> {
     private static final String FROZEN = "this API-usage graph is frozen";
 
     private boolean frozen;
-    private int hash;
+    private CompactAdjacency compactAdjacency;
+    // set while the super constructor runs, hence, it must not have an initializer
+    private FreezableSpecifics specifics;
+    private int hash = -1;
     private Set<Node> meaningfullActionNodesCache = null;
 
     public APIUsageGraph() {
@@ -31,13 +35,33 @@ public class APIUsageGraph extends DirectedMultigraph<Node, Edge> {
     }
 
     public Set<Node> incomingNodesOf(Node node) {
+        if (frozen) {
+            return compactAdjacency.incomingNodesOf(getNodeIndex(node));
+        }
         return incomingEdgesOf(node).stream().map(APIUsageGraph.this::getEdgeSource).collect(Collectors.toSet());
     }
 
     public Set<Node> outgoingNodesOf(Node node) {
+        if (frozen) {
+            return compactAdjacency.outgoingNodesOf(getNodeIndex(node));
+        }
         return outgoingEdgesOf(node).stream().map(APIUsageGraph.this::getEdgeTarget).collect(Collectors.toSet());
     }
 
+    @Override
+    public Set<Node> vertexSet() {
+        if (frozen) {
+            return compactAdjacency.nodeSet();
+        }
+        return super.vertexSet();
+    }
+
+    private int getNodeIndex(Node node) {
+        int nodeIndex = compactAdjacency.getNodeIndex(node);
+        if (nodeIndex == -1) throw new IllegalArgumentException("no such vertex in graph: " + node);
+        return nodeIndex;
+    }
+
     public Set<String> getAPIs() {
         return vertexSet().stream().map(Node::getAPI)
                 .filter(Optional::isPresent).map(Optional::get)
@@ -47,10 +71,30 @@ public class APIUsageGraph extends DirectedMultigraph<Node, Edge> {
     /**
      * Freezes this API-usage graph. Once the graph is frozen, no elements can be added or removed from it. Trying to do
      * so will result in an {@link UnsupportedOperationException}. Once the graph is frozen, it will start caching its
-     * properties, such as the hash code, to reduce performance overhead.
+     * properties, such as the hash code, to reduce performance overhead. Freezing also creates a
+     * {@link CompactAdjacency} of the graph, which backs the vertex set and all adjacency queries from then on. The
+     * graph releases its per-vertex edge containers in exchange, such that a frozen graph requires less heap than an
+     * unfrozen one.
      */
     public void freeze() {
-        this.frozen = true;
+        if (!frozen) {
+            this.compactAdjacency = new CompactAdjacency(this);
+            this.frozen = true;
+            specifics.release();
+        }
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * @return the array-backed adjacency of this graph
+     * @throws IllegalStateException if this graph is not frozen
+     */
+    public CompactAdjacency getCompactAdjacency() {
+        if (!frozen) throw new IllegalStateException("only frozen API-usage graphs have a compact adjacency");
+        return compactAdjacency;
     }
 
     @Override
@@ -121,6 +165,12 @@ public class APIUsageGraph extends DirectedMultigraph<Node, Edge> {
         return hash;
     }
 
+    @Override
+    protected DirectedSpecifics createDirectedSpecifics() {
+        specifics = new FreezableSpecifics();
+        return specifics;
+    }
+
     private boolean hasEdge(Node edgeSource, Class<? extends Edge> edgeType, Node edgeTarget) {
         for (Edge edge : outgoingEdgesOf(edgeSource)) {
             if (edgeType.isAssignableFrom(edge.getClass()) && getEdgeTarget(edge) == edgeTarget) {
@@ -129,4 +179,113 @@ public class APIUsageGraph extends DirectedMultigraph<Node, Edge> {
         }
         return false;
     }
+
+    /**
+     * The adjacency of the graph, which is held by per-vertex edge containers until the graph is frozen and by the
+     * graph's {@link CompactAdjacency} from then on.
+     */
+    private class FreezableSpecifics extends DirectedSpecifics {
+        void release() {
+            // the graph's cached view of the vertex set refers to the map, hence, the map's entries are removed first
+            vertexMapDirected.clear();
+            vertexMapDirected = null;
+        }
+
+        @Override
+        public void addVertex(Node node) {
+            if (frozen) throw new UnsupportedOperationException(FROZEN);
+            super.addVertex(node);
+        }
+
+        @Override
+        public Set<Node> getVertexSet() {
+            if (frozen) {
+                return compactAdjacency.nodeSet();
+            }
+            return super.getVertexSet();
+        }
+
+        @Override
+        public Set<Edge> getAllEdges(Node sourceVertex, Node targetVertex) {
+            if (frozen) {
+                int sourceIndex = compactAdjacency.getNodeIndex(sourceVertex);
+                int targetIndex = compactAdjacency.getNodeIndex(targetVertex);
+                if (sourceIndex == -1 || targetIndex == -1) {
+                    return null;
+                }
+                Set<Edge> edges = new LinkedHashSet<>();
+                int end = compactAdjacency.getOutgoingEnd(sourceIndex);
+                for (int i = compactAdjacency.getOutgoingStart(sourceIndex); i < end; i++) {
+                    if (compactAdjacency.getOutgoingTargetIndex(i) == targetIndex) {
+                        edges.add(compactAdjacency.getOutgoingEdge(i));
+                    }
+                }
+                return edges;
+            }
+            return super.getAllEdges(sourceVertex, targetVertex);
+        }
+
+        @Override
+        public Edge getEdge(Node sourceVertex, Node targetVertex) {
+            if (frozen) {
+                Set<Edge> edges = getAllEdges(sourceVertex, targetVertex);
+                return edges == null || edges.isEmpty() ? null : edges.iterator().next();
+            }
+            return super.getEdge(sourceVertex, targetVertex);
+        }
+
+        @Override
+        public void addEdgeToTouchingVertices(Edge edge) {
+            if (frozen) throw new UnsupportedOperationException(FROZEN);
+            super.addEdgeToTouchingVertices(edge);
+        }
+
+        @Override
+        public Set<Edge> edgesOf(Node node) {
+            if (frozen) {
+                return compactAdjacency.edgesOf(getNodeIndex(node));
+            }
+            return super.edgesOf(node);
+        }
+
+        @Override
+        public int inDegreeOf(Node node) {
+            if (frozen) {
+                int nodeIndex = getNodeIndex(node);
+                return compactAdjacency.getIncomingEnd(nodeIndex) - compactAdjacency.getIncomingStart(nodeIndex);
+            }
+            return super.inDegreeOf(node);
+        }
+
+        @Override
+        public Set<Edge> incomingEdgesOf(Node node) {
+            if (frozen) {
+                return compactAdjacency.incomingEdgesOf(getNodeIndex(node));
+            }
+            return super.incomingEdgesOf(node);
+        }
+
+        @Override
+        public int outDegreeOf(Node node) {
+            if (frozen) {
+                int nodeIndex = getNodeIndex(node);
+                return compactAdjacency.getOutgoingEnd(nodeIndex) - compactAdjacency.getOutgoingStart(nodeIndex);
+            }
+            return super.outDegreeOf(node);
+        }
+
+        @Override
+        public Set<Edge> outgoingEdgesOf(Node node) {
+            if (frozen) {
+                return compactAdjacency.outgoingEdgesOf(getNodeIndex(node));
+            }
+            return super.outgoingEdgesOf(node);
+        }
+
+        @Override
+        public void removeEdgeFromTouchingVertices(Edge edge) {
+            if (frozen) throw new UnsupportedOperationException(FROZEN);
+            super.removeEdgeFromTouchingVertices(edge);
+        }
+    }
 }
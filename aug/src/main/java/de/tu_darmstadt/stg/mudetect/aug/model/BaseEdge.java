@@ -7,6 +7,7 @@ public abstract class BaseEdge implements Edge {
     private Node target;
     private final Type type;
     private APIUsageGraph graph;
+    private transient volatile Object labelIdCache;
 
     protected BaseEdge(Node source, Node target, Type type) {
         this.source = source;
@@ -39,10 +40,24 @@ public abstract class BaseEdge implements Edge {
         return type;
     }
 
+    /**
+     * A slot in which a label provider may cache the label of this edge, such that looking the label up is a field read,
+     * see {@link de.tu_darmstadt.stg.mudetect.aug.visitors.InterningAUGLabelProvider}. The slot is not copied to clones.
+     */
+    public Object getLabelIdCache() {
+        return labelIdCache;
+    }
+
+    public void setLabelIdCache(Object labelIdCache) {
+        this.labelIdCache = labelIdCache;
+    }
+
     @Override
     public Edge clone() {
         try {
-            return (Edge) super.clone();
+            BaseEdge clone = (BaseEdge) super.clone();
+            clone.labelIdCache = null;
+            return clone;
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException("All edges must be cloneable.", e);
         }
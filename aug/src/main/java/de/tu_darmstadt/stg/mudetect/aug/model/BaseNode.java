@@ -3,19 +3,21 @@ package de.tu_darmstadt.stg.mudetect.aug.model;
 import de.tu_darmstadt.stg.mudetect.aug.visitors.BaseAUGLabelProvider;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class BaseNode implements Node {
-    private static int nextNodeId = 0;
+    private static final AtomicInteger nextNodeId = new AtomicInteger();
 
     private final int id;
     private final int sourceLineNumber;
     private APIUsageGraph aug;
+    private transient volatile Object labelIdCache;
 
     protected BaseNode() { this(-1); }
 
     protected BaseNode(int sourceLineNumber) {
         this.sourceLineNumber = sourceLineNumber;
-        this.id = nextNodeId++;
+        this.id = nextNodeId.getAndIncrement();
     }
 
     @Override
@@ -37,10 +39,24 @@ public abstract class BaseNode implements Node {
         return sourceLineNumber > -1 ? Optional.of(sourceLineNumber) : Optional.empty();
     }
 
+    /**
+     * A slot in which a label provider may cache the label of this node, such that looking the label up is a field read,
+     * see {@link de.tu_darmstadt.stg.mudetect.aug.visitors.InterningAUGLabelProvider}. The slot is not copied to clones.
+     */
+    public Object getLabelIdCache() {
+        return labelIdCache;
+    }
+
+    public void setLabelIdCache(Object labelIdCache) {
+        this.labelIdCache = labelIdCache;
+    }
+
     @Override
     public Node clone() {
         try {
-            return (Node) super.clone();
+            BaseNode clone = (BaseNode) super.clone();
+            clone.labelIdCache = null;
+            return clone;
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException("All nodes must be cloneable", e);
         }
@@ -0,0 +1,370 @@
+package de.tu_darmstadt.stg.mudetect.aug.model;
+
+import java.util.*;
+
+/**
+ * Read-only, array-backed adjacency of a frozen {@link APIUsageGraph}, in compressed-sparse-row form. Nodes are
+ * identified by dense indices in the order of the graph's vertex set. For every node, its incoming and outgoing edges
+ * are stored in contiguous slices, together with the index of the node at the other end of each edge, and in the same
+ * order as the graph iterates them. Iterating over a node's neighbors by position does not allocate.
+ *
+ * The adjacency replaces the graph's per-vertex edge containers, which the graph releases once it is frozen, see
+ * {@link APIUsageGraph#freeze()}.
+ */
+public final class CompactAdjacency {
+    private final Node[] nodes;
+    private final Map<Node, Integer> nodeIndices;
+    private final Set<Node> nodeSet = new NodeSet();
+
+    private final int[] incomingOffsets;
+    private final Edge[] incomingEdges;
+    private final int[] incomingSources;
+    private final int[] outgoingOffsets;
+    private final Edge[] outgoingEdges;
+    private final int[] outgoingTargets;
+
+    private final int[] incomingNodeOffsets;
+    private final int[] incomingNodes;
+    private final int[] outgoingNodeOffsets;
+    private final int[] outgoingNodes;
+
+    CompactAdjacency(APIUsageGraph graph) {
+        Set<Node> vertices = graph.vertexSet();
+        int numberOfNodes = vertices.size();
+        int numberOfEdges = graph.edgeSet().size();
+        nodes = vertices.toArray(new Node[numberOfNodes]);
+        nodeIndices = new IdentityHashMap<>(numberOfNodes);
+        for (int i = 0; i < numberOfNodes; i++) {
+            nodeIndices.put(nodes[i], i);
+        }
+
+        incomingOffsets = new int[numberOfNodes + 1];
+        incomingEdges = new Edge[numberOfEdges];
+        incomingSources = new int[numberOfEdges];
+        outgoingOffsets = new int[numberOfNodes + 1];
+        outgoingEdges = new Edge[numberOfEdges];
+        outgoingTargets = new int[numberOfEdges];
+        int incomingPosition = 0, outgoingPosition = 0;
+        for (int i = 0; i < numberOfNodes; i++) {
+            incomingOffsets[i] = incomingPosition;
+            for (Edge edge : graph.incomingEdgesOf(nodes[i])) {
+                incomingEdges[incomingPosition] = edge;
+                incomingSources[incomingPosition] = nodeIndices.get(graph.getEdgeSource(edge));
+                incomingPosition++;
+            }
+            outgoingOffsets[i] = outgoingPosition;
+            for (Edge edge : graph.outgoingEdgesOf(nodes[i])) {
+                outgoingEdges[outgoingPosition] = edge;
+                outgoingTargets[outgoingPosition] = nodeIndices.get(graph.getEdgeTarget(edge));
+                outgoingPosition++;
+            }
+        }
+        incomingOffsets[numberOfNodes] = incomingPosition;
+        outgoingOffsets[numberOfNodes] = outgoingPosition;
+
+        incomingNodeOffsets = new int[numberOfNodes + 1];
+        incomingNodes = distinctNeighbors(incomingOffsets, incomingSources, incomingNodeOffsets);
+        outgoingNodeOffsets = new int[numberOfNodes + 1];
+        outgoingNodes = distinctNeighbors(outgoingOffsets, outgoingTargets, outgoingNodeOffsets);
+    }
+
+    private static int[] distinctNeighbors(int[] offsets, int[] neighbors, int[] distinctOffsets) {
+        int[] distinctNeighbors = new int[neighbors.length];
+        int position = 0;
+        for (int i = 0; i < offsets.length - 1; i++) {
+            distinctOffsets[i] = position;
+            int start = position;
+            for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+                if (!contains(distinctNeighbors, start, position, neighbors[j])) {
+                    distinctNeighbors[position++] = neighbors[j];
+                }
+            }
+        }
+        distinctOffsets[offsets.length - 1] = position;
+        return Arrays.copyOf(distinctNeighbors, position);
+    }
+
+    private static boolean contains(int[] values, int from, int to, int value) {
+        for (int i = from; i < to; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+
+    public int getNumberOfNodes() {
+        return nodes.length;
+    }
+
+    public Node getNode(int nodeIndex) {
+        return nodes[nodeIndex];
+    }
+
+    /**
+     * @return the dense index of the node or -1, if the node is not part of the graph.
+     */
+    public int getNodeIndex(Node node) {
+        Integer index = nodeIndices.get(node);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @return the position of the first incoming edge of the node. The incoming edges of the node are at the positions
+     * from this (inclusive) to {@link #getIncomingEnd(int)} (exclusive).
+     */
+    public int getIncomingStart(int nodeIndex) {
+        return incomingOffsets[nodeIndex];
+    }
+
+    public int getIncomingEnd(int nodeIndex) {
+        return incomingOffsets[nodeIndex + 1];
+    }
+
+    public Edge getIncomingEdge(int position) {
+        return incomingEdges[position];
+    }
+
+    public int getIncomingSourceIndex(int position) {
+        return incomingSources[position];
+    }
+
+    /**
+     * @return the position of the first outgoing edge of the node. The outgoing edges of the node are at the positions
+     * from this (inclusive) to {@link #getOutgoingEnd(int)} (exclusive).
+     */
+    public int getOutgoingStart(int nodeIndex) {
+        return outgoingOffsets[nodeIndex];
+    }
+
+    public int getOutgoingEnd(int nodeIndex) {
+        return outgoingOffsets[nodeIndex + 1];
+    }
+
+    public Edge getOutgoingEdge(int position) {
+        return outgoingEdges[position];
+    }
+
+    public int getOutgoingTargetIndex(int position) {
+        return outgoingTargets[position];
+    }
+
+    /**
+     * @return a read-only view of the nodes, in the order of their indices.
+     */
+    public Set<Node> nodeSet() {
+        return nodeSet;
+    }
+
+    /**
+     * @return a read-only view of the node's incoming edges.
+     */
+    public Set<Edge> incomingEdgesOf(int nodeIndex) {
+        return new EdgeSlice(incomingEdges, incomingOffsets[nodeIndex], incomingOffsets[nodeIndex + 1]);
+    }
+
+    /**
+     * @return a read-only view of the node's outgoing edges.
+     */
+    public Set<Edge> outgoingEdgesOf(int nodeIndex) {
+        return new EdgeSlice(outgoingEdges, outgoingOffsets[nodeIndex], outgoingOffsets[nodeIndex + 1]);
+    }
+
+    /**
+     * @return a read-only view of the distinct sources of the node's incoming edges.
+     */
+    public Set<Node> incomingNodesOf(int nodeIndex) {
+        return new NodeSlice(incomingNodes, incomingNodeOffsets[nodeIndex], incomingNodeOffsets[nodeIndex + 1]);
+    }
+
+    /**
+     * @return a read-only view of the distinct targets of the node's outgoing edges.
+     */
+    public Set<Node> outgoingNodesOf(int nodeIndex) {
+        return new NodeSlice(outgoingNodes, outgoingNodeOffsets[nodeIndex], outgoingNodeOffsets[nodeIndex + 1]);
+    }
+
+    /**
+     * @return a read-only view of the node's incoming edges followed by its outgoing edges. A self-loop is contained
+     * once, among the incoming edges.
+     */
+    public Set<Edge> edgesOf(int nodeIndex) {
+        return new IncidentEdges(nodeIndex);
+    }
+
+    private final class NodeSet extends AbstractSet<Node> {
+        @Override
+        public Iterator<Node> iterator() {
+            return Collections.unmodifiableList(Arrays.asList(nodes)).iterator();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return nodeIndices.containsKey(o);
+        }
+
+        @Override
+        public int size() {
+            return nodes.length;
+        }
+    }
+
+    private static final class EdgeSlice extends AbstractSet<Edge> {
+        private final Edge[] edges;
+        private final int start;
+        private final int end;
+
+        EdgeSlice(Edge[] edges, int start, int end) {
+            this.edges = edges;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public Iterator<Edge> iterator() {
+            return new Iterator<Edge>() {
+                private int position = start;
+
+                @Override
+                public boolean hasNext() {
+                    return position < end;
+                }
+
+                @Override
+                public Edge next() {
+                    if (position >= end) throw new NoSuchElementException();
+                    return edges[position++];
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            for (int i = start; i < end; i++) {
+                if (edges[i] == o) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return start == end;
+        }
+
+        @Override
+        public int size() {
+            return end - start;
+        }
+    }
+
+    private final class NodeSlice extends AbstractSet<Node> {
+        private final int[] nodeIndices;
+        private final int start;
+        private final int end;
+
+        NodeSlice(int[] nodeIndices, int start, int end) {
+            this.nodeIndices = nodeIndices;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public Iterator<Node> iterator() {
+            return new Iterator<Node>() {
+                private int position = start;
+
+                @Override
+                public boolean hasNext() {
+                    return position < end;
+                }
+
+                @Override
+                public Node next() {
+                    if (position >= end) throw new NoSuchElementException();
+                    return nodes[nodeIndices[position++]];
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            for (int i = start; i < end; i++) {
+                if (nodes[nodeIndices[i]] == o) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return start == end;
+        }
+
+        @Override
+        public int size() {
+            return end - start;
+        }
+    }
+
+    private final class IncidentEdges extends AbstractSet<Edge> {
+        private final int nodeIndex;
+
+        IncidentEdges(int nodeIndex) {
+            this.nodeIndex = nodeIndex;
+        }
+
+        @Override
+        public Iterator<Edge> iterator() {
+            return new Iterator<Edge>() {
+                private int incomingPosition = getIncomingStart(nodeIndex);
+                private int outgoingPosition = skipSelfLoops(getOutgoingStart(nodeIndex));
+
+                @Override
+                public boolean hasNext() {
+                    return incomingPosition < getIncomingEnd(nodeIndex) || outgoingPosition < getOutgoingEnd(nodeIndex);
+                }
+
+                @Override
+                public Edge next() {
+                    if (incomingPosition < getIncomingEnd(nodeIndex)) {
+                        return incomingEdges[incomingPosition++];
+                    }
+                    if (outgoingPosition < getOutgoingEnd(nodeIndex)) {
+                        Edge edge = outgoingEdges[outgoingPosition];
+                        outgoingPosition = skipSelfLoops(outgoingPosition + 1);
+                        return edge;
+                    }
+                    throw new NoSuchElementException();
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            for (int i = getIncomingStart(nodeIndex); i < getIncomingEnd(nodeIndex); i++) {
+                if (incomingEdges[i] == o) return true;
+            }
+            for (int i = getOutgoingStart(nodeIndex); i < getOutgoingEnd(nodeIndex); i++) {
+                if (outgoingEdges[i] == o) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public int size() {
+            int size = getIncomingEnd(nodeIndex) - getIncomingStart(nodeIndex);
+            for (int i = getOutgoingStart(nodeIndex); i < getOutgoingEnd(nodeIndex); i++) {
+                if (outgoingTargets[i] != nodeIndex) size++;
+            }
+            return size;
+        }
+
+        /**
+         * @return the first position from the given one that is not an outgoing self-loop, since the iterator returns
+         * self-loops among the incoming edges already.
+         */
+        private int skipSelfLoops(int outgoingPosition) {
+            while (outgoingPosition < getOutgoingEnd(nodeIndex) && outgoingTargets[outgoingPosition] == nodeIndex) {
+                outgoingPosition++;
+            }
+            return outgoingPosition;
+        }
+    }
+}
@@ -25,6 +25,10 @@ public class AggregateDataNode extends BaseNode implements DataNode {
         return getFirstOrNull(getAggregatedNames());
     }
 
+    public Set<DataNode> getAggregatedNodes() {
+        return aggregatedNodes;
+    }
+
     public Multiset<String> getAggregatedNames() {
         return mapAggregatedNodes(DataNode::getName);
     }
@@ -0,0 +1,34 @@
+package de.tu_darmstadt.stg.mudetect.aug.persistence;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
+import org.jgrapht.ext.ImportException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.Function;
+
+/**
+ * Converts AUGs persisted by {@link AUGWriter} to the format of {@link BinaryAUGWriter}.
+ */
+public class AUGFormatConverter {
+    /**
+     * @param exampleFactory creates the example to read into from the name the graph was written with, since the dot
+     *                       archive does not store the examples' locations.
+     * @return the number of converted AUGs.
+     */
+    public static int convertDotArchive(InputStream dotArchive, OutputStream binary,
+                                        Function<String, APIUsageExample> exampleFactory)
+            throws IOException, ImportException {
+        int count = 0;
+        try (AUGReader<APIUsageExample> reader = new AUGReader<>(dotArchive, new PersistenceAUGDotImporter(), exampleFactory);
+             BinaryAUGWriter writer = new BinaryAUGWriter(binary)) {
+            APIUsageExample aug;
+            while ((aug = reader.read()) != null) {
+                writer.write(aug);
+                count++;
+            }
+        }
+        return count;
+    }
+}
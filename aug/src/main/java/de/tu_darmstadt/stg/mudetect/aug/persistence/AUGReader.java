@@ -9,6 +9,7 @@ import org.jgrapht.ext.ImportException;
 import java.io.*;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -16,9 +17,17 @@ import java.util.zip.ZipInputStream;
 public class AUGReader<G extends APIUsageGraph> implements AutoCloseable {
     private final ZipInputStream zip;
     private final PersistenceAUGDotImporter importer;
-    private final Supplier<G> emptyGraphFactory;
+    private final Function<String, G> emptyGraphFactory;
 
     public AUGReader(InputStream in, PersistenceAUGDotImporter importer, Supplier<G> emptyGraphFactory) {
+        this(in, importer, graphName -> emptyGraphFactory.get());
+    }
+
+    /**
+     * @param emptyGraphFactory creates the graph to read into from the name the graph was written with, see
+     *                          {@link AUGWriter#write(APIUsageGraph, String)}.
+     */
+    public AUGReader(InputStream in, PersistenceAUGDotImporter importer, Function<String, G> emptyGraphFactory) {
         this.zip = new ZipInputStream(in);
         this.importer = importer;
         this.emptyGraphFactory = emptyGraphFactory;
@@ -31,12 +40,17 @@ public class AUGReader<G extends APIUsageGraph> implements AutoCloseable {
         } else {
             ByteArrayOutputStream contentStream = new ByteArrayOutputStream();
             ByteStreams.copy(zip, contentStream);
-            G graph = emptyGraphFactory.get();
+            G graph = emptyGraphFactory.apply(getGraphName(entry));
             importer.read(contentStream.toString(Charsets.UTF_8.name()), graph);
             return graph;
         }
     }
 
+    private static String getGraphName(ZipEntry entry) {
+        String entryName = entry.getName();
+        return entryName.endsWith(".dot") ? entryName.substring(0, entryName.length() - 4) : entryName;
+    }
+
     public Collection<G> readAll() throws IOException, ImportException {
         Collection<G> augs = new ArrayList<>();
         G aug;
@@ -0,0 +1,194 @@
+package de.tu_darmstadt.stg.mudetect.aug.persistence;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
+import de.tu_darmstadt.stg.mudetect.aug.model.Location;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * A memory-mapped file of AUGs, written by {@link AUGStoreWriter}, that allows to read the AUGs at a location or all
+ * AUGs using a given API or type, without reading the others. Several AUGs may share a location, e.g., those of equally named
+ * methods of anonymous classes in the same method. Lookups are safe to use from multiple threads. Since the
+ * file is mapped as a whole, a store may not exceed 2GB.
+ */
+public class AUGStore implements AutoCloseable {
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Map<Location, List<Integer>> recordsByLocation = new HashMap<>();
+    private final Map<String, int[]> recordsByAPI = new HashMap<>();
+    private final Map<String, int[]> recordsByType = new HashMap<>();
+    private final long[] offsets;
+    private final int[] lengths;
+
+    public static AUGStore open(Path storeFile) throws IOException {
+        return new AUGStore(FileChannel.open(storeFile, StandardOpenOption.READ));
+    }
+
+    private AUGStore(FileChannel channel) throws IOException {
+        this.channel = channel;
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("AUG store exceeds 2GB");
+            }
+            if (size < Long.BYTES + Integer.BYTES) {
+                throw new IOException("not an AUG store");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt((int) size - Integer.BYTES) != AUGStoreWriter.MAGIC) {
+                throw new IOException("not an AUG store");
+            }
+            long indexOffset = buffer.getLong((int) size - Integer.BYTES - Long.BYTES);
+            int indexLength = (int) (size - Integer.BYTES - Long.BYTES - indexOffset);
+            DataInputStream index = new DataInputStream(new ByteBufferInputStream(slice(indexOffset, indexLength)));
+            int numberOfRecords = index.readInt();
+            offsets = new long[numberOfRecords];
+            lengths = new int[numberOfRecords];
+            for (int i = 0; i < numberOfRecords; i++) {
+                offsets[i] = index.readLong();
+                lengths[i] = index.readInt();
+                Location location = new Location(readString(index), readString(index), readString(index));
+                recordsByLocation.computeIfAbsent(location, key -> new ArrayList<>(1)).add(i);
+            }
+            readRecordIndex(index, recordsByAPI);
+            // stores written before the type index was introduced end after the API index
+            if (index.available() > 0) {
+                readRecordIndex(index, recordsByType);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static void readRecordIndex(DataInputStream index, Map<String, int[]> recordsByKey) throws IOException {
+        int numberOfKeys = index.readInt();
+        for (int i = 0; i < numberOfKeys; i++) {
+            String key = readString(index);
+            int[] recordNumbers = new int[index.readInt()];
+            for (int j = 0; j < recordNumbers.length; j++) {
+                recordNumbers[j] = index.readInt();
+            }
+            recordsByKey.put(key, recordNumbers);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    public int size() {
+        return offsets.length;
+    }
+
+    public Set<Location> getLocations() {
+        return Collections.unmodifiableSet(recordsByLocation.keySet());
+    }
+
+    public Set<String> getAPIs() {
+        return Collections.unmodifiableSet(recordsByAPI.keySet());
+    }
+
+    /**
+     * @return the fully-qualified names of the types recorded with the AUGs, see
+     * {@link AUGStoreWriter#write(APIUsageExample, Set)}, which is empty, if no types were recorded.
+     */
+    public Set<String> getTypes() {
+        return Collections.unmodifiableSet(recordsByType.keySet());
+    }
+
+    /**
+     * @return all AUGs at the given location, in the order they were written.
+     */
+    public List<APIUsageExample> get(Location location) throws IOException {
+        List<Integer> recordNumbers = recordsByLocation.getOrDefault(location, Collections.emptyList());
+        List<APIUsageExample> augs = new ArrayList<>(recordNumbers.size());
+        for (int recordNumber : recordNumbers) {
+            augs.add(read(recordNumber));
+        }
+        return augs;
+    }
+
+    /**
+     * @param api the API as reported by {@link de.tu_darmstadt.stg.mudetect.aug.model.Node#getAPI()}.
+     * @return all AUGs with a node of the given API, in the order they were written.
+     */
+    public List<APIUsageExample> getUsagesOf(String api) throws IOException {
+        return read(recordsByAPI.getOrDefault(api, new int[0]));
+    }
+
+    /**
+     * @param type the fully-qualified name of a type, as recorded with the AUGs, see
+     *             {@link AUGStoreWriter#write(APIUsageExample, Set)}.
+     * @return all AUGs recorded to use the given type, in the order they were written.
+     */
+    public List<APIUsageExample> getUsagesOfType(String type) throws IOException {
+        return read(recordsByType.getOrDefault(type, new int[0]));
+    }
+
+    private List<APIUsageExample> read(int[] recordNumbers) throws IOException {
+        List<APIUsageExample> augs = new ArrayList<>(recordNumbers.length);
+        for (int recordNumber : recordNumbers) {
+            augs.add(read(recordNumber));
+        }
+        return augs;
+    }
+
+    private APIUsageExample read(int recordNumber) throws IOException {
+        InputStream record = new ByteBufferInputStream(slice(offsets[recordNumber], lengths[recordNumber]));
+        try (BinaryAUGReader<APIUsageExample> reader = new BinaryAUGReader<>(record, APIUsageExample.class)) {
+            APIUsageExample aug = reader.read();
+            if (aug == null) {
+                throw new IOException("empty record " + recordNumber);
+            }
+            return aug;
+        }
+    }
+
+    private ByteBuffer slice(long offset, int length) {
+        // the mapped buffer's position is shared, hence, every read works on its own view
+        ByteBuffer view = buffer.duplicate();
+        view.position((int) offset);
+        view.limit((int) offset + length);
+        return view.slice();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+            return read;
+        }
+    }
+}
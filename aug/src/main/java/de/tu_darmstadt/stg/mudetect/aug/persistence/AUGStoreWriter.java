@@ -0,0 +1,103 @@
+package de.tu_darmstadt.stg.mudetect.aug.persistence;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
+import de.tu_darmstadt.stg.mudetect.aug.model.Location;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Writes an {@link AUGStore}. Every AUG is stored as a self-contained stream in the format of
+ * {@link BinaryAUGWriter}, such that it can be read without reading any other AUG. The index from the AUGs' locations,
+ * APIs, and the fully-qualified types they use to their records follows the records when the writer is closed.
+ */
+public class AUGStoreWriter implements AutoCloseable {
+    static final int MAGIC = 0x41554753; // "AUGS"
+
+    private final DataOutputStream out;
+    private final List<Location> locations = new ArrayList<>();
+    private final List<Long> offsets = new ArrayList<>();
+    private final List<Integer> lengths = new ArrayList<>();
+    private final Map<String, List<Integer>> recordsByAPI = new TreeMap<>();
+    private final Map<String, List<Integer>> recordsByType = new TreeMap<>();
+    private long position = 0;
+
+    public AUGStoreWriter(Path storeFile) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(storeFile)));
+    }
+
+    public void write(APIUsageExample aug) throws IOException {
+        write(aug, Collections.emptySet());
+    }
+
+    /**
+     * @param types the fully-qualified names of the types the AUG uses, which the AUG itself does not know, since its
+     *              nodes know only simple type names, see {@link AUGStore#getUsagesOfType(String)}.
+     */
+    public void write(APIUsageExample aug, Set<String> types) throws IOException {
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        try (BinaryAUGWriter writer = new BinaryAUGWriter(record)) {
+            writer.write(aug);
+        }
+        int recordNumber = locations.size();
+        locations.add(aug.getLocation());
+        offsets.add(position);
+        lengths.add(record.size());
+        for (String api : aug.getAPIs()) {
+            recordsByAPI.computeIfAbsent(api, key -> new ArrayList<>()).add(recordNumber);
+        }
+        for (String type : types) {
+            recordsByType.computeIfAbsent(type, key -> new ArrayList<>()).add(recordNumber);
+        }
+        record.writeTo(out);
+        position += record.size();
+    }
+
+    public void writeAll(Collection<APIUsageExample> augs) throws IOException {
+        for (APIUsageExample aug : augs) {
+            write(aug);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            long indexOffset = position;
+            out.writeInt(locations.size());
+            for (int i = 0; i < locations.size(); i++) {
+                out.writeLong(offsets.get(i));
+                out.writeInt(lengths.get(i));
+                Location location = locations.get(i);
+                writeString(location.getProjectName());
+                writeString(location.getFilePath());
+                writeString(location.getMethodSignature());
+            }
+            writeRecordIndex(recordsByAPI);
+            writeRecordIndex(recordsByType);
+            out.writeLong(indexOffset);
+            out.writeInt(MAGIC);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeRecordIndex(Map<String, List<Integer>> recordsByKey) throws IOException {
+        out.writeInt(recordsByKey.size());
+        for (Map.Entry<String, List<Integer>> entry : recordsByKey.entrySet()) {
+            writeString(entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (int recordNumber : entry.getValue()) {
+                out.writeInt(recordNumber);
+            }
+        }
+    }
+
+    private void writeString(String string) throws IOException {
+        out.writeBoolean(string != null);
+        if (string != null) {
+            out.writeUTF(string);
+        }
+    }
+}
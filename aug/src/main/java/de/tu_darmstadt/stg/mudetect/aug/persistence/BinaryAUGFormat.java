@@ -0,0 +1,86 @@
+package de.tu_darmstadt.stg.mudetect.aug.persistence;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.Edge;
+import de.tu_darmstadt.stg.mudetect.aug.model.Node;
+import de.tu_darmstadt.stg.mudetect.aug.model.actions.*;
+import de.tu_darmstadt.stg.mudetect.aug.model.controlflow.*;
+import de.tu_darmstadt.stg.mudetect.aug.model.data.*;
+import de.tu_darmstadt.stg.mudetect.aug.model.dataflow.DefinitionEdge;
+import de.tu_darmstadt.stg.mudetect.aug.model.dataflow.ParameterEdge;
+import de.tu_darmstadt.stg.mudetect.aug.model.dataflow.QualifierEdge;
+import de.tu_darmstadt.stg.mudetect.aug.model.dataflow.ReceiverEdge;
+import de.tu_darmstadt.stg.mudetect.aug.model.patterns.AggregateDataNode;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Constants of the binary AUG format written by {@link BinaryAUGWriter} and read by {@link BinaryAUGReader}.
+ *
+ * A stream starts with {@link #MAGIC} and {@link #VERSION}, followed by one record per graph, until the end of the
+ * stream. All integers are unsigned varints, i.e., 7 bits per byte with the high bit marking that another byte follows.
+ * A record starts with its kind. An example record continues with its location, a pattern record with its support
+ * and example locations. Both then hold the number of nodes, the nodes, the number of edges, and the edges. A node is
+ * its index in {@link #NODE_TYPES}, its attributes, and, for action nodes, its source line number plus one or zero,
+ * if there is none. An edge is its index in {@link #EDGE_TYPES} and the indices of its source and target node.
+ *
+ * Strings are shared across the records of a stream: A string is written as {@link #NULL_STRING},
+ * {@link #NEW_STRING} followed by its UTF-8 length and bytes, or the number of a previously written string plus
+ * {@link #FIRST_STRING_REFERENCE}.
+ */
+final class BinaryAUGFormat {
+    static final int MAGIC = 0x41554742; // "AUGB"
+    static final int VERSION = 1;
+
+    static final int EXAMPLE_RECORD = 1;
+    static final int PATTERN_RECORD = 2;
+
+    static final int NULL_STRING = 0;
+    static final int NEW_STRING = 1;
+    static final int FIRST_STRING_REFERENCE = 2;
+
+    static final List<Class<? extends Node>> NODE_TYPES = Arrays.asList(
+            ArrayAccessNode.class,
+            ArrayAssignmentNode.class,
+            ArrayCreationNode.class,
+            AssignmentNode.class,
+            BreakNode.class,
+            CastNode.class,
+            CatchNode.class,
+            ConstructorCallNode.class,
+            ContinueNode.class,
+            InfixOperatorNode.class,
+            MethodCallNode.class,
+            NullCheckNode.class,
+            ReturnNode.class,
+            SuperConstructorCallNode.class,
+            SuperMethodCallNode.class,
+            ThrowNode.class,
+            TypeCheckNode.class,
+            UnaryOperatorNode.class,
+
+            AnonymousClassMethodNode.class,
+            AnonymousObjectNode.class,
+            ConstantNode.class,
+            ExceptionNode.class,
+            LiteralNode.class,
+            VariableNode.class,
+            AggregateDataNode.class);
+
+    static final List<Class<? extends Edge>> EDGE_TYPES = Arrays.asList(
+            ContainsEdge.class,
+            ExceptionHandlingEdge.class,
+            FinallyEdge.class,
+            OrderEdge.class,
+            RepetitionEdge.class,
+            SelectionEdge.class,
+            SynchronizationEdge.class,
+            ThrowEdge.class,
+
+            DefinitionEdge.class,
+            ParameterEdge.class,
+            QualifierEdge.class,
+            ReceiverEdge.class);
+
+    private BinaryAUGFormat() {}
+}
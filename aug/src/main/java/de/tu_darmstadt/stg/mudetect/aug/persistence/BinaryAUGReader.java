@@ -0,0 +1,292 @@
+package de.tu_darmstadt.stg.mudetect.aug.persistence;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.*;
+import de.tu_darmstadt.stg.mudetect.aug.model.actions.*;
+import de.tu_darmstadt.stg.mudetect.aug.model.controlflow.*;
+import de.tu_darmstadt.stg.mudetect.aug.model.data.*;
+import de.tu_darmstadt.stg.mudetect.aug.model.dataflow.DefinitionEdge;
+import de.tu_darmstadt.stg.mudetect.aug.model.dataflow.ParameterEdge;
+import de.tu_darmstadt.stg.mudetect.aug.model.dataflow.QualifierEdge;
+import de.tu_darmstadt.stg.mudetect.aug.model.dataflow.ReceiverEdge;
+import de.tu_darmstadt.stg.mudetect.aug.model.patterns.APIUsagePattern;
+import de.tu_darmstadt.stg.mudetect.aug.model.patterns.AggregateDataNode;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static de.tu_darmstadt.stg.mudetect.aug.persistence.BinaryAUGFormat.*;
+
+/**
+ * Reads AUGs written by {@link BinaryAUGWriter}, one graph at a time.
+ */
+public class BinaryAUGReader<G extends APIUsageGraph> implements AutoCloseable {
+    private final InputStream in;
+    private final Class<G> graphType;
+    private final List<String> strings = new ArrayList<>();
+
+    /**
+     * @param graphType the type of graphs to read, i.e., {@link APIUsageExample}, {@link APIUsagePattern}, or
+     *                  {@link APIUsageGraph} for both.
+     */
+    public BinaryAUGReader(InputStream in, Class<G> graphType) throws IOException {
+        this.in = new BufferedInputStream(in);
+        this.graphType = graphType;
+        int magic = new DataInputStream(this.in).readInt();
+        if (magic != MAGIC) {
+            throw new IOException("not a binary AUG stream");
+        }
+        int version = readVarInt();
+        if (version != VERSION) {
+            throw new IOException("unsupported binary AUG format version: " + version);
+        }
+    }
+
+    /**
+     * @return the next graph or <code>null</code>, if there is none.
+     */
+    public G read() throws IOException {
+        int recordKind = in.read();
+        if (recordKind < 0) {
+            return null;
+        }
+        APIUsageGraph graph;
+        if (recordKind == EXAMPLE_RECORD) {
+            graph = new APIUsageExample(readLocation());
+        } else if (recordKind == PATTERN_RECORD) {
+            int support = readVarInt();
+            int numberOfExampleLocations = readVarInt();
+            Set<Location> exampleLocations = new HashSet<>();
+            for (int i = 0; i < numberOfExampleLocations; i++) {
+                exampleLocations.add(readLocation());
+            }
+            graph = new APIUsagePattern(support, exampleLocations);
+        } else {
+            throw new IOException("unknown record kind: " + recordKind);
+        }
+        if (!graphType.isInstance(graph)) {
+            throw new IOException("expected " + graphType.getSimpleName() + ", but found " + graph.getClass().getSimpleName());
+        }
+        readGraph(graph);
+        return graphType.cast(graph);
+    }
+
+    public Collection<G> readAll() throws IOException {
+        Collection<G> augs = new ArrayList<>();
+        G aug;
+        while ((aug = read()) != null) {
+            augs.add(aug);
+        }
+        return augs;
+    }
+
+    private Location readLocation() throws IOException {
+        return new Location(readString(), readString(), readString());
+    }
+
+    private void readGraph(APIUsageGraph graph) throws IOException {
+        int numberOfNodes = readVarInt();
+        Node[] nodes = new Node[numberOfNodes];
+        for (int i = 0; i < numberOfNodes; i++) {
+            nodes[i] = readNode();
+            graph.addVertex(nodes[i]);
+        }
+        int numberOfEdges = readVarInt();
+        for (int i = 0; i < numberOfEdges; i++) {
+            Class<? extends Edge> edgeType = EDGE_TYPES.get(readVarInt());
+            Node source = nodes[readVarInt()];
+            Node target = nodes[readVarInt()];
+            graph.addEdge(source, target, createEdge(edgeType, source, target));
+        }
+    }
+
+    private Node readNode() throws IOException {
+        Class<? extends Node> nodeType = NODE_TYPES.get(readVarInt());
+        if (nodeType == AggregateDataNode.class) {
+            String dataType = readString();
+            int numberOfAggregatedNodes = readVarInt();
+            Set<DataNode> aggregatedNodes = new HashSet<>();
+            for (int i = 0; i < numberOfAggregatedNodes; i++) {
+                aggregatedNodes.add((DataNode) readNode());
+            }
+            return new AggregateDataNode(dataType, aggregatedNodes);
+        }
+        if (DataNode.class.isAssignableFrom(nodeType)) {
+            return createDataNode(nodeType, readString(), readString(), readString());
+        }
+        String[] attributes = new String[0];
+        if (MethodCallNode.class.isAssignableFrom(nodeType)) {
+            attributes = new String[]{readString(), readString()};
+        } else if (OperatorNode.class.isAssignableFrom(nodeType)
+                || nodeType == CastNode.class || nodeType == CatchNode.class) {
+            attributes = new String[]{readString()};
+        }
+        return createActionNode(nodeType, attributes, readVarInt() - 1);
+    }
+
+    private static Node createDataNode(Class<? extends Node> nodeType, String dataType, String name, String value) {
+        if (nodeType == AnonymousClassMethodNode.class) {
+            return new AnonymousClassMethodNode(dataType, name);
+        }
+        if (nodeType == AnonymousObjectNode.class) {
+            return new AnonymousObjectNode(dataType);
+        }
+        if (nodeType == ConstantNode.class) {
+            return new ConstantNode(dataType, name, value);
+        }
+        if (nodeType == ExceptionNode.class) {
+            return new ExceptionNode(dataType, name);
+        }
+        if (nodeType == LiteralNode.class) {
+            return new LiteralNode(dataType, value);
+        }
+        if (nodeType == VariableNode.class) {
+            return new VariableNode(dataType, name);
+        }
+        throw new IllegalArgumentException("unsupported node type: " + nodeType.getName());
+    }
+
+    private static Node createActionNode(Class<? extends Node> nodeType, String[] attributes, int sourceLineNumber) {
+        if (nodeType == ArrayAccessNode.class) {
+            return new ArrayAccessNode(attributes[0], sourceLineNumber);
+        }
+        if (nodeType == ArrayAssignmentNode.class) {
+            return new ArrayAssignmentNode(attributes[0], sourceLineNumber);
+        }
+        if (nodeType == ArrayCreationNode.class) {
+            return new ArrayCreationNode(attributes[0], sourceLineNumber);
+        }
+        if (nodeType == AssignmentNode.class) {
+            return new AssignmentNode(sourceLineNumber);
+        }
+        if (nodeType == BreakNode.class) {
+            return new BreakNode(sourceLineNumber);
+        }
+        if (nodeType == CastNode.class) {
+            return new CastNode(attributes[0], sourceLineNumber);
+        }
+        if (nodeType == CatchNode.class) {
+            return new CatchNode(attributes[0], sourceLineNumber);
+        }
+        if (nodeType == ConstructorCallNode.class) {
+            return new ConstructorCallNode(attributes[0], sourceLineNumber);
+        }
+        if (nodeType == ContinueNode.class) {
+            return new ContinueNode(sourceLineNumber);
+        }
+        if (nodeType == InfixOperatorNode.class) {
+            return new InfixOperatorNode(attributes[0], sourceLineNumber);
+        }
+        if (nodeType == MethodCallNode.class) {
+            return new MethodCallNode(attributes[0], attributes[1], sourceLineNumber);
+        }
+        if (nodeType == NullCheckNode.class) {
+            return new NullCheckNode(sourceLineNumber);
+        }
+        if (nodeType == ReturnNode.class) {
+            return new ReturnNode(sourceLineNumber);
+        }
+        if (nodeType == SuperConstructorCallNode.class) {
+            return new SuperConstructorCallNode(attributes[0], sourceLineNumber);
+        }
+        if (nodeType == SuperMethodCallNode.class) {
+            return new SuperMethodCallNode(attributes[0], attributes[1], sourceLineNumber);
+        }
+        if (nodeType == ThrowNode.class) {
+            return new ThrowNode(sourceLineNumber);
+        }
+        if (nodeType == TypeCheckNode.class) {
+            return new TypeCheckNode(attributes[0], sourceLineNumber);
+        }
+        if (nodeType == UnaryOperatorNode.class) {
+            return new UnaryOperatorNode(attributes[0], sourceLineNumber);
+        }
+        throw new IllegalArgumentException("unsupported node type: " + nodeType.getName());
+    }
+
+    private static Edge createEdge(Class<? extends Edge> edgeType, Node from, Node to) {
+        if (edgeType == ContainsEdge.class) {
+            return new ContainsEdge(from, to);
+        }
+        if (edgeType == ExceptionHandlingEdge.class) {
+            return new ExceptionHandlingEdge(from, to);
+        }
+        if (edgeType == FinallyEdge.class) {
+            return new FinallyEdge(from, to);
+        }
+        if (edgeType == OrderEdge.class) {
+            return new OrderEdge(from, to);
+        }
+        if (edgeType == RepetitionEdge.class) {
+            return new RepetitionEdge(from, to);
+        }
+        if (edgeType == SelectionEdge.class) {
+            return new SelectionEdge(from, to);
+        }
+        if (edgeType == SynchronizationEdge.class) {
+            return new SynchronizationEdge(from, to);
+        }
+        if (edgeType == ThrowEdge.class) {
+            return new ThrowEdge(from, to);
+        }
+        if (edgeType == DefinitionEdge.class) {
+            return new DefinitionEdge(from, to);
+        }
+        if (edgeType == ParameterEdge.class) {
+            return new ParameterEdge(from, to);
+        }
+        if (edgeType == QualifierEdge.class) {
+            return new QualifierEdge(from, to);
+        }
+        if (edgeType == ReceiverEdge.class) {
+            return new ReceiverEdge(from, to);
+        }
+        throw new IllegalArgumentException("unsupported edge type: " + edgeType.getName());
+    }
+
+    private String readString() throws IOException {
+        int code = readVarInt();
+        if (code == NULL_STRING) {
+            return null;
+        }
+        if (code == NEW_STRING) {
+            byte[] bytes = new byte[readVarInt()];
+            readFully(bytes);
+            String string = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(string);
+            return string;
+        }
+        return strings.get(code - FIRST_STRING_REFERENCE);
+    }
+
+    private void readFully(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            int read = in.read(bytes, offset, bytes.length - offset);
+            if (read < 0) {
+                throw new EOFException();
+            }
+            offset += read;
+        }
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("malformed varint");
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
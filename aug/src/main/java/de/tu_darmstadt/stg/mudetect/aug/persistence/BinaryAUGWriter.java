@@ -0,0 +1,144 @@
+package de.tu_darmstadt.stg.mudetect.aug.persistence;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.*;
+import de.tu_darmstadt.stg.mudetect.aug.model.actions.CastNode;
+import de.tu_darmstadt.stg.mudetect.aug.model.actions.CatchNode;
+import de.tu_darmstadt.stg.mudetect.aug.model.actions.MethodCallNode;
+import de.tu_darmstadt.stg.mudetect.aug.model.actions.OperatorNode;
+import de.tu_darmstadt.stg.mudetect.aug.model.actions.TypeCheckNode;
+import de.tu_darmstadt.stg.mudetect.aug.model.patterns.APIUsagePattern;
+import de.tu_darmstadt.stg.mudetect.aug.model.patterns.AggregateDataNode;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static de.tu_darmstadt.stg.mudetect.aug.persistence.BinaryAUGFormat.*;
+
+/**
+ * Writes AUGs in the binary format described in {@link BinaryAUGFormat}, one graph at a time.
+ */
+public class BinaryAUGWriter implements AutoCloseable {
+    private final OutputStream out;
+    private final Map<String, Integer> stringNumbers = new HashMap<>();
+
+    public BinaryAUGWriter(OutputStream out) throws IOException {
+        this.out = new BufferedOutputStream(out);
+        new DataOutputStream(this.out).writeInt(MAGIC);
+        writeVarInt(VERSION);
+    }
+
+    public void write(APIUsageExample aug) throws IOException {
+        writeVarInt(EXAMPLE_RECORD);
+        writeLocation(aug.getLocation());
+        writeGraph(aug);
+    }
+
+    public void write(APIUsagePattern pattern) throws IOException {
+        writeVarInt(PATTERN_RECORD);
+        writeVarInt(pattern.getSupport());
+        Set<Location> exampleLocations = pattern.getExampleLocations();
+        writeVarInt(exampleLocations.size());
+        for (Location location : exampleLocations) {
+            writeLocation(location);
+        }
+        writeGraph(pattern);
+    }
+
+    private void writeLocation(Location location) throws IOException {
+        writeString(location.getProjectName());
+        writeString(location.getFilePath());
+        writeString(location.getMethodSignature());
+    }
+
+    private void writeGraph(APIUsageGraph aug) throws IOException {
+        Map<Node, Integer> nodeIndices = new IdentityHashMap<>();
+        writeVarInt(aug.vertexSet().size());
+        for (Node node : aug.vertexSet()) {
+            nodeIndices.put(node, nodeIndices.size());
+            writeNode(node);
+        }
+        writeVarInt(aug.edgeSet().size());
+        for (Edge edge : aug.edgeSet()) {
+            writeVarInt(getTypeIndex(EDGE_TYPES.indexOf(edge.getClass()), edge));
+            writeVarInt(nodeIndices.get(aug.getEdgeSource(edge)));
+            writeVarInt(nodeIndices.get(aug.getEdgeTarget(edge)));
+        }
+    }
+
+    private void writeNode(Node node) throws IOException {
+        writeVarInt(getTypeIndex(NODE_TYPES.indexOf(node.getClass()), node));
+        if (node instanceof AggregateDataNode) {
+            AggregateDataNode aggregate = (AggregateDataNode) node;
+            writeString(aggregate.getType());
+            writeVarInt(aggregate.getAggregatedNodes().size());
+            for (DataNode aggregatedNode : aggregate.getAggregatedNodes()) {
+                writeNode(aggregatedNode);
+            }
+        } else if (node instanceof DataNode) {
+            DataNode dataNode = (DataNode) node;
+            writeString(dataNode.getType());
+            writeString(dataNode.getName());
+            writeString(dataNode.getValue());
+        } else {
+            if (node instanceof MethodCallNode) {
+                writeString(((MethodCallNode) node).getDeclaringTypeName());
+                writeString(((MethodCallNode) node).getMethodSignature());
+            } else if (node instanceof TypeCheckNode) {
+                writeString(((TypeCheckNode) node).getTargetTypeName());
+            } else if (node instanceof OperatorNode) {
+                writeString(((OperatorNode) node).getOperator());
+            } else if (node instanceof CastNode) {
+                writeString(((CastNode) node).getTargetType());
+            } else if (node instanceof CatchNode) {
+                writeString(((CatchNode) node).getExceptionType());
+            }
+            int sourceLineNumber = node instanceof BaseNode ? ((BaseNode) node).getSourceLineNumber().orElse(-1) : -1;
+            writeVarInt(sourceLineNumber + 1);
+        }
+    }
+
+    private static int getTypeIndex(int typeIndex, Object element) {
+        if (typeIndex < 0) {
+            throw new IllegalArgumentException("unsupported AUG element type: " + element.getClass().getName());
+        }
+        return typeIndex;
+    }
+
+    private void writeString(String string) throws IOException {
+        if (string == null) {
+            writeVarInt(NULL_STRING);
+            return;
+        }
+        Integer number = stringNumbers.get(string);
+        if (number != null) {
+            writeVarInt(number + FIRST_STRING_REFERENCE);
+        } else {
+            stringNumbers.put(string, stringNumbers.size());
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(NEW_STRING);
+            writeVarInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,150 @@
+package de.tu_darmstadt.stg.mudetect.aug.visitors;
+
+import com.google.common.collect.MapMaker;
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageGraph;
+import de.tu_darmstadt.stg.mudetect.aug.model.BaseEdge;
+import de.tu_darmstadt.stg.mudetect.aug.model.BaseNode;
+import de.tu_darmstadt.stg.mudetect.aug.model.Edge;
+import de.tu_darmstadt.stg.mudetect.aug.model.Node;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Label provider that assigns every distinct label of a delegate provider a dense int id and caches the label id of
+ * every node and edge it is asked about, such that labels are computed only once per element. Comparing label ids is
+ * equivalent to comparing the delegate's labels. Ids are only meaningful with respect to the same provider instance.
+ * The provider may be used from multiple threads.
+ *
+ * The first provider that asks about a {@link BaseNode} or {@link BaseEdge} caches the label id in the element
+ * itself, see {@link BaseNode#getLabelIdCache()}, such that later lookups are field reads. Other elements are cached in
+ * weakly-keyed maps. Either way, a cached label id lives exactly as long as its element, such that the provider
+ * retains no nodes or edges and may be kept for as long as its configuration. The label table itself grows with the
+ * number of distinct labels only.
+ */
+public class InterningAUGLabelProvider extends DelegateAUGVisitor<String> implements AUGLabelProvider {
+    private final AUGLabelProvider labelProvider;
+    private final Map<String, Integer> labelIds = new ConcurrentHashMap<>();
+    private final Object internLock = new Object();
+    private volatile String[] labels = new String[64];
+    private int numberOfLabels = 0;
+    private final Map<Node, Integer> nodeLabelIds = new MapMaker().weakKeys().makeMap();
+    private final Map<Edge, Integer> edgeLabelIds = new MapMaker().weakKeys().makeMap();
+
+    private InterningAUGLabelProvider(AUGLabelProvider labelProvider) {
+        super(labelProvider);
+        this.labelProvider = labelProvider;
+    }
+
+    /**
+     * @return the given provider, if it already interns labels, or an interning provider delegating to it.
+     */
+    public static InterningAUGLabelProvider of(AUGLabelProvider labelProvider) {
+        if (labelProvider instanceof InterningAUGLabelProvider) {
+            return (InterningAUGLabelProvider) labelProvider;
+        }
+        return new InterningAUGLabelProvider(labelProvider);
+    }
+
+    /**
+     * Computes the label ids of all elements of the given graph up front. Since frozen graphs cannot change, this is
+     * best done right after freezing the graph.
+     */
+    public void internAll(APIUsageGraph graph) {
+        for (Node node : graph.vertexSet()) {
+            getLabelId(node);
+        }
+        for (Edge edge : graph.edgeSet()) {
+            getLabelId(edge);
+        }
+    }
+
+    public int getLabelId(Node node) {
+        if (node instanceof BaseNode) {
+            BaseNode baseNode = (BaseNode) node;
+            Object cache = baseNode.getLabelIdCache();
+            if (cache instanceof LabelId && ((LabelId) cache).provider == this) {
+                return ((LabelId) cache).labelId;
+            }
+            if (cache == null) {
+                int labelId = intern(labelProvider.getLabel(node));
+                baseNode.setLabelIdCache(new LabelId(this, labelId));
+                return labelId;
+            }
+        }
+        return nodeLabelIds.computeIfAbsent(node, n -> intern(labelProvider.getLabel(n)));
+    }
+
+    public int getLabelId(Edge edge) {
+        if (edge instanceof BaseEdge) {
+            BaseEdge baseEdge = (BaseEdge) edge;
+            Object cache = baseEdge.getLabelIdCache();
+            if (cache instanceof LabelId && ((LabelId) cache).provider == this) {
+                return ((LabelId) cache).labelId;
+            }
+            if (cache == null) {
+                int labelId = intern(labelProvider.getLabel(edge));
+                baseEdge.setLabelIdCache(new LabelId(this, labelId));
+                return labelId;
+            }
+        }
+        return edgeLabelIds.computeIfAbsent(edge, e -> intern(labelProvider.getLabel(e)));
+    }
+
+    @Override
+    public String getLabel(Node node) {
+        return getLabel(getLabelId(node));
+    }
+
+    @Override
+    public String getLabel(Edge edge) {
+        return getLabel(getLabelId(edge));
+    }
+
+    public String getLabel(int labelId) {
+        return labels[labelId];
+    }
+
+    /**
+     * @return the id of the given label, which is assigned when the label is first seen.
+     */
+    public int intern(String label) {
+        Integer labelId = labelIds.get(label);
+        if (labelId == null) {
+            synchronized (internLock) {
+                labelId = labelIds.get(label);
+                if (labelId == null) {
+                    labelId = numberOfLabels++;
+                    String[] labels = this.labels;
+                    if (labelId == labels.length) {
+                        labels = Arrays.copyOf(labels, labels.length * 2);
+                    }
+                    labels[labelId] = label;
+                    this.labels = labels;
+                    labelIds.put(label, labelId);
+                }
+            }
+        }
+        return labelId;
+    }
+
+    /**
+     * @return the number of distinct labels interned so far.
+     */
+    public int getNumberOfLabels() {
+        synchronized (internLock) {
+            return numberOfLabels;
+        }
+    }
+
+    private static final class LabelId {
+        private final InterningAUGLabelProvider provider;
+        private final int labelId;
+
+        private LabelId(InterningAUGLabelProvider provider, int labelId) {
+            this.provider = provider;
+            this.labelId = labelId;
+        }
+    }
+}
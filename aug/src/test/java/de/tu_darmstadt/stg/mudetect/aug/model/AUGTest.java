@@ -5,6 +5,8 @@ import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.junit.Test;
 
+import java.util.ArrayList;
+
 import static de.tu_darmstadt.stg.mudetect.aug.model.Edge.Type.ORDER;
 import static de.tu_darmstadt.stg.mudetect.aug.model.Edge.Type.PARAMETER;
 import static de.tu_darmstadt.stg.mudetect.aug.model.TestAUGBuilder.buildAUG;
@@ -51,6 +53,73 @@ public class AUGTest {
         assertThat(aug.getAPIs(), is(empty()));
     }
 
+    @Test
+    public void frozenGraphKeepsNeighbors() {
+        TestAUGBuilder builder = buildAUG().withActionNodes("A", "B", "C")
+                .withEdge("A", PARAMETER, "B")
+                .withEdge("A", ORDER, "B")
+                .withEdge("B", ORDER, "C");
+        APIUsageExample aug = builder.build();
+        Node b = builder.getNode("B");
+        ArrayList<Edge> edgesOfB = new ArrayList<>(aug.edgesOf(b));
+
+        aug.freeze();
+
+        assertThat(aug.incomingNodesOf(b), contains(builder.getNode("A")));
+        assertThat(aug.outgoingNodesOf(b), contains(builder.getNode("C")));
+        assertThat(new ArrayList<>(aug.edgesOf(b)), is(edgesOfB));
+    }
+
+    @Test
+    public void frozenGraphKeepsEdgesAndVertices() {
+        TestAUGBuilder builder = buildAUG().withActionNodes("A", "B", "C")
+                .withEdge("A", PARAMETER, "B")
+                .withEdge("A", ORDER, "B")
+                .withEdge("B", ORDER, "C");
+        APIUsageExample aug = builder.build();
+        Node a = builder.getNode("A"), b = builder.getNode("B"), c = builder.getNode("C");
+        ArrayList<Node> vertices = new ArrayList<>(aug.vertexSet());
+        ArrayList<Edge> incomingEdgesOfB = new ArrayList<>(aug.incomingEdgesOf(b));
+        ArrayList<Edge> outgoingEdgesOfB = new ArrayList<>(aug.outgoingEdgesOf(b));
+        ArrayList<Edge> edgesFromAToB = new ArrayList<>(aug.getAllEdges(a, b));
+        int hashCode = aug.hashCode();
+
+        aug.freeze();
+
+        assertThat(new ArrayList<>(aug.vertexSet()), is(vertices));
+        assertThat(aug.containsVertex(c), is(true));
+        assertThat(new ArrayList<>(aug.incomingEdgesOf(b)), is(incomingEdgesOfB));
+        assertThat(new ArrayList<>(aug.outgoingEdgesOf(b)), is(outgoingEdgesOfB));
+        assertThat(aug.inDegreeOf(b), is(2));
+        assertThat(aug.outDegreeOf(b), is(1));
+        assertThat(new ArrayList<>(aug.getAllEdges(a, b)), is(edgesFromAToB));
+        assertThat(aug.getEdge(b, c), is(builder.getEdge("B", ORDER, "C")));
+        assertThat(aug.getEdge(c, b), is(nullValue()));
+        assertThat(aug.hashCode(), is(hashCode));
+    }
+
+    @Test
+    public void compactAdjacencyListsEdgesByNode() {
+        TestAUGBuilder builder = buildAUG().withActionNodes("A", "B").withEdge("A", PARAMETER, "B");
+        APIUsageExample aug = builder.build();
+        aug.freeze();
+
+        CompactAdjacency adjacency = aug.getCompactAdjacency();
+        int a = adjacency.getNodeIndex(builder.getNode("A"));
+        int b = adjacency.getNodeIndex(builder.getNode("B"));
+
+        assertThat(adjacency.getOutgoingEnd(a) - adjacency.getOutgoingStart(a), is(1));
+        assertThat(adjacency.getOutgoingTargetIndex(adjacency.getOutgoingStart(a)), is(b));
+        assertThat(adjacency.getOutgoingEdge(adjacency.getOutgoingStart(a)), is(builder.getEdge("A", PARAMETER, "B")));
+        assertThat(adjacency.getIncomingEnd(a) - adjacency.getIncomingStart(a), is(0));
+        assertThat(adjacency.getIncomingSourceIndex(adjacency.getIncomingStart(b)), is(a));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void unfrozenGraphHasNoCompactAdjacency() {
+        buildAUG().withActionNode("A").build().getCompactAdjacency();
+    }
+
     private Matcher<APIUsageExample> containsEdge(Edge edge) {
         return new BaseMatcher<APIUsageExample>() {
             @Override
@@ -2,6 +2,7 @@ package de.tu_darmstadt.stg.mudetect.aug.persistence;
 
 import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
 import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageGraph;
+import de.tu_darmstadt.stg.mudetect.aug.model.Location;
 import org.jgrapht.ext.*;
 import org.junit.Test;
 
@@ -55,6 +56,25 @@ public class AUGPersistenceTest {
         assertThat(augs, hasSize(2));
     }
 
+    @Test
+    public void restoresGraphNames() throws IOException, ImportException {
+        APIUsageExample aug = buildAUG().withActionNode("A.a()").build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (AUGWriter writer = new AUGWriter(out, new PersistenceAUGDotExporter())) {
+            writer.write(aug, "m(A)");
+        }
+
+        Collection<APIUsageExample> augs;
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        try (AUGReader<APIUsageExample> reader = new AUGReader<>(in, new PersistenceAUGDotImporter(),
+                name -> new APIUsageExample(new Location("p", "f", name)))) {
+            augs = reader.readAll();
+        }
+
+        assertThat(augs, hasSize(1));
+        assertThat(augs.iterator().next().getLocation(), is(new Location("p", "f", "m(A)")));
+    }
+
     private Collection<APIUsageGraph> persistAndRestore(APIUsageGraph... augs) throws IOException, ImportException {
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         try (AUGWriter writer = new AUGWriter(out, new PersistenceAUGDotExporter())) {
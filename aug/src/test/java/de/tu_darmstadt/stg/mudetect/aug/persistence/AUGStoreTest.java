@@ -0,0 +1,120 @@
+package de.tu_darmstadt.stg.mudetect.aug.persistence;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
+import de.tu_darmstadt.stg.mudetect.aug.model.Location;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static de.tu_darmstadt.stg.mudetect.aug.matchers.AUGMatchers.hasNode;
+import static de.tu_darmstadt.stg.mudetect.aug.matchers.NodeMatchers.methodCall;
+import static de.tu_darmstadt.stg.mudetect.aug.model.TestAUGBuilder.buildAUG;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class AUGStoreTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void getsAUGByLocation() throws IOException {
+        APIUsageExample aug1 = buildAUG("a(A)").withActionNode("A.a()").build();
+        APIUsageExample aug2 = buildAUG("b(B)").withActionNode("B.b()").build();
+        Path storeFile = write(aug1, aug2);
+
+        try (AUGStore store = AUGStore.open(storeFile)) {
+            List<APIUsageExample> augs = store.get(aug2.getLocation());
+
+            assertThat(store.size(), is(2));
+            assertThat(augs, hasSize(1));
+            assertThat(augs.get(0).getLocation(), is(aug2.getLocation()));
+            assertThat(augs.get(0), hasNode(methodCall("B", "b()")));
+        }
+    }
+
+    @Test
+    public void getsAllAUGsAtSameLocation() throws IOException {
+        APIUsageExample aug1 = buildAUG("m()").withActionNode("A.a()").build();
+        APIUsageExample aug2 = buildAUG("m()").withActionNode("B.b()").build();
+        Path storeFile = write(aug1, aug2);
+
+        try (AUGStore store = AUGStore.open(storeFile)) {
+            List<APIUsageExample> augs = store.get(aug1.getLocation());
+
+            assertThat(store.size(), is(2));
+            assertThat(augs, hasSize(2));
+            assertThat(augs.get(0), hasNode(methodCall("A", "a()")));
+            assertThat(augs.get(1), hasNode(methodCall("B", "b()")));
+        }
+    }
+
+    @Test
+    public void getsNothingForUnknownLocation() throws IOException {
+        Path storeFile = write(buildAUG().withActionNode("A.a()").build());
+
+        try (AUGStore store = AUGStore.open(storeFile)) {
+            assertThat(store.get(new Location("p", "f", "m()")), is(empty()));
+        }
+    }
+
+    @Test
+    public void getsUsagesOfAPI() throws IOException {
+        APIUsageExample aug1 = buildAUG().withActionNodes("A.a()", "B.b()").build();
+        APIUsageExample aug2 = buildAUG().withActionNode("B.c()").build();
+        APIUsageExample aug3 = buildAUG().withActionNode("C.c()").build();
+        Path storeFile = write(aug1, aug2, aug3);
+
+        try (AUGStore store = AUGStore.open(storeFile)) {
+            List<APIUsageExample> usages = store.getUsagesOf("B");
+
+            assertThat(usages, hasSize(2));
+            assertThat(usages.get(0).getLocation(), is(aug1.getLocation()));
+            assertThat(usages.get(1).getLocation(), is(aug2.getLocation()));
+            assertThat(store.getUsagesOf("D"), is(empty()));
+        }
+    }
+
+    @Test
+    public void getsUsagesOfType() throws IOException {
+        APIUsageExample aug1 = buildAUG("a()").withActionNode("List.add()").build();
+        APIUsageExample aug2 = buildAUG("b()").withActionNode("List.add()").build();
+        Path storeFile = folder.getRoot().toPath().resolve("augs.store");
+        try (AUGStoreWriter writer = new AUGStoreWriter(storeFile)) {
+            writer.write(aug1, Collections.singleton("java.util.List"));
+            writer.write(aug2, Collections.singleton("java.awt.List"));
+        }
+
+        try (AUGStore store = AUGStore.open(storeFile)) {
+            List<APIUsageExample> usages = store.getUsagesOfType("java.util.List");
+
+            assertThat(store.getTypes(), containsInAnyOrder("java.util.List", "java.awt.List"));
+            assertThat(usages, hasSize(1));
+            assertThat(usages.get(0).getLocation(), is(aug1.getLocation()));
+            assertThat(store.getUsagesOf("List"), hasSize(2));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherFiles() throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+
+        AUGStore.open(file);
+    }
+
+    private Path write(APIUsageExample... augs) throws IOException {
+        Path storeFile = folder.getRoot().toPath().resolve("augs.store");
+        try (AUGStoreWriter writer = new AUGStoreWriter(storeFile)) {
+            for (APIUsageExample aug : augs) {
+                writer.write(aug);
+            }
+        }
+        return storeFile;
+    }
+}
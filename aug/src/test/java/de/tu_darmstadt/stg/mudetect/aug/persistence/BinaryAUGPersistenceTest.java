@@ -0,0 +1,155 @@
+package de.tu_darmstadt.stg.mudetect.aug.persistence;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageGraph;
+import de.tu_darmstadt.stg.mudetect.aug.model.DataNode;
+import de.tu_darmstadt.stg.mudetect.aug.model.Location;
+import de.tu_darmstadt.stg.mudetect.aug.model.actions.MethodCallNode;
+import de.tu_darmstadt.stg.mudetect.aug.model.data.VariableNode;
+import de.tu_darmstadt.stg.mudetect.aug.model.dataflow.ReceiverEdge;
+import de.tu_darmstadt.stg.mudetect.aug.model.patterns.APIUsagePattern;
+import de.tu_darmstadt.stg.mudetect.aug.model.patterns.AggregateDataNode;
+import org.jgrapht.ext.ImportException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+import static de.tu_darmstadt.stg.mudetect.aug.matchers.AUGMatchers.hasNode;
+import static de.tu_darmstadt.stg.mudetect.aug.matchers.AUGMatchers.hasOrderEdge;
+import static de.tu_darmstadt.stg.mudetect.aug.matchers.AUGMatchers.hasReceiverEdge;
+import static de.tu_darmstadt.stg.mudetect.aug.matchers.NodeMatchers.dataNodeWith;
+import static de.tu_darmstadt.stg.mudetect.aug.matchers.NodeMatchers.methodCall;
+import static de.tu_darmstadt.stg.mudetect.aug.matchers.NodePropertyMatchers.type;
+import static de.tu_darmstadt.stg.mudetect.aug.model.Edge.Type.ORDER;
+import static de.tu_darmstadt.stg.mudetect.aug.model.Edge.Type.RECEIVER;
+import static de.tu_darmstadt.stg.mudetect.aug.model.TestAUGBuilder.buildAUG;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class BinaryAUGPersistenceTest {
+    @Test
+    public void persistsNodesAndEdges() throws IOException {
+        APIUsageExample aug = buildAUG().withDataNode("O").withActionNodes("O.m()", "O.n()")
+                .withEdge("O", RECEIVER, "O.m()").withEdge("O.m()", ORDER, "O.n()").build();
+
+        APIUsageExample newAUG = persistAndRestore(aug).iterator().next();
+
+        assertThat(newAUG.getNodeSize(), is(3));
+        assertThat(newAUG.getEdgeSize(), is(2));
+        assertThat(newAUG, hasReceiverEdge(dataNodeWith(type("O")), methodCall("O", "m()")));
+        assertThat(newAUG, hasOrderEdge(methodCall("O", "m()"), methodCall("O", "n()")));
+    }
+
+    @Test
+    public void persistsLocationAndSourceLineNumbers() throws IOException {
+        Location location = new Location("project", "src/C.java", "m(List)");
+        APIUsageExample aug = new APIUsageExample(location);
+        aug.addVertex(new MethodCallNode("List", "size()", 42));
+        aug.addVertex(new MethodCallNode("List", "clear()"));
+
+        APIUsageExample newAUG = persistAndRestore(aug).iterator().next();
+
+        assertThat(newAUG.getLocation(), is(location));
+        Map<String, Optional<Integer>> lineNumbers = new HashMap<>();
+        newAUG.vertexSet().forEach(node ->
+                lineNumbers.put(((MethodCallNode) node).getMethodSignature(), newAUG.getSourceLineNumber(node)));
+        assertThat(lineNumbers.get("size()"), is(Optional.of(42)));
+        assertThat(lineNumbers.get("clear()"), is(Optional.empty()));
+    }
+
+    @Test
+    public void persistsPattern() throws IOException {
+        Set<Location> exampleLocations = new HashSet<>(Arrays.asList(
+                new Location("p", "A.java", "a()"), new Location("p", "B.java", "b()")));
+        APIUsagePattern pattern = new APIUsagePattern(2, exampleLocations);
+        Set<DataNode> aggregatedNodes = new HashSet<>(Arrays.asList(new VariableNode("List", "l"), new VariableNode("List", "k")));
+        AggregateDataNode list = new AggregateDataNode("List", aggregatedNodes);
+        MethodCallNode size = new MethodCallNode("List", "size()");
+        pattern.addVertex(list);
+        pattern.addVertex(size);
+        pattern.addEdge(list, size, new ReceiverEdge(list, size));
+
+        APIUsagePattern newPattern = persistAndRestore(APIUsagePattern.class, pattern).iterator().next();
+
+        assertThat(newPattern.getSupport(), is(2));
+        assertThat(newPattern.getExampleLocations(), is(exampleLocations));
+        assertThat(newPattern, hasReceiverEdge(dataNodeWith(type("List")), methodCall("List", "size()")));
+        AggregateDataNode newList = (AggregateDataNode) newPattern.vertexSet().stream()
+                .filter(node -> node instanceof AggregateDataNode).findFirst().get();
+        assertThat(newList.getAggregatedNames(), containsInAnyOrder("l", "k"));
+    }
+
+    @Test
+    public void persistsMultipleAUGsWithSharedStrings() throws IOException {
+        APIUsageExample aug1 = buildAUG().withActionNode("A.a()").build();
+        APIUsageExample aug2 = buildAUG().withActionNodes("A.a()", "B.b()").build();
+
+        Collection<APIUsageExample> augs = persistAndRestore(aug1, aug2);
+
+        assertThat(augs, hasSize(2));
+        Iterator<APIUsageExample> iterator = augs.iterator();
+        assertThat(iterator.next(), hasNode(methodCall("A", "a()")));
+        APIUsageExample secondAUG = iterator.next();
+        assertThat(secondAUG, hasNode(methodCall("A", "a()")));
+        assertThat(secondAUG, hasNode(methodCall("B", "b()")));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsPatternWhenReadingExamples() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryAUGWriter writer = new BinaryAUGWriter(out)) {
+            writer.write(new APIUsagePattern(1, new HashSet<>()));
+        }
+
+        try (BinaryAUGReader<APIUsageExample> reader =
+                     new BinaryAUGReader<>(new ByteArrayInputStream(out.toByteArray()), APIUsageExample.class)) {
+            reader.read();
+        }
+    }
+
+    @Test
+    public void convertsDotArchive() throws IOException, ImportException {
+        APIUsageExample aug = buildAUG().withDataNode("O").withActionNode("O.m()").withEdge("O", RECEIVER, "O.m()").build();
+        ByteArrayOutputStream dotArchive = new ByteArrayOutputStream();
+        try (AUGWriter writer = new AUGWriter(dotArchive, new PersistenceAUGDotExporter())) {
+            writer.write(aug, "m()");
+        }
+
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        int count = AUGFormatConverter.convertDotArchive(new ByteArrayInputStream(dotArchive.toByteArray()), binary,
+                name -> new APIUsageExample(new Location("p", "f", name)));
+
+        assertThat(count, is(1));
+        try (BinaryAUGReader<APIUsageExample> reader =
+                     new BinaryAUGReader<>(new ByteArrayInputStream(binary.toByteArray()), APIUsageExample.class)) {
+            APIUsageExample newAUG = reader.read();
+            assertThat(newAUG.getLocation(), is(new Location("p", "f", "m()")));
+            assertThat(newAUG, hasReceiverEdge(dataNodeWith(type("O")), methodCall("O", "m()")));
+            assertThat(reader.read(), is(nullValue()));
+        }
+    }
+
+    private static Collection<APIUsageExample> persistAndRestore(APIUsageExample... augs) throws IOException {
+        return persistAndRestore(APIUsageExample.class, augs);
+    }
+
+    @SafeVarargs
+    private static <G extends APIUsageGraph> Collection<G> persistAndRestore(Class<G> graphType, G... augs) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryAUGWriter writer = new BinaryAUGWriter(out)) {
+            for (G aug : augs) {
+                if (aug instanceof APIUsagePattern) {
+                    writer.write((APIUsagePattern) aug);
+                } else {
+                    writer.write((APIUsageExample) aug);
+                }
+            }
+        }
+        try (BinaryAUGReader<G> reader = new BinaryAUGReader<>(new ByteArrayInputStream(out.toByteArray()), graphType)) {
+            return reader.readAll();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package de.tu_darmstadt.stg.mudetect.aug.visitors;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.Edge;
+import de.tu_darmstadt.stg.mudetect.aug.model.Node;
+import de.tu_darmstadt.stg.mudetect.aug.model.actions.MethodCallNode;
+import de.tu_darmstadt.stg.mudetect.aug.model.controlflow.OrderEdge;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class InterningAUGLabelProviderTest {
+    @Test
+    public void assignsSameIdToSameLabels() {
+        InterningAUGLabelProvider provider = InterningAUGLabelProvider.of(new BaseAUGLabelProvider());
+        Node node1 = new MethodCallNode("C", "m()");
+        Node node2 = new MethodCallNode("C", "m()");
+        Node node3 = new MethodCallNode("C", "n()");
+
+        assertThat(provider.getLabelId(node1), is(provider.getLabelId(node2)));
+        assertThat(provider.getLabelId(node1), is(not(provider.getLabelId(node3))));
+        assertThat(provider.getLabel(node1), is("C.m()"));
+    }
+
+    @Test
+    public void keepsIdsOfProvidersApart() {
+        InterningAUGLabelProvider provider1 = InterningAUGLabelProvider.of(new BaseAUGLabelProvider());
+        InterningAUGLabelProvider provider2 = InterningAUGLabelProvider.of(new BaseAUGLabelProvider());
+        provider2.intern("other");
+        Node node = new MethodCallNode("C", "m()");
+        Edge edge = new OrderEdge(node, new MethodCallNode("C", "n()"));
+
+        int nodeLabelId1 = provider1.getLabelId(node);
+        int edgeLabelId1 = provider1.getLabelId(edge);
+
+        assertThat(provider2.getLabel(provider2.getLabelId(node)), is("C.m()"));
+        assertThat(provider2.getLabel(provider2.getLabelId(edge)), is("order"));
+        assertThat(provider1.getLabelId(node), is(nodeLabelId1));
+        assertThat(provider1.getLabelId(edge), is(edgeLabelId1));
+    }
+
+    @Test
+    public void doesNotCopyCachedIdToClones() {
+        InterningAUGLabelProvider provider1 = InterningAUGLabelProvider.of(new BaseAUGLabelProvider());
+        InterningAUGLabelProvider provider2 = InterningAUGLabelProvider.of(new BaseAUGLabelProvider());
+        provider2.intern("other");
+        Node node = new MethodCallNode("C", "m()");
+        provider1.getLabelId(node);
+
+        Node clone = node.clone();
+
+        assertThat(provider2.getLabel(provider2.getLabelId(clone)), is("C.m()"));
+    }
+}
@@ -1,42 +1,57 @@
 package de.tu_darmstadt.stg.mubench;
 
 import de.tu_darmstadt.stg.mubench.cli.MuBenchRunner;
-import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
 import de.tu_darmstadt.stg.mudetect.aug.model.Location;
 import de.tu_darmstadt.stg.mudetect.aug.model.dot.AUGDotExporter;
 import de.tu_darmstadt.stg.mudetect.aug.model.dot.AUGEdgeAttributeProvider;
 import de.tu_darmstadt.stg.mudetect.aug.model.dot.AUGNodeAttributeProvider;
+import de.tu_darmstadt.stg.mudetect.aug.persistence.AUGStoreWriter;
 import de.tu_darmstadt.stg.mudetect.aug.persistence.PersistenceAUGDotExporter;
 import de.tu_darmstadt.stg.mudetect.aug.visitors.BaseAUGLabelProvider;
 import edu.iastate.cs.egroum.aug.AUGBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.logging.Logger;
 
 public class AUGExportRunner {
     private final static Logger LOGGER = Logger.getLogger(AUGExportRunner.class.getSimpleName());
+    /**
+     * Indexed store of all exported AUGs, to be used as a prebuilt store by {@link CrossProjectStrategy}.
+     */
+    private final static String AUG_STORE = "augs.store";
 
     public static void main(String[] args) throws Exception {
         new MuBenchRunner().withMineAndDetectStrategy((detectorArgs, builder) -> {
-            Collection<APIUsageExample> augs = new AUGBuilder(new DefaultAUGConfiguration())
-                    .build(detectorArgs.getTargetSrcPaths(), detectorArgs.getDependencyClassPath());
-
             PersistenceAUGDotExporter exporter = new PersistenceAUGDotExporter();
             Path exportDest = detectorArgs.getAdditionalOutputPath().resolve("export");
             AUGDotExporter prettyPrinter = new AUGDotExporter(new BaseAUGLabelProvider(), new AUGNodeAttributeProvider(), new AUGEdgeAttributeProvider());
             Path prettyPrintDest = detectorArgs.getAdditionalOutputPath().resolve("pretty");
-            for (APIUsageExample aug : augs) {
-                try {
-                    Location location = aug.getLocation();
-                    Path relativePath = Paths.get("/mubench/checkouts").relativize(Paths.get(location.getFilePath())).resolve(location.getMethodSignature());
-                    exporter.toDotFile(aug, exportDest.resolve(relativePath).toFile());
-                    prettyPrinter.toDotFile(aug, prettyPrintDest.resolve(relativePath).toFile());
-                } catch (Exception e) {
-                    LOGGER.warning(e.getMessage());
-                }
+            // exports the AUGs file by file, as they are built, such that they are never all held in memory at once
+            try (AUGStoreWriter storeWriter = new AUGStoreWriter(detectorArgs.getAdditionalOutputPath().resolve(AUG_STORE))) {
+                // records the types every AUG uses by their fully-qualified names, which requires the bindings of every
+                // file and, hence, building without cache
+                AUGBuilder augBuilder = new AUGBuilder(new DefaultAUGConfiguration() {{ cachePath = null; }});
+                DeclaringTypesCollector declaringTypes = new DeclaringTypesCollector();
+                augBuilder.addASTRequestor(declaringTypes);
+                augBuilder.build(detectorArgs.getTargetSrcPaths(), detectorArgs.getDependencyClassPath(), aug -> {
+                    try {
+                        storeWriter.write(aug, declaringTypes.getDeclaringTypes(aug.getLocation()));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    try {
+                        Location location = aug.getLocation();
+                        Path relativePath = Paths.get("/mubench/checkouts").relativize(Paths.get(location.getFilePath())).resolve(location.getMethodSignature());
+                        exporter.toDotFile(aug, exportDest.resolve(relativePath).toFile());
+                        prettyPrinter.toDotFile(aug, prettyPrintDest.resolve(relativePath).toFile());
+                    } catch (Exception e) {
+                        LOGGER.warning(e.getMessage());
+                    }
+                });
             }
 
             return builder.withFindings(new ArrayList<>());
@@ -7,7 +7,7 @@ import de.tu_darmstadt.stg.mubench.cli.DetectorOutput;
 import de.tu_darmstadt.stg.mudetect.*;
 import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
 import de.tu_darmstadt.stg.mudetect.aug.model.patterns.APIUsagePattern;
-import edu.iastate.cs.mudetect.mining.AUGMiner;
+import de.tu_darmstadt.stg.mudetect.aug.persistence.AUGStore;
 import edu.iastate.cs.mudetect.mining.DefaultAUGMiner;
 import edu.iastate.cs.mudetect.mining.MinPatternActionsModel;
 import edu.iastate.cs.mudetect.mining.Model;
@@ -54,17 +54,22 @@ class CrossProjectStrategy implements DetectionStrategy {
             output.withRunInfo(logPrefix + "-numberOfTrainingExamples", trainingExamples.size());
             output.withRunInfo(logPrefix + "-numberOfUsagesInTrainingExamples", getTypeUsageCounts(trainingExamples));
 
-            Model model = createMiner().mine(trainingExamples);
+            DefaultAUGMiner miner = createMiner();
+            Model model = miner.mine(trainingExamples);
             output.withRunInfo(logPrefix + "-numberOfPatterns", model.getPatterns().size());
+            output.withRunInfo(logPrefix + "-cutShortStartLabels", new ArrayList<>(miner.getCutShortStartLabels()));
             output.withRunInfo(logPrefix + "-maxPatternSupport", model.getMaxPatternSupport());
 
             patterns.addAll(model.getPatterns());
         }
 
         Model model = () -> patterns;
-        List<Violation> violations = createDetector(model).findViolations(targets);
+        MuDetectStrategy.writeModelIfConfigured(model);
+        AlternativeMappingsOverlapsFinder overlapsFinder =
+                new AlternativeMappingsOverlapsFinder(new DefaultOverlapFinderConfig(new DefaultMiningConfiguration()));
+        List<Violation> violations = createDetector(model, overlapsFinder).findViolations(targets);
         output.withRunInfo("numberOfViolations", violations.size());
-        output.withRunInfo("numberOfExploredAlternatives", AlternativeMappingsOverlapsFinder.numberOfExploredAlternatives);
+        output.withRunInfo("numberOfExploredAlternatives", overlapsFinder.getNumberOfExploredAlternatives());
 
         return output.withFindings(violations, ViolationUtils::toFinding);
     }
@@ -76,27 +81,22 @@ class CrossProjectStrategy implements DetectionStrategy {
 
         AUGBuilder builder = new AUGBuilder(new DefaultAUGConfiguration() {{
             usageExamplePredicate = examplePredicate;
+            // Most files of the example projects do not use the target type. Skipping the binding resolution of those
+            // that never name it trades recall for building time: it misses the examples that use the target type
+            // only through calls on the results of other calls, e.g., list.iterator().next(). Since we sample at most
+            // 1000 examples from all example projects anyway, we accept this loss for training, but not for the
+            // detection targets.
+            preScreenSourceFiles = true;
         }});
         List<APIUsageExample> targetTypeExamples = new ArrayList<>();
         for (ExampleProject exampleProject : exampleProjects) {
             String projectName = exampleProject.getProjectPath();
-            List<APIUsageExample> projectExamples = new ArrayList<>();
-            for (String srcDir : exampleProject.getSrcDirs()) {
-                Path projectSrcPath = Paths.get(exampleProject.getProjectPath(), srcDir);
-                System.out.println(String.format("[MuDetectXProject] Scanning path %s", projectSrcPath));
-                PrintStream originalSysOut = System.out;
-                try {
-                    System.setOut(new PrintStream(new OutputStream() {
-                        @Override
-                        public void write(int arg0) {}
-                    }));
-                    projectExamples.addAll(builder.build(projectSrcPath.toString(), args.getDependencyClassPath()));
-                } catch (Exception e) {
-                    System.err.print("[MuDetectXProject] Parsing failed: ");
-                    e.printStackTrace(System.err);
-                } finally {
-                    System.setOut(originalSysOut);
-                }
+            List<APIUsageExample> projectExamples;
+            Path augStorePath = exampleProject.getAUGStorePath();
+            if (Files.isRegularFile(augStorePath)) {
+                projectExamples = loadStoredExamples(augStorePath, targetType);
+            } else {
+                projectExamples = buildExamples(exampleProject, builder, args);
             }
             System.out.println(String.format("[MuDetectXProject] Examples from Project = %d", projectExamples.size()));
             int maxNumberOfExamplesPerProject = 1000 / exampleProjects.size();
@@ -112,6 +112,54 @@ class CrossProjectStrategy implements DetectionStrategy {
         return targetTypeExamples;
     }
 
+    /**
+     * Loads the examples of the target type from the project's prebuilt store, i.e., the AUGs of the methods that call
+     * a method or constructor declared by the target type, as recorded by {@link AUGExportRunner}, like building the
+     * examples from source selects them. Stores exported before the types were recorded know only the simple type
+     * names the AUGs use, such that the examples are selected by the target type's simple name, which also selects
+     * usages of other types with the same simple name, e.g., of <code>java.awt.List</code> for
+     * <code>java.util.List</code>. Also, the store's AUGs are built with the default configuration for all usage
+     * examples, such that the examples may differ from those built from source.
+     */
+    private List<APIUsageExample> loadStoredExamples(Path augStorePath, API targetType) {
+        System.out.println(String.format("[MuDetectXProject] Loading examples from %s", augStorePath));
+        try (AUGStore store = AUGStore.open(augStorePath)) {
+            if (store.getTypes().isEmpty()) {
+                System.out.println(String.format("[MuDetectXProject] Store records no types, selecting stored " +
+                        "examples by simple type name %s, which may include usages of other types of that name",
+                        targetType.getSimpleName()));
+                return store.getUsagesOf(targetType.getSimpleName());
+            }
+            return store.getUsagesOfType(targetType.getName());
+        } catch (IOException e) {
+            System.err.print("[MuDetectXProject] Loading AUG store failed: ");
+            e.printStackTrace(System.err);
+            return new ArrayList<>();
+        }
+    }
+
+    private List<APIUsageExample> buildExamples(ExampleProject exampleProject, AUGBuilder builder, DetectorArgs args) {
+        List<APIUsageExample> projectExamples = new ArrayList<>();
+        for (String srcDir : exampleProject.getSrcDirs()) {
+            Path projectSrcPath = Paths.get(exampleProject.getProjectPath(), srcDir);
+            System.out.println(String.format("[MuDetectXProject] Scanning path %s", projectSrcPath));
+            PrintStream originalSysOut = System.out;
+            try {
+                System.setOut(new PrintStream(new OutputStream() {
+                    @Override
+                    public void write(int arg0) {}
+                }));
+                projectExamples.addAll(builder.build(projectSrcPath.toString(), args.getDependencyClassPath()));
+            } catch (Exception e) {
+                System.err.print("[MuDetectXProject] Parsing failed: ");
+                e.printStackTrace(System.err);
+            } finally {
+                System.setOut(originalSysOut);
+            }
+        }
+        return projectExamples;
+    }
+
     private List<ExampleProject> getExampleProjects(API targetType) {
         Path dataFile = Paths.get(getExamplesBasePath().toString(), targetType + ".yml");
         try (InputStream is = new FileInputStream(dataFile.toFile())) {
@@ -123,12 +171,20 @@ class CrossProjectStrategy implements DetectionStrategy {
     }
 
     static class ExampleProject {
+        /**
+         * The file name of a project's prebuilt {@link AUGStore}, see {@link AUGExportRunner}, relative to the
+         * project path, unless the project specifies another path.
+         */
+        static final String DEFAULT_AUG_STORE = "augs.store";
+
         private final String projectPath;
         private final List<String> srcDirs;
+        private final String augStorePath;
 
-        ExampleProject(String projectPath, List<String> srcDirs) {
+        ExampleProject(String projectPath, List<String> srcDirs, String augStorePath) {
             this.projectPath = projectPath;
             this.srcDirs = srcDirs;
+            this.augStorePath = augStorePath;
         }
 
         @SuppressWarnings("unchecked")
@@ -136,7 +192,8 @@ class CrossProjectStrategy implements DetectionStrategy {
             Map<String, Object> data = (Map<String, Object>) yamlSpec;
             String projectPath = (String) data.get("path");
             List<String> srcDirs = (List<String>) data.get("source_paths");
-            return new ExampleProject(projectPath, srcDirs);
+            String augStorePath = (String) data.getOrDefault("aug_store", DEFAULT_AUG_STORE);
+            return new ExampleProject(projectPath, srcDirs, augStorePath);
         }
 
         String getProjectPath() {
@@ -146,6 +203,10 @@ class CrossProjectStrategy implements DetectionStrategy {
         List<String> getSrcDirs() {
             return srcDirs;
         }
+
+        Path getAUGStorePath() {
+            return Paths.get(projectPath).resolve(augStorePath);
+        }
     }
 
     private Path getIndexFilePath() throws FileNotFoundException {
@@ -182,7 +243,7 @@ class CrossProjectStrategy implements DetectionStrategy {
         return object;
     }
 
-    private AUGMiner createMiner() {
+    private DefaultAUGMiner createMiner() {
         return new DefaultAUGMiner(new DefaultMiningConfiguration() {{
             occurenceLevel = Level.CROSS_PROJECT;
             minPatternSupport = 5;
@@ -196,10 +257,10 @@ class CrossProjectStrategy implements DetectionStrategy {
         return builder.build(args.getTargetSrcPaths(), args.getDependencyClassPath());
     }
 
-    private MuDetect createDetector(Model model) {
+    private MuDetect createDetector(Model model, OverlapsFinder overlapsFinder) {
         return new MuDetect(
                 new MinPatternActionsModel(model, 2),
-                new AlternativeMappingsOverlapsFinder(new DefaultOverlapFinderConfig(new DefaultMiningConfiguration())),
+                overlapsFinder,
                 new FirstDecisionViolationPredicate(
                         new MissingDefPrefixNoViolationPredicate(),
                         new OnlyDefPrefixNoViolationPredicate(),
@@ -212,6 +273,7 @@ class CrossProjectStrategy implements DetectionStrategy {
                                             new OverlapWithoutEdgesToMissingNodesWeightFunction(new ConstantNodeWeightFunction()),
                                             new PatternSupportWeightFunction(),
                                             new ViolationSupportWeightFunction()
-                                    ))));
+                                    ))),
+                MuDetectStrategy.getDetectionParallelism());
     }
 }
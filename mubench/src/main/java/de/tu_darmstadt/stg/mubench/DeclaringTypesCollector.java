@@ -0,0 +1,84 @@
+package de.tu_darmstadt.stg.mubench;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.Location;
+import edu.iastate.cs.egroum.aug.AUGBuilder;
+import edu.iastate.cs.egroum.aug.TypeUsageExamplePredicate;
+import org.eclipse.jdt.core.dom.*;
+
+import java.util.*;
+
+/**
+ * Collects the fully-qualified names of the types that declare the methods and constructors called in every method of
+ * the compilation units it receives. Pass it to {@link AUGBuilder#addASTRequestor(FileASTRequestor)} to collect the
+ * types while the AUGs are built with resolved bindings and look them up by the AUGs' locations, since the AUGs
+ * themselves know only simple type names. Like the {@link TypeUsageExamplePredicate}, which selects usage examples when
+ * they are built from source, it considers all calls in a method's body.
+ */
+public class DeclaringTypesCollector extends FileASTRequestor {
+    private final Map<String, Map<String, Set<String>>> declaringTypesByFileAndMethod = new HashMap<>();
+
+    @Override
+    public void acceptAST(String sourceFilePath, CompilationUnit cu) {
+        Map<String, Set<String>> declaringTypesByMethod = new HashMap<>();
+        for (Object type : cu.types()) {
+            if (type instanceof TypeDeclaration) {
+                collect((TypeDeclaration) type, declaringTypesByMethod);
+            }
+        }
+        declaringTypesByFileAndMethod.put(sourceFilePath, declaringTypesByMethod);
+    }
+
+    /**
+     * @return the types that declare the methods and constructors called in the method, from which the AUG at the
+     * given location was built, or an empty set, if the method's compilation unit was not received.
+     */
+    public Set<String> getDeclaringTypes(Location location) {
+        return declaringTypesByFileAndMethod.getOrDefault(location.getFilePath(), Collections.emptyMap())
+                .getOrDefault(location.getMethodSignature(), Collections.emptySet());
+    }
+
+    private static void collect(TypeDeclaration type, Map<String, Set<String>> declaringTypesByMethod) {
+        // equally-named methods share the signature of their AUGs' location, hence, they share their declaring types
+        for (MethodDeclaration method : type.getMethods()) {
+            Set<String> declaringTypes = declaringTypesByMethod
+                    .computeIfAbsent(AUGBuilder.getMethodSignature(method), key -> new TreeSet<>());
+            method.accept(new DeclaringTypesCollectingVisitor(declaringTypes));
+        }
+        for (TypeDeclaration inner : type.getTypes()) {
+            collect(inner, declaringTypesByMethod);
+        }
+    }
+
+    private static class DeclaringTypesCollectingVisitor extends ASTVisitor {
+        private final Set<String> declaringTypes;
+
+        DeclaringTypesCollectingVisitor(Set<String> declaringTypes) {
+            super(false);
+            this.declaringTypes = declaringTypes;
+        }
+
+        @Override
+        public boolean visit(MethodInvocation node) {
+            addDeclaringType(node.resolveMethodBinding());
+            return true;
+        }
+
+        @Override
+        public boolean visit(ConstructorInvocation node) {
+            addDeclaringType(node.resolveConstructorBinding());
+            return true;
+        }
+
+        @Override
+        public boolean visit(ClassInstanceCreation node) {
+            addDeclaringType(node.resolveConstructorBinding());
+            return true;
+        }
+
+        private void addDeclaringType(IMethodBinding methodBinding) {
+            if (methodBinding != null) {
+                declaringTypes.add(methodBinding.getDeclaringClass().getTypeDeclaration().getQualifiedName());
+            }
+        }
+    }
+}
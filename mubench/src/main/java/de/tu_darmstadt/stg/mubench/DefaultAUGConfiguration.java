@@ -19,5 +19,9 @@ public class DefaultAUGConfiguration extends AUGConfiguration {
         buildTransitiveDataEdges = false;
 
         removeImplementationCode = 2;
+
+        parallelism = Math.max(1, Integer.getInteger("mudetect.extraction.parallelism", 1));
+        cachePath = System.getProperty("mudetect.extraction.cachepath");
+        librarySummaryCachePath = System.getProperty("mudetect.extraction.librarycachepath");
     }
 }
@@ -21,6 +21,12 @@ class DefaultMiningConfiguration extends Configuration {
         extendByDataNode = DataNodeExtensionStrategy.IF_INCOMING;
         disableSystemOut = true;
         outputPath = System.getProperty("mudetect.mining.outputpath");
+        parallelism = Math.max(1, Integer.getInteger("mudetect.mining.parallelism", 1));
+        maxMiningTimeMillis = Long.getLong("mudetect.mining.maxtime", Long.MAX_VALUE);
+        maxNumberOfFragments = Integer.getInteger("mudetect.mining.maxfragments", Integer.MAX_VALUE);
+        maxHeapUsage = Double.parseDouble(System.getProperty("mudetect.mining.maxheapusage", "1"));
+        maxExtensionsPerLabel = Integer.getInteger("mudetect.mining.maxextensionsperlabel", Integer.MAX_VALUE);
+        extensionSamplingSeed = Long.getLong("mudetect.mining.samplingseed", 0);
         labelProvider = new SelAndRepSameLabelProvider(new AllDataNodesSameLabelProvider(new BaseAUGLabelProvider()));
         extensionEdgeTypes = new HashSet<>(Arrays.asList(
                 ReceiverEdge.class, ParameterEdge.class, DefinitionEdge.class, ThrowEdge.class, ContainsEdge.class
@@ -1,6 +1,7 @@
 package de.tu_darmstadt.stg.mubench;
 
 import de.tu_darmstadt.stg.mudetect.VeryUnspecificReceiverTypePredicate;
+import de.tu_darmstadt.stg.mudetect.aug.visitors.InterningAUGLabelProvider;
 import de.tu_darmstadt.stg.mudetect.matcher.EquallyLabelledEdgeMatcher;
 import de.tu_darmstadt.stg.mudetect.matcher.EquallyLabelledNodeMatcher;
 import de.tu_darmstadt.stg.mudetect.matcher.SelAndRepSameLabelProvider;
@@ -10,7 +11,8 @@ import edu.iastate.cs.mudetect.mining.Configuration;
 class DefaultOverlapFinderConfig extends AlternativeMappingsOverlapsFinder.Config {
     DefaultOverlapFinderConfig(Configuration config) {
         isStartNode = super.isStartNode.and(new VeryUnspecificReceiverTypePredicate().negate());
-        nodeMatcher = new EquallyLabelledNodeMatcher(config.labelProvider);
+        nodeLabelProvider = InterningAUGLabelProvider.of(config.labelProvider);
+        nodeMatcher = new EquallyLabelledNodeMatcher(nodeLabelProvider);
         edgeMatcher = new EquallyLabelledEdgeMatcher(new SelAndRepSameLabelProvider(config.labelProvider));
         edgeOrder = new DataEdgeTypePriorityOrder();
         extensionEdgeTypes = config.extensionEdgeTypes;
@@ -4,7 +4,6 @@ import de.tu_darmstadt.stg.mubench.cli.DetectorArgs;
 import de.tu_darmstadt.stg.mubench.cli.DetectorOutput;
 import de.tu_darmstadt.stg.mudetect.*;
 import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
-import de.tu_darmstadt.stg.mudetect.overlapsfinder.AlternativeMappingsOverlapsFinder;
 import edu.iastate.cs.mudetect.mining.AUGMiner;
 import edu.iastate.cs.mudetect.mining.DefaultAUGMiner;
 import edu.iastate.cs.mudetect.mining.MinPatternActionsModel;
@@ -28,10 +27,10 @@ public class IntraProjectStrategy extends MuDetectStrategy {
     }
 
     @Override
-    protected MuDetect createDetector(Model model) {
+    protected MuDetect createDetector(Model model, OverlapsFinder overlapsFinder) {
         return new MuDetect(
                 new MinPatternActionsModel(model, 2),
-                new AlternativeMappingsOverlapsFinder(new DefaultOverlapFinderConfig(new DefaultMiningConfiguration())),
+                overlapsFinder,
                 new FirstDecisionViolationPredicate(
                         new MissingDefPrefixNoViolationPredicate(),
                         new OnlyDefPrefixNoViolationPredicate(),
@@ -43,6 +42,7 @@ public class IntraProjectStrategy extends MuDetectStrategy {
                                 new OverlapWithoutEdgesToMissingNodesWeightFunction(new ConstantNodeWeightFunction()),
                                 new PatternSupportWeightFunction(),
                                 new ViolationSupportWeightFunction()
-                        ))));
+                        ))),
+                getDetectionParallelism());
     }
 }
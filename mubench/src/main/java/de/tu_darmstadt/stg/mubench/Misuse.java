@@ -17,6 +17,10 @@ public class Misuse {
         return id;
     }
 
+    public String getFilePath() {
+        return filePath;
+    }
+
     public boolean isIn(String sourceFilePath) {
         return sourceFilePath.endsWith(filePath);
     }
@@ -46,6 +46,13 @@ public class MisuseInstancePredicate implements UsageExamplePredicate {
     	return true;
     }
 
+	@Override
+	public String getCacheKey() {
+		return "examplesOf" + misuses.stream()
+				.map(misuse -> misuse.getFilePath() + "#" + misuse.getMethodSignature())
+				.collect(Collectors.toCollection(TreeSet::new));
+	}
+
 	private static String buildSignature(MethodDeclaration method) {
 		StringBuilder sb = new StringBuilder(method.getName().getIdentifier()).append("(");
 		for (int i = 0; i < method.parameters().size(); i++) {
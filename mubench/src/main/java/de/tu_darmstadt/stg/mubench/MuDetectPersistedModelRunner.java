@@ -0,0 +1,11 @@
+package de.tu_darmstadt.stg.mubench;
+
+import de.tu_darmstadt.stg.mubench.cli.MuBenchRunner;
+
+public class MuDetectPersistedModelRunner {
+    public static void main(String[] args) throws Exception {
+        new MuBenchRunner()
+                .withMineAndDetectStrategy(new PersistedModelStrategy())
+                .run(args);
+    }
+}
@@ -5,9 +5,12 @@ import de.tu_darmstadt.stg.mubench.cli.DetectionStrategy;
 import de.tu_darmstadt.stg.mubench.cli.DetectorArgs;
 import de.tu_darmstadt.stg.mubench.cli.DetectorOutput;
 import de.tu_darmstadt.stg.mudetect.MuDetect;
+import de.tu_darmstadt.stg.mudetect.OverlapsFinder;
 import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
 import edu.iastate.cs.mudetect.mining.AUGMiner;
+import edu.iastate.cs.mudetect.mining.DefaultAUGMiner;
 import edu.iastate.cs.mudetect.mining.Model;
+import edu.iastate.cs.mudetect.mining.PersistedModel;
 import de.tu_darmstadt.stg.mudetect.model.Violation;
 import de.tu_darmstadt.stg.mudetect.overlapsfinder.AlternativeMappingsOverlapsFinder;
 import de.tu_darmstadt.stg.mustudies.UsageUtils;
@@ -15,6 +18,9 @@ import de.tu_darmstadt.stg.yaml.YamlObject;
 import edu.iastate.cs.egroum.aug.AUGBuilder;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -32,10 +38,40 @@ public abstract class MuDetectStrategy implements DetectionStrategy {
                 .build(args.getTargetSrcPaths(), args.getDependencyClassPath());
     }
 
-    protected abstract MuDetect createDetector(Model model);
+    protected AlternativeMappingsOverlapsFinder createOverlapsFinder() {
+        return new AlternativeMappingsOverlapsFinder(new DefaultOverlapFinderConfig(new DefaultMiningConfiguration()));
+    }
 
-    @Override
-    public DetectorOutput detectViolations(DetectorArgs args, DetectorOutput.Builder output) throws Exception {
+    protected abstract MuDetect createDetector(Model model, OverlapsFinder overlapsFinder);
+
+    /**
+     * @return the number of threads to use for detection, configured by the system property
+     * <code>mudetect.detection.parallelism</code> and defaulting to sequential detection.
+     */
+    static int getDetectionParallelism() {
+        return Math.max(1, Integer.getInteger("mudetect.detection.parallelism", 1));
+    }
+
+    /**
+     * @return the path to write mined models to, respectively, to read the model to detect with from, configured by the
+     * system property <code>mudetect.model.path</code>, or <code>null</code>, if none is configured.
+     */
+    static Path getModelPath() {
+        String modelPath = System.getProperty("mudetect.model.path");
+        return modelPath == null ? null : Paths.get(modelPath);
+    }
+
+    /**
+     * Persists the model, if a model path is configured, such that later runs may detect without mining again.
+     */
+    static void writeModelIfConfigured(Model model) throws IOException {
+        Path modelPath = getModelPath();
+        if (modelPath != null) {
+            PersistedModel.write(model, modelPath);
+        }
+    }
+
+    protected Model loadModel(DetectorArgs args, DetectorOutput.Builder output) throws IOException {
         long startTime = System.currentTimeMillis();
         Collection<APIUsageExample> trainingExamples = loadTrainingExamples(args, output);
         long endTrainingLoadTime = System.currentTimeMillis();
@@ -43,9 +79,20 @@ public abstract class MuDetectStrategy implements DetectionStrategy {
         output.withRunInfo("numberOfTrainingExamples", trainingExamples.size());
         output.withRunInfo("numberOfUsagesInTrainingExamples", getTypeUsageCounts(trainingExamples));
 
-        Model model = createMiner().mine(trainingExamples);
+        AUGMiner miner = createMiner();
+        Model model = miner.mine(trainingExamples);
+        output.withRunInfo("trainingTime", System.currentTimeMillis() - endTrainingLoadTime);
+        if (miner instanceof DefaultAUGMiner) {
+            output.withRunInfo("cutShortStartLabels", new ArrayList<>(((DefaultAUGMiner) miner).getCutShortStartLabels()));
+        }
+        writeModelIfConfigured(model);
+        return model;
+    }
+
+    @Override
+    public DetectorOutput detectViolations(DetectorArgs args, DetectorOutput.Builder output) throws Exception {
+        Model model = loadModel(args, output);
         long endTrainingTime = System.currentTimeMillis();
-        output.withRunInfo("trainingTime", endTrainingTime - endTrainingLoadTime);
         output.withRunInfo("numberOfPatterns", model.getPatterns().size());
         output.withRunInfo("maxPatternSupport", model.getMaxPatternSupport());
 
@@ -54,11 +101,12 @@ public abstract class MuDetectStrategy implements DetectionStrategy {
         output.withRunInfo("detectionLoadTime", endDetectionLoadTime - endTrainingTime);
         output.withRunInfo("numberOfTargets", targets.size());
 
-        List<Violation> violations = createDetector(model).findViolations(targets);
+        AlternativeMappingsOverlapsFinder overlapsFinder = createOverlapsFinder();
+        List<Violation> violations = createDetector(model, overlapsFinder).findViolations(targets);
         long endDetectionTime = System.currentTimeMillis();
         output.withRunInfo("detectionTime", endDetectionTime - endDetectionLoadTime);
         output.withRunInfo("numberOfViolations", violations.size());
-        output.withRunInfo("numberOfExploredAlternatives", AlternativeMappingsOverlapsFinder.numberOfExploredAlternatives);
+        output.withRunInfo("numberOfExploredAlternatives", overlapsFinder.getNumberOfExploredAlternatives());
 
         return output.withFindings(violations, ViolationUtils::toFinding);
     }
@@ -0,0 +1,29 @@
+package de.tu_darmstadt.stg.mubench;
+
+import de.tu_darmstadt.stg.mubench.cli.DetectorArgs;
+import de.tu_darmstadt.stg.mubench.cli.DetectorOutput;
+import edu.iastate.cs.mudetect.mining.Model;
+import edu.iastate.cs.mudetect.mining.PersistedModel;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Detects with the model previously mined by {@link IntraProjectStrategy} or {@link CrossProjectStrategy} and
+ * written to the path configured by the system property <code>mudetect.model.path</code>, instead of mining again.
+ */
+public class PersistedModelStrategy extends IntraProjectStrategy {
+    @Override
+    protected Model loadModel(DetectorArgs args, DetectorOutput.Builder output) throws IOException {
+        Path modelPath = getModelPath();
+        if (modelPath == null || !Files.isRegularFile(modelPath)) {
+            throw new FileNotFoundException("No model at '" + modelPath + "', set mudetect.model.path to a mined model.");
+        }
+        long startTime = System.currentTimeMillis();
+        Model model = PersistedModel.read(modelPath);
+        output.withRunInfo("modelLoadTime", System.currentTimeMillis() - startTime);
+        return model;
+    }
+}
@@ -3,10 +3,10 @@ package de.tu_darmstadt.stg.mubench;
 import de.tu_darmstadt.stg.mubench.cli.DetectorArgs;
 import de.tu_darmstadt.stg.mubench.cli.DetectorOutput;
 import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
-import de.tu_darmstadt.stg.mudetect.overlapsfinder.AlternativeMappingsOverlapsFinder;
 import de.tu_darmstadt.stg.mudetect.overlapsfinder.EmptyOverlapsFinder;
 import de.tu_darmstadt.stg.mudetect.EverythingViolationPredicate;
 import de.tu_darmstadt.stg.mudetect.MuDetect;
+import de.tu_darmstadt.stg.mudetect.OverlapsFinder;
 import edu.iastate.cs.mudetect.mining.AUGMiner;
 import edu.iastate.cs.mudetect.mining.DefaultAUGMiner;
 import edu.iastate.cs.mudetect.mining.MinPatternActionsModel;
@@ -33,17 +33,16 @@ public class ProvidedPatternsStrategy extends MuDetectStrategy {
     }
 
     @Override
-    protected MuDetect createDetector(Model model) {
+    protected MuDetect createDetector(Model model, OverlapsFinder overlapsFinder) {
         return new MuDetect(
                 new MinPatternActionsModel(model, 2),
-                new EmptyOverlapsFinder(
-                        new AlternativeMappingsOverlapsFinder(
-                                new DefaultOverlapFinderConfig(new DefaultMiningConfiguration()))),
+                new EmptyOverlapsFinder(overlapsFinder),
                 new EverythingViolationPredicate(),
                 new WeightRankingStrategy(
                         new OverlapWithoutEdgesToMissingNodesWeightFunction(
                                 new ConstantNodeWeightFunction()
-                        ))::rankViolations);
+                        ))::rankViolations,
+                getDetectionParallelism());
     }
 
 }
@@ -1,13 +1,17 @@
 package de.tu_darmstadt.stg.mudetect;
 
 import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageGraph;
 import de.tu_darmstadt.stg.mudetect.aug.model.patterns.APIUsagePattern;
 import de.tu_darmstadt.stg.mudetect.model.*;
 import edu.iastate.cs.mudetect.mining.Model;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
-import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class MuDetect {
 
@@ -15,36 +19,103 @@ public class MuDetect {
     private final OverlapsFinder overlapsFinder;
     private final ViolationPredicate violationPredicate;
     private final BiFunction<Overlaps, Model, List<Violation>> filterAndRankingStrategy;
+    private final int parallelism;
 
     public MuDetect(Model model,
                     OverlapsFinder overlapsFinder,
                     ViolationPredicate violationPredicate,
                     BiFunction<Overlaps, Model, List<Violation>> filterAndRankingStrategy) {
+        this(model, overlapsFinder, violationPredicate, filterAndRankingStrategy, 1);
+    }
+
+    /**
+     * @param parallelism the number of threads to use for finding overlaps between targets and patterns. With a value
+     *                    greater than one, the overlaps finder must be safe to use from multiple threads. The findings
+     *                    are the same as with sequential detection, regardless of the parallelism.
+     */
+    public MuDetect(Model model,
+                    OverlapsFinder overlapsFinder,
+                    ViolationPredicate violationPredicate,
+                    BiFunction<Overlaps, Model, List<Violation>> filterAndRankingStrategy,
+                    int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive, but was " + parallelism);
+        }
         this.model = model;
         this.overlapsFinder = overlapsFinder;
         this.violationPredicate = violationPredicate;
         this.filterAndRankingStrategy = filterAndRankingStrategy;
+        this.parallelism = parallelism;
     }
 
+    /**
+     * Finds the violations of the model's patterns in the targets. Detection only reads the targets, such that this
+     * method {@link APIUsageGraph#freeze() freezes} them, in order to use their compact adjacency. Hence, the targets
+     * cannot be modified afterwards. The patterns are not frozen here, but by the miner or model that creates them.
+     */
     public List<Violation> findViolations(Collection<APIUsageExample> targets) {
         final Overlaps overlaps = findOverlaps(targets, model.getPatterns());
         return filterAndRankingStrategy.apply(overlaps, model);
     }
 
     private Overlaps findOverlaps(Collection<APIUsageExample> targets, Set<APIUsagePattern> patterns) {
+        targets.forEach(APIUsageGraph::freeze);
+        PatternIndex patternIndex = overlapsFinder.indexPatterns(patterns);
         Overlaps overlaps = new Overlaps();
-        for (APIUsageExample target : targets) {
-            for (APIUsagePattern pattern : patterns) {
-                for (Overlap overlap : overlapsFinder.findOverlaps(target, pattern)) {
-                    if (violationPredicate.apply(overlap).orElse(false)) {
-                        overlaps.addViolation(overlap);
-                    } else {
-                        overlaps.addInstance(overlap);
-                    }
+        if (parallelism > 1) {
+            for (List<Overlap> pairOverlaps : findOverlapsInParallel(targets, patternIndex)) {
+                addAll(overlaps, pairOverlaps);
+            }
+        } else {
+            for (APIUsageExample target : targets) {
+                for (APIUsagePattern pattern : patternIndex.getCandidatePatterns(target)) {
+                    addAll(overlaps, overlapsFinder.findOverlaps(target, pattern));
                 }
             }
         }
         return overlaps;
     }
-}
 
+    /**
+     * Finds the overlaps of every target-pattern pair on a separate pool. The result holds the overlaps of each pair in
+     * the same order as the sequential traversal, such that merging them yields the same {@link Overlaps}.
+     */
+    private List<List<Overlap>> findOverlapsInParallel(Collection<APIUsageExample> targets, PatternIndex patternIndex) {
+        List<APIUsageExample> pairTargets = new ArrayList<>();
+        List<APIUsagePattern> pairPatterns = new ArrayList<>();
+        for (APIUsageExample target : targets) {
+            for (APIUsagePattern pattern : patternIndex.getCandidatePatterns(target)) {
+                pairTargets.add(target);
+                pairPatterns.add(pattern);
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> IntStream.range(0, pairTargets.size()).parallel()
+                    .mapToObj(pair -> overlapsFinder.findOverlaps(pairTargets.get(pair), pairPatterns.get(pair)))
+                    .collect(Collectors.toList()))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while finding overlaps", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("failed to find overlaps", cause);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void addAll(Overlaps overlaps, List<Overlap> pairOverlaps) {
+        for (Overlap overlap : pairOverlaps) {
+            if (violationPredicate.apply(overlap).orElse(false)) {
+                overlaps.addViolation(overlap);
+            } else {
+                overlaps.addInstance(overlap);
+            }
+        }
+    }
+}
@@ -4,8 +4,17 @@ import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
 import de.tu_darmstadt.stg.mudetect.aug.model.patterns.APIUsagePattern;
 import de.tu_darmstadt.stg.mudetect.model.Overlap;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface OverlapsFinder {
     List<Overlap> findOverlaps(APIUsageExample target, APIUsagePattern pattern);
+
+    /**
+     * Creates an index over the patterns, which yields for a target a superset of the patterns for which this finder
+     * may find overlaps with the target. By default, every pattern is a candidate for every target.
+     */
+    default PatternIndex indexPatterns(Collection<APIUsagePattern> patterns) {
+        return PatternIndex.all(patterns);
+    }
 }
@@ -0,0 +1,26 @@
+package de.tu_darmstadt.stg.mudetect;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
+import de.tu_darmstadt.stg.mudetect.aug.model.patterns.APIUsagePattern;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Preselects the patterns that may overlap with a given target, such that detection may skip all other pairs.
+ */
+public interface PatternIndex {
+    /**
+     * @return the candidate patterns for the target, in the order in which the index was given the patterns.
+     */
+    List<APIUsagePattern> getCandidatePatterns(APIUsageExample target);
+
+    /**
+     * @return an index that considers every pattern a candidate for every target.
+     */
+    static PatternIndex all(Collection<APIUsagePattern> patterns) {
+        List<APIUsagePattern> allPatterns = new ArrayList<>(patterns);
+        return target -> allPatterns;
+    }
+}
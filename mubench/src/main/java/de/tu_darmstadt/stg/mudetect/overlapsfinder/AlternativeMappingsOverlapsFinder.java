@@ -3,6 +3,7 @@ package de.tu_darmstadt.stg.mudetect.overlapsfinder;
 import de.tu_darmstadt.stg.mubench.NoEdgeOrder;
 import de.tu_darmstadt.stg.mudetect.InstanceMethodCallPredicate;
 import de.tu_darmstadt.stg.mudetect.OverlapsFinder;
+import de.tu_darmstadt.stg.mudetect.PatternIndex;
 import de.tu_darmstadt.stg.mudetect.aug.model.*;
 import de.tu_darmstadt.stg.mudetect.aug.model.controlflow.*;
 import de.tu_darmstadt.stg.mudetect.aug.model.dataflow.DefinitionEdge;
@@ -11,11 +12,13 @@ import de.tu_darmstadt.stg.mudetect.aug.model.dataflow.ReceiverEdge;
 import de.tu_darmstadt.stg.mudetect.aug.model.dot.AUGDotExporter;
 import de.tu_darmstadt.stg.mudetect.aug.model.dot.DisplayAUGDotExporter;
 import de.tu_darmstadt.stg.mudetect.aug.model.patterns.APIUsagePattern;
+import de.tu_darmstadt.stg.mudetect.aug.visitors.AUGLabelProvider;
 import de.tu_darmstadt.stg.mudetect.model.Overlap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -139,6 +142,7 @@ public class AlternativeMappingsOverlapsFinder implements OverlapsFinder {
         private final APIUsageExample target;
         private final APIUsagePattern pattern;
         private final Config config;
+        private final LongAdder numberOfExploredAlternatives;
 
         private final Set<Edge> candidates = new LinkedHashSet<>();
         private final List<Edge> exploredTargetEdges = new ArrayList<>();
@@ -147,10 +151,12 @@ public class AlternativeMappingsOverlapsFinder implements OverlapsFinder {
         private int nextExtensionEdgeIndex;
         private Map<Alternative, Set<Edge>> nextExtensionMappingAlternatives;
 
-        ExtensionStrategy(APIUsageExample target, APIUsagePattern pattern, Config config) {
+        ExtensionStrategy(APIUsageExample target, APIUsagePattern pattern, Config config,
+                          LongAdder numberOfExploredAlternatives) {
             this.target = target;
             this.pattern = pattern;
             this.config = config;
+            this.numberOfExploredAlternatives = numberOfExploredAlternatives;
         }
 
         Set<Overlap> findLargestOverlaps(Node startTargetNode) {
@@ -181,7 +187,7 @@ public class AlternativeMappingsOverlapsFinder implements OverlapsFinder {
                 LOGGER.debug("  now {} alternatives.", alternatives.size());
             }
 
-            AlternativeMappingsOverlapsFinder.numberOfExploredAlternatives += alternatives.size();
+            numberOfExploredAlternatives.add(alternatives.size());
 
             if (alternatives.size() > config.maxNumberOfAlternatives) {
                 alternatives.clear();
@@ -445,6 +451,12 @@ public class AlternativeMappingsOverlapsFinder implements OverlapsFinder {
 
         public boolean matchEntireConditions = false;
 
+        /**
+         * If set, the node matcher must match exactly those nodes that have equal labels according to this provider.
+         * Detection then only considers patterns that contain a node labelled like one of the target's start nodes.
+         */
+        public AUGLabelProvider nodeLabelProvider = null;
+
         public Set<Class<?>> extensionEdgeTypes = new HashSet<>(Arrays.asList(
                 ThrowEdge.class, ExceptionHandlingEdge.class, FinallyEdge.class,
                 SynchronizationEdge.class,
@@ -453,12 +465,27 @@ public class AlternativeMappingsOverlapsFinder implements OverlapsFinder {
         ));
     }
 
-    public static long numberOfExploredAlternatives = 0;
+    private final LongAdder numberOfExploredAlternatives = new LongAdder();
 
     public AlternativeMappingsOverlapsFinder(Config config) {
         this.config = config;
     }
 
+    /**
+     * @return the total number of alternative mappings explored by this finder so far, across all threads using it.
+     */
+    public long getNumberOfExploredAlternatives() {
+        return numberOfExploredAlternatives.sum();
+    }
+
+    @Override
+    public PatternIndex indexPatterns(Collection<APIUsagePattern> patterns) {
+        if (config.nodeLabelProvider == null) {
+            return PatternIndex.all(patterns);
+        }
+        return new StartNodeLabelPatternIndex(patterns, config.nodeLabelProvider, config.isStartNode);
+    }
+
     @Override
     public List<Overlap> findOverlaps(APIUsageExample target, APIUsagePattern pattern) {
         List<Overlap> overlaps = new ArrayList<>();
@@ -475,7 +502,7 @@ public class AlternativeMappingsOverlapsFinder implements OverlapsFinder {
             if (coveredTargetNodes.contains(startTargetNode)) continue;
 
             LOGGER.debug("Exploring from {}...", startTargetNode);
-            ExtensionStrategy extensionStrategy = new ExtensionStrategy(target, pattern, config);
+            ExtensionStrategy extensionStrategy = new ExtensionStrategy(target, pattern, config, numberOfExploredAlternatives);
             for (Overlap overlap : extensionStrategy.findLargestOverlaps(startTargetNode)) {
                 overlaps.add(overlap);
                 coveredTargetNodes.addAll(overlap.getMappedTargetNodes());
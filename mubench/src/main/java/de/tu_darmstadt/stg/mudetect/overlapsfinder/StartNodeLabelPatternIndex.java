@@ -0,0 +1,55 @@
+package de.tu_darmstadt.stg.mudetect.overlapsfinder;
+
+import de.tu_darmstadt.stg.mudetect.PatternIndex;
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
+import de.tu_darmstadt.stg.mudetect.aug.model.Node;
+import de.tu_darmstadt.stg.mudetect.aug.model.patterns.APIUsagePattern;
+import de.tu_darmstadt.stg.mudetect.aug.visitors.AUGLabelProvider;
+import de.tu_darmstadt.stg.mudetect.aug.visitors.InterningAUGLabelProvider;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Inverted index from node labels to the patterns that contain a node with the respective label. A pattern is a
+ * candidate for a target, if any start node of the target has a label that occurs in the pattern. This is sound for
+ * overlaps finders that start matching only from such start nodes and only map equally-labelled nodes.
+ */
+public class StartNodeLabelPatternIndex implements PatternIndex {
+    private final List<APIUsagePattern> patterns;
+    private final Map<Integer, BitSet> patternIndicesByLabel = new HashMap<>();
+    private final InterningAUGLabelProvider labelProvider;
+    private final Predicate<Node> isStartNode;
+
+    public StartNodeLabelPatternIndex(Collection<APIUsagePattern> patterns,
+                                      AUGLabelProvider labelProvider,
+                                      Predicate<Node> isStartNode) {
+        this.patterns = new ArrayList<>(patterns);
+        this.labelProvider = InterningAUGLabelProvider.of(labelProvider);
+        this.isStartNode = isStartNode;
+        for (int patternIndex = 0; patternIndex < this.patterns.size(); patternIndex++) {
+            for (Node node : this.patterns.get(patternIndex).vertexSet()) {
+                patternIndicesByLabel.computeIfAbsent(this.labelProvider.getLabelId(node), label -> new BitSet())
+                        .set(patternIndex);
+            }
+        }
+    }
+
+    @Override
+    public List<APIUsagePattern> getCandidatePatterns(APIUsageExample target) {
+        BitSet candidateIndices = new BitSet(patterns.size());
+        for (Node node : target.vertexSet()) {
+            if (isStartNode.test(node)) {
+                BitSet patternIndices = patternIndicesByLabel.get(labelProvider.getLabelId(node));
+                if (patternIndices != null) {
+                    candidateIndices.or(patternIndices);
+                }
+            }
+        }
+        List<APIUsagePattern> candidates = new ArrayList<>(candidateIndices.cardinality());
+        for (int i = candidateIndices.nextSetBit(0); i >= 0; i = candidateIndices.nextSetBit(i + 1)) {
+            candidates.add(patterns.get(i));
+        }
+        return candidates;
+    }
+}
@@ -2,6 +2,7 @@ package de.tu_darmstadt.stg.mudetect.typehierarchy;
 
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.dom.*;
+import edu.iastate.cs.egroum.aug.AUGBuilder;
 import edu.iastate.cs.egroum.utils.FileIO;
 
 import java.io.File;
@@ -11,16 +12,15 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class TargetSrcTypeHierarchy extends TypeHierarchy {
+    /**
+     * Parses the source files to build their type hierarchy. To build the hierarchy from the same parse that builds the
+     * AUGs of the source files, pass a {@link Collector} to {@link AUGBuilder#addASTRequestor(FileASTRequestor)}
+     * instead.
+     */
     @SuppressWarnings("unchecked")
     public static TypeHierarchy build(String sourcePath, String[] classPath) {
         List<String> paths = getAbsoluteFilePaths(sourcePath);
-        TypeHierarchyCollectingVisitor visitor = new TypeHierarchyCollectingVisitor();
-        FileASTRequestor r = new FileASTRequestor() {
-            @Override
-            public void acceptAST(String sourceFilePath, CompilationUnit cu) {
-                cu.accept(visitor);
-            }
-        };
+        Collector r = new Collector();
         @SuppressWarnings("rawtypes")
         Map options = JavaCore.getOptions();
         options.put(JavaCore.COMPILER_COMPLIANCE, JavaCore.VERSION_1_8);
@@ -32,7 +32,23 @@ public class TargetSrcTypeHierarchy extends TypeHierarchy {
         parser.setResolveBindings(true);
         parser.setBindingsRecovery(true);
         parser.createASTs(paths.toArray(new String[0]), null, new String[0], r, null);
-        return visitor.getHierarchy();
+        return r.getHierarchy();
+    }
+
+    /**
+     * Collects the type hierarchy of the compilation units it receives.
+     */
+    public static class Collector extends FileASTRequestor {
+        private final TypeHierarchyCollectingVisitor visitor = new TypeHierarchyCollectingVisitor();
+
+        @Override
+        public void acceptAST(String sourceFilePath, CompilationUnit cu) {
+            cu.accept(visitor);
+        }
+
+        public TypeHierarchy getHierarchy() {
+            return visitor.getHierarchy();
+        }
     }
 
     private TargetSrcTypeHierarchy() {}
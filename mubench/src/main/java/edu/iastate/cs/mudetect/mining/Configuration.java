@@ -49,6 +49,36 @@ public class Configuration {
      */
     public String outputPath = "output/patterns";
 
+    /**
+     * Number of threads to extend the patterns of different start labels in. Every start label is mined into lattices
+     * of its own, which are merged in the order of the start labels, such that the patterns are the same as when
+     * mining sequentially. The lattices of different pattern sizes are also filtered in this many threads, which does
+     * not affect the result either. Mining is sequential by default.
+     */
+    public int parallelism = 1;
+
+    /**
+     * Budgets for a single mining run. Once the run exceeds its wall-clock time in milliseconds, has created the given
+     * number of fragments, or uses the given fraction of the maximum heap size, the miner stops extending patterns and
+     * returns the patterns found so far. The miner reports the start labels whose patterns were cut short. Mining is
+     * unlimited by default.
+     */
+    public long maxMiningTimeMillis = Long.MAX_VALUE;
+    public int maxNumberOfFragments = Integer.MAX_VALUE;
+    public double maxHeapUsage = 1.0;
+
+    /**
+     * The maximum number of extensions of a pattern's occurrences by the same label, beyond which the miner considers
+     * only a uniform random sample of this many extensions, drawn by reservoir sampling, to choose the extended
+     * pattern. The support of the candidate patterns is then estimated from the sample, scaled to the number of all
+     * extensions, but the chosen pattern consists of the extensions of all occurrences, among which its support is
+     * counted. The miner enumerates the extensions in an order that depends only on the AUGs and their order, such that
+     * the seed makes the sample reproducible between sequential runs on the same AUGs, even if the AUGs are rebuilt.
+     * Extensions are not sampled by default.
+     */
+    public int maxExtensionsPerLabel = Integer.MAX_VALUE;
+    public long extensionSamplingSeed = 0;
+
     public AUGLabelProvider labelProvider = new BaseAUGLabelProvider();
     
     public enum Level {WITHIN_METHOD, CROSS_METHOD, CROSS_PROJECT}
@@ -14,6 +14,7 @@ public class DefaultAUGMiner implements AUGMiner {
     private final Configuration config;
 
     private PrintStream out = null;
+    private Set<String> cutShortStartLabels = Collections.emptySet();
 
     public DefaultAUGMiner(Configuration config) {
         this.config = config;
@@ -30,14 +31,18 @@ public class DefaultAUGMiner implements AUGMiner {
         });
     }
 
+    /**
+     * @return the start labels whose patterns were cut short in the last run, because a mining budget was exhausted.
+     */
+    public Set<String> getCutShortStartLabels() {
+        return cutShortStartLabels;
+    }
+
     public Model mine(Collection<APIUsageExample> examples) {
         return mine(new ArrayList<>(examples));
     }
 
     private Model mine(ArrayList<APIUsageExample> examples) {
-        Fragment.nextFragmentId = 0;
-        Fragment.numofFragments = 0;
-
         if (config.disableSystemOut) {
             disableOut();
         }
@@ -48,7 +53,9 @@ public class DefaultAUGMiner implements AUGMiner {
                 System.setOut(out);
             }
             Miner miner = new Miner("-subgraph-finder-", config);
-            return toModel(miner.mine(examples));
+            Model model = toModel(miner.mine(examples));
+            cutShortStartLabels = miner.getCutShortStartLabels();
+            return model;
         } finally {
             System.setOut(originalOut);
         }
@@ -99,6 +106,7 @@ public class DefaultAUGMiner implements AUGMiner {
             }
         }
 
+        augPattern.freeze();
         return augPattern;
     }
 }
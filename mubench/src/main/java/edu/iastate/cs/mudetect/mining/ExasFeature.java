@@ -1,55 +1,82 @@
 package edu.iastate.cs.mudetect.mining;
 
-import de.tu_darmstadt.stg.mudetect.aug.model.Edge;
 import de.tu_darmstadt.stg.mudetect.aug.model.Node;
-import de.tu_darmstadt.stg.mudetect.aug.model.controlflow.ConditionEdge;
-import de.tu_darmstadt.stg.mudetect.aug.visitors.AUGLabelProvider;
+import de.tu_darmstadt.stg.mudetect.aug.visitors.InterningAUGLabelProvider;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ExasFeature {
 	public static final int MAX_LENGTH = 4 * 2 - 1;
-	private static HashMap<String, Integer> edgeFeatures = new HashMap<>();
+	/*
+	 * A feature of at most MAX_LENGTH label ids packs exactly into the low 63 bits of a long, if every node feature
+	 * fits into NODE_BITS and every edge feature into EDGE_BITS. Node features are positive, such that sequences of
+	 * different lengths never pack to the same value. Features that do not fit are hashed to a value with the sign bit
+	 * set instead, such that they never collide with packed features.
+	 */
+	static final int NODE_BITS = 12;
+	static final int EDGE_BITS = 5;
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
 
-	private HashMap<String, Integer> nodeFeatures = new HashMap<>();
+	private static final ConcurrentMap<String, Integer> edgeFeatures = new ConcurrentHashMap<>();
+	private static final AtomicInteger nextEdgeFeature = new AtomicInteger();
 
-	public ExasFeature(ArrayList<Node> nodes, AUGLabelProvider labelProvider) {
+	private final InterningAUGLabelProvider labelProvider;
+	private HashMap<Integer, Integer> nodeFeatures = new HashMap<>();
+
+	public ExasFeature(ArrayList<Node> nodes, InterningAUGLabelProvider labelProvider) {
+		this.labelProvider = labelProvider;
 		for (int i = 0; i < nodes.size(); i++) {
-			String label = labelProvider.getLabel(nodes.get(i));
-			if (!nodeFeatures.containsKey(label))
-				nodeFeatures.put(label, i + 1);
+			int labelId = labelProvider.getLabelId(nodes.get(i));
+			if (!nodeFeatures.containsKey(labelId))
+				nodeFeatures.put(labelId, i + 1);
 		}
 	}
 
-	public int getNodeFeature(String label) {
-		return nodeFeatures.get(label);
+	public int getNodeFeature(int labelId) {
+		return nodeFeatures.get(labelId);
 	}
 
-	private int getEdgeFeature(String label) {
-		if (!edgeFeatures.containsKey(label)) {
-			edgeFeatures.put(label, edgeFeatures.size());
-		}
-		return edgeFeatures.get(label);
+	int getEdgeFeature(int labelId) {
+		return edgeFeatures.computeIfAbsent(labelProvider.getLabel(labelId), label -> nextEdgeFeature.getAndIncrement());
 	}
 
-	public int getFeature(ArrayList<String> labels) {
-		int f = 0, s;
-		for (int i = 0; i < labels.size(); i++) {
+	/**
+	 * @param labelIds alternating node- and edge-label ids, starting with a node-label id
+	 * @param from the index of the first label id of the sequence (inclusive)
+	 * @param to the index of the last label id of the sequence (exclusive)
+	 */
+	public long getFeature(int[] labelIds, int from, int to) {
+		long packed = 0, hash = FNV_OFFSET_BASIS;
+		boolean fits = true;
+		for (int i = 0; i < to - from; i++) {
+			int s, bits;
 			if (i % 2 == 0) {
-				s = getNodeFeature(labels.get(i));
+				s = getNodeFeature(labelIds[from + i]);
+				bits = NODE_BITS;
 			}
 			else {
-				s = getEdgeFeature(labels.get(i));
-				s = s << 5;
-				f = f << 8;
+				s = getEdgeFeature(labelIds[from + i]);
+				bits = EDGE_BITS;
 			}
-			f += s;
+			fits &= s >>> bits == 0;
+			packed = packed << bits | s;
+			hash = (hash ^ s) * FNV_PRIME;
 		}
-		return f;
+		return fits ? packed : mix(hash) | Long.MIN_VALUE;
+	}
+
+	public long getFeature(int labelId) {
+		return getNodeFeature(labelId);
 	}
 
-	public int getFeature(String label) {
-		return getNodeFeature(label);
+	private static long mix(long h) {
+		h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+		h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		return h ^ (h >>> 33);
 	}
 }
@@ -0,0 +1,105 @@
+package edu.iastate.cs.mudetect.mining;
+
+import java.util.Arrays;
+
+/**
+ * Sparse vector of Exas-feature counts. The features are kept sorted in a primitive array, such that vectors compare
+ * without boxing. The hash code is computed once and cached until the vector changes.
+ */
+public class ExasVector {
+    private long[] features;
+    private int[] counts;
+    private int size = 0;
+    private int hash;
+    private boolean hashValid = false;
+
+    public ExasVector() {
+        features = new long[8];
+        counts = new int[8];
+    }
+
+    /**
+     * Creates a copy of the given vector, with room to add features.
+     */
+    public ExasVector(ExasVector vector) {
+        int capacity = vector.size + Math.max(8, vector.size / 2);
+        features = Arrays.copyOf(vector.features, capacity);
+        counts = Arrays.copyOf(vector.counts, capacity);
+        size = vector.size;
+        hash = vector.hash;
+        hashValid = vector.hashValid;
+    }
+
+    public void add(long feature) {
+        int i = Arrays.binarySearch(features, 0, size, feature);
+        if (i >= 0) {
+            counts[i]++;
+        } else {
+            i = -i - 1;
+            if (size == features.length) {
+                features = Arrays.copyOf(features, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            System.arraycopy(features, i, features, i + 1, size - i);
+            System.arraycopy(counts, i, counts, i + 1, size - i);
+            features[i] = feature;
+            counts[i] = 1;
+            size++;
+        }
+        hashValid = false;
+    }
+
+    public int getCount(long feature) {
+        int i = Arrays.binarySearch(features, 0, size, feature);
+        return i >= 0 ? counts[i] : 0;
+    }
+
+    /**
+     * @return the i-th of the distinct features in this vector, in ascending order
+     */
+    long getFeature(int i) {
+        return features[i];
+    }
+
+    /**
+     * @return the number of distinct features in this vector
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int hashCode() {
+        if (!hashValid) {
+            int h = 0;
+            for (int i = 0; i < size; i++) {
+                h = (h * 31 + Long.hashCode(features[i])) * 31 + counts[i];
+            }
+            hash = h;
+            hashValid = true;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof ExasVector)) return false;
+        ExasVector other = (ExasVector) obj;
+        if (size != other.size || hashCode() != other.hashCode()) return false;
+        for (int i = 0; i < size; i++) {
+            if (features[i] != other.features[i] || counts[i] != other.counts[i]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder("{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) s.append(", ");
+            s.append(features[i]).append('=').append(counts[i]);
+        }
+        return s.append('}').toString();
+    }
+}
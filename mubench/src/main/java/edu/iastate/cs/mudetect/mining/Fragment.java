@@ -2,6 +2,7 @@ package edu.iastate.cs.mudetect.mining;
 
 import de.tu_darmstadt.stg.mudetect.aug.model.*;
 import de.tu_darmstadt.stg.mudetect.aug.model.data.VariableNode;
+import de.tu_darmstadt.stg.mudetect.aug.visitors.InterningAUGLabelProvider;
 import edu.iastate.cs.egroum.dot.DotGraph;
 
 import java.io.File;
@@ -19,95 +20,118 @@ public class Fragment {
 	public static final int minSize = 2;
 	public static final int maxSize = 20;
 	
-	public static int nextFragmentId = 1, numofFragments = 0;
 	private final Configuration config;
+	private final InterningAUGLabelProvider labelProvider;
+	private final MiningCounters counters;
 
 	private int id = -1;
 	private Fragment genFragment;
 	private ArrayList<Node> nodes = new ArrayList<>();
+	/**
+	 * The nodes as a bitset over their dense indices in the graph's {@link CompactAdjacency}, such that membership,
+	 * containment, and overlap checks are bit operations.
+	 */
+	private long[] nodeBits;
 	private APIUsageExample graph;
-	private HashMap<Integer, Integer> vector = new HashMap<>();
+	private ExasVector vector = new ExasVector();
 	private int idSum = 0;
 	
-	private Fragment(Configuration config) {
+	private Fragment(Configuration config, InterningAUGLabelProvider labelProvider, MiningCounters counters) {
 		this.config = config;
-		this.id = nextFragmentId++;
-		numofFragments++;
+		this.labelProvider = labelProvider;
+		this.counters = counters;
+		this.id = counters.newFragmentId();
 	}
 	
-	public Fragment(Node node, Configuration config) {
-		this(config);
+	/**
+	 * @param labelProvider the provider of the label ids to compare, which must be shared by all fragments of a
+	 *                      mining run and must intern the labels of <code>config.labelProvider</code>
+	 * @param counters the counters of the mining run, which must be shared by all fragments of the run
+	 */
+	public Fragment(Node node, Configuration config, InterningAUGLabelProvider labelProvider, MiningCounters counters) {
+		this(config, labelProvider, counters);
 		this.graph = (APIUsageExample) node.getGraph();
-		nodes.add(node);
+		this.nodeBits = new long[(graph.getCompactAdjacency().getNumberOfNodes() + 63) >>> 6];
+		addNode(node);
 		this.idSum = node.getId();
-		vector.put(1, 1);
+		vector.add(1);
 	}
 	
 	public Fragment(Fragment fragment, ArrayList<Node> ens) {
-		this(fragment.config);
+		this(fragment.config, fragment.labelProvider, fragment.counters);
 		this.genFragment = fragment;
 		this.graph = fragment.graph;
 		this.nodes = new ArrayList<>(fragment.getNodes());
+		this.nodeBits = fragment.nodeBits.clone();
 		this.idSum = fragment.getIdSum();
-		this.vector = new HashMap<>(fragment.getVector());
+		this.vector = new ExasVector(fragment.getVector());
 		for (Node en : ens) {
-			this.nodes.add(en);
+			addNode(en);
 			this.idSum += en.getId();
-			ExasFeature exasFeature = new ExasFeature(nodes, config.labelProvider);
+			ExasFeature exasFeature = new ExasFeature(nodes, labelProvider);
 			buildVector(en, exasFeature);
 		}
 	}
 	
+	private void addNode(Node node) {
+		nodes.add(node);
+		int nodeIndex = getNodeIndex(node);
+		nodeBits[nodeIndex >>> 6] |= 1L << nodeIndex;
+	}
+
+	private int getNodeIndex(Node node) {
+		int nodeIndex = graph.getCompactAdjacency().getNodeIndex(node);
+		if (nodeIndex < 0)
+			throw new IllegalArgumentException("node is not part of the fragment's graph: " + node);
+		return nodeIndex;
+	}
+
+	private boolean hasNode(int nodeIndex) {
+		return (nodeBits[nodeIndex >>> 6] & (1L << nodeIndex)) != 0;
+	}
+
 	public void buildVector(Node node, ExasFeature exasFeature) {
-		ArrayList<String> sequence = new ArrayList<>();
-		sequence.add(config.labelProvider.getLabel(node));
-		backwardDFS(node, node, sequence, exasFeature);
+		// The sequence of label ids is sequence[from..to). It grows in both directions from the middle of the buffer,
+		// by at most ExasFeature.MAX_LENGTH - 1 label ids in total.
+		int[] sequence = new int[2 * ExasFeature.MAX_LENGTH];
+		int from = ExasFeature.MAX_LENGTH;
+		sequence[from] = labelProvider.getLabelId(node);
+		CompactAdjacency adjacency = graph.getCompactAdjacency();
+		int nodeIndex = adjacency.getNodeIndex(node);
+		backwardDFS(adjacency, nodeIndex, nodeIndex, sequence, from, from + 1, exasFeature);
 	}
 	
-	private void backwardDFS(Node firstNode, Node lastNode, ArrayList<String> sequence, ExasFeature exasFeature) {
-		forwardDFS(firstNode, lastNode, sequence, exasFeature);
+	private void backwardDFS(CompactAdjacency adjacency, int firstNode, int lastNode, int[] sequence, int from, int to, ExasFeature exasFeature) {
+		forwardDFS(adjacency, lastNode, sequence, from, to, exasFeature);
 		
-		if(sequence.size() < ExasFeature.MAX_LENGTH) {
-			APIUsageGraph graph = firstNode.getGraph();
-			for(Edge e : graph.incomingEdgesOf(firstNode)) {
-				Node n = graph.getEdgeSource(e);
-				if (nodes.contains(n)) {
-					sequence.add(0, config.labelProvider.getLabel(e));
-					sequence.add(0, config.labelProvider.getLabel(n));
-					backwardDFS(n, lastNode, sequence, exasFeature);
-					sequence.remove(0);
-					sequence.remove(0);
+		if(to - from < ExasFeature.MAX_LENGTH) {
+			for (int i = adjacency.getIncomingStart(firstNode); i < adjacency.getIncomingEnd(firstNode); i++) {
+				int n = adjacency.getIncomingSourceIndex(i);
+				if (hasNode(n)) {
+					sequence[from - 1] = labelProvider.getLabelId(adjacency.getIncomingEdge(i));
+					sequence[from - 2] = labelProvider.getLabelId(adjacency.getNode(n));
+					backwardDFS(adjacency, n, lastNode, sequence, from - 2, to, exasFeature);
 				}
 			}
 		}
 	}
 	
-	private void forwardDFS(Node firstNode, Node lastNode, ArrayList<String> sequence, ExasFeature exasFeature) {
-		int feature = exasFeature.getFeature(sequence);
-		addFeature(feature, vector);
+	private void forwardDFS(CompactAdjacency adjacency, int lastNode, int[] sequence, int from, int to, ExasFeature exasFeature) {
+		long feature = exasFeature.getFeature(sequence, from, to);
+		vector.add(feature);
 		
-		if(sequence.size() < ExasFeature.MAX_LENGTH) {
-			APIUsageGraph graph = lastNode.getGraph();
-			for(Edge e : graph.outgoingEdgesOf(lastNode)) {
-				Node n = graph.getEdgeTarget(e);
-				if (nodes.contains(n)) {
-					sequence.add(config.labelProvider.getLabel(e));
-					sequence.add(config.labelProvider.getLabel(n));
-					forwardDFS(firstNode, n, sequence, exasFeature);
-					sequence.remove(sequence.size()-1);
-					sequence.remove(sequence.size()-1);
+		if(to - from < ExasFeature.MAX_LENGTH) {
+			for (int i = adjacency.getOutgoingStart(lastNode); i < adjacency.getOutgoingEnd(lastNode); i++) {
+				int n = adjacency.getOutgoingTargetIndex(i);
+				if (hasNode(n)) {
+					sequence[to] = labelProvider.getLabelId(adjacency.getOutgoingEdge(i));
+					sequence[to + 1] = labelProvider.getLabelId(adjacency.getNode(n));
+					forwardDFS(adjacency, n, sequence, from, to + 2, exasFeature);
 				}
 			}
 		}
 	}
 	
-	private void addFeature(int feature, HashMap<Integer, Integer> vector) {
-		int c = 0;
-		if (vector.containsKey(feature))
-			c = vector.get(feature);
-		vector.put(feature, c+1);
-	}
-	
 	public int getId() {
 		return id;
 	}
@@ -126,29 +150,33 @@ public class Fragment {
 
 	public HashSet<Edge> getEdges() {
 		HashSet<Edge> edges = new HashSet<>();
+		CompactAdjacency adjacency = graph.getCompactAdjacency();
 		for (Node node : nodes) {
-			APIUsageGraph graph = node.getGraph();
-			for (Edge e : graph.incomingEdgesOf(node))
-				if (nodes.contains(graph.getEdgeSource(e)))
-					edges.add(e);
-			for (Edge e : graph.outgoingEdgesOf(node))
-				if (nodes.contains(graph.getEdgeTarget(e)))
-					edges.add(e);
+			int nodeIndex = adjacency.getNodeIndex(node);
+			for (int i = adjacency.getIncomingStart(nodeIndex); i < adjacency.getIncomingEnd(nodeIndex); i++)
+				if (hasNode(adjacency.getIncomingSourceIndex(i)))
+					edges.add(adjacency.getIncomingEdge(i));
+			for (int i = adjacency.getOutgoingStart(nodeIndex); i < adjacency.getOutgoingEnd(nodeIndex); i++)
+				if (hasNode(adjacency.getOutgoingTargetIndex(i)))
+					edges.add(adjacency.getOutgoingEdge(i));
 		}
 		return edges;
 	}
 	
 	public void setNodes(ArrayList<Node> nodes) {
-		this.nodes = nodes;
+		this.nodes = new ArrayList<>();
+		this.nodeBits = new long[nodeBits.length];
+		for (Node node : nodes)
+			addNode(node);
 	}
 	
 	public int getIdSum() {
 		return idSum;
 	}
-	public HashMap<Integer, Integer> getVector() {
+	public ExasVector getVector() {
 		return vector;
 	}
-	public void setVector(HashMap<Integer, Integer> vector) {
+	public void setVector(ExasVector vector) {
 		this.vector = vector;
 	}
 
@@ -166,13 +194,7 @@ public class Fragment {
 	}
 	
 	public int getVectorHashCode() {
-		ArrayList<Integer> keys = new ArrayList<>(vector.keySet());
-		Collections.sort(keys);
-		int h = 0;
-		for (int key : keys) {
-			h = h * 31 + vector.get(key);
-		}
-		return h;
+		return vector.hashCode();
 	}
 	
 	/**
@@ -214,7 +236,14 @@ public class Fragment {
 			return false;
 		if (this.idSum != other.getIdSum())
 			return false;
-		return new HashSet<>(nodes).equals(new HashSet<>(other.nodes));
+		return graph == other.graph && Arrays.equals(nodeBits, other.nodeBits);
+	}
+	/**
+	 * @return a key that equals the key of another fragment, if and only if the fragments are the same as each other,
+	 * see {@link #isSameAs(Fragment)}
+	 */
+	Object getNodeSetKey() {
+		return new NodeSetKey(graph, nodeBits);
 	}
 	/**
 	 * Set of nodes contains all the nodes of the other fragment
@@ -227,17 +256,17 @@ public class Fragment {
 			return false;
 		if (graph != fragment.getGraph())
 			return false;
-		HashSet<Node> inter = new HashSet<>(nodes);
-		inter.retainAll(fragment.nodes);
-		if (inter.size() == fragment.nodes.size())
-			return true;
-		return false;
+		for (int i = 0; i < nodeBits.length; i++)
+			if ((fragment.nodeBits[i] & ~nodeBits[i]) != 0)
+				return false;
+		return true;
 	}
 	/**
 	 * 
 	 */
 	public boolean contains(Node node) {
-		return this.nodes.contains(node);
+		int nodeIndex = graph.getCompactAdjacency().getNodeIndex(node);
+		return nodeIndex >= 0 && hasNode(nodeIndex);
 	}
 	public boolean overlap(Fragment fragment) {
 		if (this == fragment) {
@@ -248,7 +277,50 @@ public class Fragment {
 			System.err.println("NULL fragment in checking overlap");
 			return false;
 		}
-		return nodes.stream().filter(node -> node instanceof ActionNode).anyMatch(fragment.nodes::contains);
+		if (graph != fragment.graph)
+			return false;
+		return sharesActionNodeWith(fragment.nodeBits);
+	}
+
+	/**
+	 * @return the sorted label ids of this fragment's nodes, with one entry per node
+	 */
+	int[] getSortedLabelIds() {
+		int[] labelIds = new int[nodes.size()];
+		for (int i = 0; i < labelIds.length; i++)
+			labelIds[i] = labelProvider.getLabelId(nodes.get(i));
+		Arrays.sort(labelIds);
+		return labelIds;
+	}
+
+	/**
+	 * @return an empty bitset over the nodes of this fragment's graph, see {@link #addNodesTo(long[])}
+	 */
+	long[] newNodeBits() {
+		return new long[nodeBits.length];
+	}
+
+	/**
+	 * @param nodeBits a bitset over the nodes of this fragment's graph
+	 * @return whether this fragment contains an action node from the bitset
+	 */
+	boolean sharesActionNodeWith(long[] nodeBits) {
+		CompactAdjacency adjacency = graph.getCompactAdjacency();
+		for (int i = 0; i < this.nodeBits.length; i++) {
+			long sharedNodes = this.nodeBits[i] & nodeBits[i];
+			while (sharedNodes != 0) {
+				int nodeIndex = (i << 6) + Long.numberOfTrailingZeros(sharedNodes);
+				if (adjacency.getNode(nodeIndex) instanceof ActionNode)
+					return true;
+				sharedNodes &= sharedNodes - 1;
+			}
+		}
+		return false;
+	}
+
+	void addNodesTo(long[] nodeBits) {
+		for (int i = 0; i < this.nodeBits.length; i++)
+			nodeBits[i] |= this.nodeBits[i];
 	}
 	
 	@Override
@@ -332,11 +404,11 @@ public class Fragment {
 			id++;
 			ids.put(node, id);
 			if(node instanceof DataNode)
-				graph.append(dg.addNode(id, config.labelProvider.getLabel(node), DotGraph.SHAPE_ELLIPSE, null, null, null));
+				graph.append(dg.addNode(id, labelProvider.getLabel(node), DotGraph.SHAPE_ELLIPSE, null, null, null));
 			else if (node instanceof ActionNode)
-				graph.append(dg.addNode(id, config.labelProvider.getLabel(node), DotGraph.SHAPE_BOX, null, null, null));
+				graph.append(dg.addNode(id, labelProvider.getLabel(node), DotGraph.SHAPE_BOX, null, null, null));
 			else
-				graph.append(dg.addNode(id, config.labelProvider.getLabel(node), DotGraph.SHAPE_DIAMOND, null, null, null));
+				graph.append(dg.addNode(id, labelProvider.getLabel(node), DotGraph.SHAPE_DIAMOND, null, null, null));
 		}
 		// add edges
 		for(Node node : nodes) {
@@ -344,9 +416,9 @@ public class Fragment {
 			APIUsageGraph graph1 = node.getGraph();
 			for(Edge out : graph1.outgoingEdgesOf(node)) {
 				Node target = graph1.getEdgeTarget(out);
-				if (nodes.contains(target)) {
+				if (contains(target)) {
 					int eId = ids.get(target);
-					graph.append(dg.addEdge(sId, eId, out.isDirect() ? null : DotGraph.STYLE_DOTTED, null, config.labelProvider.getLabel(out)));
+					graph.append(dg.addEdge(sId, eId, out.isDirect() ? null : DotGraph.STYLE_DOTTED, null, labelProvider.getLabel(out)));
 				}
 			}
 		}
@@ -355,21 +427,21 @@ public class Fragment {
 		return dg;
 	}
 
+	/**
+	 * Releases the fragment, once it is no longer owned by a pattern or by the extension of a pattern in
+	 * {@link Miner}. Releasing a fragment again has no effect.
+	 */
 	void delete() {
+		if (this.vector == null)
+			return;
 		this.genFragment = null;
 		this.graph = null;
 		if (nodes != null)
 			this.nodes.clear();
 		this.nodes = null;
-		if (vector != null)
-			this.vector.clear();
+		this.nodeBits = null;
 		this.vector = null;
-		numofFragments--;
-	}
-	
-	@Override
-	protected void finalize() throws Throwable {
-		delete();
+		counters.fragmentDeleted();
 	}
 	
 	HashSet<Fragment> exactCloneList(HashSet<Fragment> group, Fragment frag) {
@@ -403,18 +475,18 @@ public class Fragment {
 			for (Edge e : graph.incomingEdgesOf(node)) {
                 Node n = e.getSource();
                 boolean extendAlongEdge = isExtendAlongEdge(e);
-                if (n.isCoreAction() && config.labelProvider.getLabel(n).equals(config.labelProvider.getLabel(node)))
+                if (n.isCoreAction() && labelProvider.getLabelId(n) == labelProvider.getLabelId(node))
                     exclusions.add(n);
-                else if (!nodes.contains(n) && extendAlongEdge)
+                else if (!contains(n) && extendAlongEdge)
                     ens.add(n);
 			}
 
             for (Edge e : graph.outgoingEdgesOf(node)) {
                 Node n = e.getTarget();
                 boolean extendAlongEdge = isExtendAlongEdge(e);
-                if (n.isCoreAction() && config.labelProvider.getLabel(n).equals(config.labelProvider.getLabel(node)))
+                if (n.isCoreAction() && labelProvider.getLabelId(n) == labelProvider.getLabelId(node))
                     exclusions.add(n);
-                else if (!nodes.contains(n) && extendAlongEdge)
+                else if (!contains(n) && extendAlongEdge)
                     ens.add(n);
             }
 		}
@@ -459,7 +531,7 @@ public class Fragment {
                 } else if (config.extendByDataNode == IF_INCOMING) {
 					boolean hasThrow = false;
 					for (Edge e : graph.incomingEdgesOf(node)) {
-						if (e.getType() == THROW && nodes.contains(graph.getEdgeSource(e))) {
+						if (e.getType() == THROW && contains(graph.getEdgeSource(e))) {
 							add(node, lens);
 							hasThrow = true;
 							break;
@@ -473,7 +545,7 @@ public class Fragment {
 				} else if (config.extendByDataNode == IF_INCOMING_AND_OUTGOING) {
 					boolean hasThrow = false;
 					for (Edge e : graph.incomingEdgesOf(node)) {
-						if (e.getType() == THROW && nodes.contains(graph.getEdgeSource(e))) {
+						if (e.getType() == THROW && contains(graph.getEdgeSource(e))) {
 							add(node, lens);
 							hasThrow = true;
 							break;
@@ -483,7 +555,7 @@ public class Fragment {
 						int count = 0;
 						Set<Node> outs = graph.outgoingNodesOf(node);
 						for (Node next : outs) {
-							if (nodes.contains(next)) {
+							if (contains(next)) {
 								count++;
 								if (count == 1)
 									break;
@@ -516,25 +588,12 @@ public class Fragment {
                 }
 			}
 		}
-//		Random r = new Random();
-//		for (String label : lens.keySet()) {
-//			HashSet<ArrayList<EGroumNode>> s = lens.get(label);
-//			if (s.size() > 50) {
-//				ArrayList<ArrayList<EGroumNode>> l = new ArrayList<>(s);
-//				s.clear();
-//				for (int i = 0; i < 50; i++) {
-//					int j = r.nextInt(l.size());
-//					s.add(l.get(j));
-//					l.remove(j);
-//				}
-//			}
-//		}
 		return lens;
 	}
 
     private boolean containsAnyOf(Set<Node> nodes) {
         for (Node n : nodes) {
-            if (this.nodes.contains(n)) {
+            if (contains(n)) {
                 return true;
             }
         }
@@ -546,7 +605,7 @@ public class Fragment {
     }
 
     private void add(Node node, HashMap<String, HashSet<ArrayList<Node>>> lens) {
-		String label = config.labelProvider.getLabel(node);
+		String label = labelProvider.getLabel(node);
 		HashSet<ArrayList<Node>> s = lens.computeIfAbsent(label, k -> new HashSet<>());
 		ArrayList<Node> l = new ArrayList<>();
 		l.add(node);
@@ -554,11 +613,36 @@ public class Fragment {
 	}
 
 	private void add(Node node, Node next, HashMap<String, HashSet<ArrayList<Node>>> lens) {
-		String label = config.labelProvider.getLabel(node) + "-" + config.labelProvider.getLabel(next);
+		String label = labelProvider.getLabel(node) + "-" + labelProvider.getLabel(next);
 		HashSet<ArrayList<Node>> s = lens.computeIfAbsent(label, k -> new HashSet<>());
 		ArrayList<Node> l = new ArrayList<>();
 		l.add(node);
 		l.add(next);
 		s.add(l);
 	}
+
+	private static final class NodeSetKey {
+		private final APIUsageExample graph;
+		private final long[] nodeBits;
+		private final int hash;
+
+		NodeSetKey(APIUsageExample graph, long[] nodeBits) {
+			this.graph = graph;
+			this.nodeBits = nodeBits;
+			this.hash = 31 * System.identityHashCode(graph) + Arrays.hashCode(nodeBits);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof NodeSetKey))
+				return false;
+			NodeSetKey other = (NodeSetKey) obj;
+			return graph == other.graph && Arrays.equals(nodeBits, other.nodeBits);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
 }
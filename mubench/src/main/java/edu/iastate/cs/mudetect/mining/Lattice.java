@@ -1,7 +1,14 @@
 package edu.iastate.cs.mudetect.mining;
 
+import de.tu_darmstadt.stg.mudetect.aug.model.Node;
+
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 /**
  * @author Nguyen Anh Hoan
  *
@@ -9,6 +16,13 @@ import java.util.HashSet;
 public class Lattice {
 	private int step;
 	private ArrayList<Pattern> patterns = new ArrayList<Pattern>();
+	/*
+	 * Indexes the patterns by the nodes of their fragments, such that containment queries only check the patterns
+	 * that have an occurrence on the same nodes. A pattern's fragments may be removed after it was added, but never
+	 * added, hence, the index yields a superset of the candidates and queries check each candidate in full.
+	 */
+	private HashMap<Node, ArrayList<Pattern>> patternsOfNode = new HashMap<>();
+	private HashMap<Pattern, ArrayList<Node>> indexedNodesOfPattern = new HashMap<>();
 
 	public int getStep() {
 		return step;
@@ -24,44 +38,159 @@ public class Lattice {
 	
 	public void add(Pattern p) {
 		patterns.add(p);
+		ArrayList<Node> indexedNodes = new ArrayList<>();
+		for (Fragment f : p.getFragments()) {
+			for (Node node : f.getNodes()) {
+				ArrayList<Pattern> ps = patternsOfNode.computeIfAbsent(node, k -> new ArrayList<>());
+				if (ps.isEmpty() || ps.get(ps.size() - 1) != p) {
+					ps.add(p);
+					indexedNodes.add(node);
+				}
+			}
+		}
+		indexedNodesOfPattern.put(p, indexedNodes);
 	}
 	
 	public void remove(Pattern p) {
 		patterns.remove(p);
+		ArrayList<Node> indexedNodes = indexedNodesOfPattern.remove(p);
+		if (indexedNodes != null) {
+			for (Node node : indexedNodes) {
+				ArrayList<Pattern> ps = patternsOfNode.get(node);
+				ps.remove(p);
+				if (ps.isEmpty())
+					patternsOfNode.remove(node);
+			}
+		}
 	}
 	
 	private boolean contains(Pattern pattern) {
-		for (Pattern p : patterns)
+		for (Pattern p : getCandidatePatterns(pattern.getFragments()))
 			if (p.contains(pattern))
 				return true;
 		return false;
 	}
 
 	private boolean contains(HashSet<Fragment> g) {
-		for (Pattern p : patterns)
+		for (Pattern p : getCandidatePatterns(g))
 			if (p.contains(g))
 				return true;
 		return false;
 	}
+
+	/**
+	 * @return the patterns that may contain all the given fragments, i.e., the patterns with an occurrence on the node
+	 * of the first fragment that occurs in the fewest patterns.
+	 */
+	private List<Pattern> getCandidatePatterns(HashSet<Fragment> fragments) {
+		Fragment first = null;
+		for (Fragment f : fragments) {
+			first = f;
+			break;
+		}
+		if (first == null)
+			return patterns;
+		List<Pattern> candidates = null;
+		for (Node node : first.getNodes()) {
+			ArrayList<Pattern> ps = patternsOfNode.get(node);
+			if (ps == null)
+				return Collections.emptyList();
+			if (candidates == null || ps.size() < candidates.size())
+				candidates = ps;
+		}
+		return candidates == null ? patterns : candidates;
+	}
 	
 	public static void filter(ArrayList<Lattice> lattices, int minPatternSize) {
-		for (int size = minPatternSize-1; size < lattices.size(); size++) {
-			Lattice l1 = lattices.get(size);
-			for (Pattern p1 : new ArrayList<Pattern>(l1.getPatterns())) {
-				boolean found = false;
-				for (int i = size; i < lattices.size(); i++) {
-					Lattice l2 = lattices.get(i);
-					for (Pattern p2 : l2.getPatterns()) {
-						if (p1 != p2 && p2.contains(p1)) {
-							l1.remove(p1);
-							found = true;
-							break;
-						}
+		filter(lattices, minPatternSize, 1);
+	}
+
+	/**
+	 * Removes every pattern that is contained in another pattern of the same or a larger size. Whether a pattern is
+	 * removed only depends on the patterns of its own lattice and on the unfiltered larger lattices, hence, the lattices
+	 * are filtered independently of each other, with up to the given number of threads, and the result is the same as
+	 * filtering them one after another, from small to large.
+	 */
+	public static void filter(ArrayList<Lattice> lattices, int minPatternSize, int parallelism) {
+		int firstSize = Math.max(minPatternSize - 1, 0);
+		HashMap<Pattern, int[]> labelIdsOfPattern = new HashMap<>();
+		for (int size = firstSize; size < lattices.size(); size++) {
+			for (Pattern p : lattices.get(size).getPatterns()) {
+				Fragment rep = p.getRepresentative();
+				labelIdsOfPattern.put(p, rep == null ? null : rep.getSortedLabelIds());
+			}
+		}
+		ArrayList<List<Pattern>> subsumed = new ArrayList<>();
+		if (parallelism > 1) {
+			ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				List<ForkJoinTask<List<Pattern>>> tasks = new ArrayList<>();
+				for (int size = firstSize; size < lattices.size(); size++) {
+					int s = size;
+					tasks.add(pool.submit(() -> getSubsumedPatterns(lattices, s, labelIdsOfPattern)));
+				}
+				for (ForkJoinTask<List<Pattern>> task : tasks) {
+					subsumed.add(task.join());
+				}
+			} finally {
+				pool.shutdown();
+			}
+		} else {
+			for (int size = firstSize; size < lattices.size(); size++) {
+				subsumed.add(getSubsumedPatterns(lattices, size, labelIdsOfPattern));
+			}
+		}
+		for (int size = firstSize; size < lattices.size(); size++) {
+			Lattice l = lattices.get(size);
+			for (Pattern p : subsumed.get(size - firstSize))
+				l.remove(p);
+		}
+	}
+
+	/**
+	 * Compares each pattern of the lattice of the given size only to the patterns of the same or larger size that have
+	 * an occurrence on the same nodes and whose labels include the pattern's labels. Patterns of the same lattice
+	 * that are found to be subsumed before are not compared to anymore.
+	 */
+	private static List<Pattern> getSubsumedPatterns(ArrayList<Lattice> lattices, int size, HashMap<Pattern, int[]> labelIdsOfPattern) {
+		Lattice l1 = lattices.get(size);
+		HashSet<Pattern> subsumed = new HashSet<>();
+		List<Pattern> result = new ArrayList<>();
+		for (Pattern p1 : l1.getPatterns()) {
+			int[] labelIds = labelIdsOfPattern.get(p1);
+			boolean found = false;
+			for (int i = size; i < lattices.size() && !found; i++) {
+				for (Pattern p2 : lattices.get(i).getCandidatePatterns(p1.getFragments())) {
+					if (p1 != p2 && !subsumed.contains(p2)
+							&& includesAll(labelIdsOfPattern.get(p2), labelIds) && p2.contains(p1)) {
+						found = true;
+						break;
 					}
-					if (found) break;
 				}
 			}
+			if (found) {
+				subsumed.add(p1);
+				result.add(p1);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return whether the first sorted multiset of label ids includes the second one, or whether one is unknown
+	 */
+	private static boolean includesAll(int[] labelIds, int[] otherLabelIds) {
+		if (labelIds == null || otherLabelIds == null)
+			return true;
+		int i = 0;
+		for (int labelId : otherLabelIds) {
+			while (i < labelIds.length && labelIds[i] < labelId)
+				i++;
+			if (i == labelIds.length || labelIds[i] != labelId)
+				return false;
+			i++;
 		}
+		return true;
 	}
 	
 	public static boolean contains(ArrayList<Lattice> lattices, Pattern p) {
@@ -5,13 +5,23 @@ package edu.iastate.cs.mudetect.mining;
 
 import de.tu_darmstadt.stg.mudetect.aug.model.*;
 import de.tu_darmstadt.stg.mudetect.aug.model.data.LiteralNode;
+import de.tu_darmstadt.stg.mudetect.aug.visitors.InterningAUGLabelProvider;
 import edu.iastate.cs.egroum.utils.FileIO;
 
 import java.io.File;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import static de.tu_darmstadt.stg.mudetect.aug.model.Edge.Type.DEFINITION;
 
@@ -23,6 +33,11 @@ public class Miner {
 	public static boolean EXTEND_SOURCE_DATA_NODES = true;
 	private String projectName;
 	private final Configuration config;
+	private InterningAUGLabelProvider labelProvider;
+	private MiningCounters counters;
+	private MiningBudget budget;
+	private Set<String> cutShortStartLabels = new TreeSet<>();
+	private Map<APIUsageGraph, Integer> augIndices;
 	public ArrayList<Lattice> lattices = new ArrayList<Lattice>();
 	public ArrayList<Anomaly> anomalies = new ArrayList<>();
 
@@ -31,12 +46,28 @@ public class Miner {
 		this.config = config;
 	}
 	
+	public MiningCounters getCounters() {
+		return counters;
+	}
+
+	/**
+	 * @return the start labels whose patterns were not or not fully extended in the last run, because a mining budget
+	 * was exhausted, see {@link Configuration#maxMiningTimeMillis}.
+	 */
+	public Set<String> getCutShortStartLabels() {
+		return cutShortStartLabels;
+	}
+
 	public String getProjectName() {
 		return projectName;
 	}
 
 	public Set<Pattern> mine(ArrayList<APIUsageExample> augs) {
-		augs.removeIf(new DenseAUGPredicate(config.labelProvider));
+		labelProvider = InterningAUGLabelProvider.of(config.labelProvider);
+		counters = new MiningCounters();
+		budget = new MiningBudget(config, counters);
+		cutShortStartLabels = new TreeSet<>();
+		augs.removeIf(new DenseAUGPredicate(labelProvider));
 		for (APIUsageExample aug : augs) {
 			//aug.deleteUnaryOperationNodes();
 			collapseLiterals(aug);
@@ -46,7 +77,7 @@ public class Miner {
 		for (APIUsageExample aug : augs) {
 			for (Node node : aug.vertexSet()) {
 				node.setGraph(aug);
-				String label = config.labelProvider.getLabel(node);
+				String label = labelProvider.getLabel(node);
 				HashSet<Node> nodes = nodesOfLabel.get(label);
 				if (nodes == null)
 					nodes = new HashSet<>();
@@ -81,9 +112,16 @@ public class Miner {
 		}
 
 		// Freezing the example graphs, to allow caching of hash values, which is relatively expensive to compute.
+		// The label ids of all remaining elements are computed once, such that mining compares ids instead of labels.
 		for (APIUsageExample aug : augs) {
 			aug.freeze();
+			labelProvider.internAll(aug);
 		}
+		// The positions of the example graphs order the start fragments, such that every run on the same graphs creates
+		// the fragments in the same order and, hence, with the same ids, see getExtensions().
+		augIndices = new IdentityHashMap<>();
+		for (int i = 0; i < augs.size(); i++)
+			augIndices.put(augs.get(i), i);
 
 		ArrayList<String> list = new ArrayList<>(nodesOfLabel.keySet());
 		list.sort((l1, l2) -> {
@@ -92,18 +130,22 @@ public class Miner {
                 return c2 - c1;
             return l2.compareTo(l1);
         });
-		for (String label : list) {
-			HashSet<Node> nodes = nodesOfLabel.get(label);
-			HashSet<Fragment> fragments = new HashSet<>();
-			for (Node node : nodes) {
-				Fragment f = new Fragment(node, config);
-				fragments.add(f);
-			}
-			Pattern p = new Pattern(fragments, fragments.size());
-			extend(p);
+		// Every start label is mined into its own lattices, which are merged in the order of the labels, such that the
+		// patterns do not depend on the number of threads or the order, in which the labels' mining finishes.
+		if (config.parallelism > 1) {
+			extendInParallel(list, nodesOfLabel);
+		} else {
+			for (String label : list)
+				merge(extend(label, nodesOfLabel.get(label)));
 		}
 		System.out.println("Done mining.");
-		Lattice.filter(lattices, config.minPatternSize);
+		System.out.println("Live fragments: " + counters.getNumberOfFragments()
+				+ " peak live fragments: " + counters.getPeakNumberOfFragments()
+				+ " created fragments: " + counters.getNumberOfCreatedFragments());
+		if (budget.getExhaustedBudget() != null)
+			System.out.println("Mining budget exhausted: " + budget.getExhaustedBudget()
+					+ " cut short start labels: " + cutShortStartLabels);
+		Lattice.filter(lattices, config.minPatternSize, config.parallelism);
 		System.out.println("Done filtering.");
 
 		report();
@@ -111,6 +153,79 @@ public class Miner {
 		return getPatterns();
 	}
 
+	private Pattern createStartPattern(HashSet<Node> nodes, MiningCounters counters) {
+		List<Node> sortedNodes = new ArrayList<>(nodes);
+		sortedNodes.sort(Comparator.comparingInt((Node node) -> augIndices.get(node.getGraph()))
+				.thenComparingInt(node -> node.getGraph().getCompactAdjacency().getNodeIndex(node)));
+		HashSet<Fragment> fragments = new HashSet<>();
+		for (Node node : sortedNodes) {
+			Fragment f = new Fragment(node, config, labelProvider, counters);
+			fragments.add(f);
+		}
+		return new Pattern(fragments, fragments.size(), counters);
+	}
+
+	/*
+	 * Extends the pattern of every start label in its own task and merges the tasks' patterns in the order of the
+	 * labels, as each task finishes.
+	 */
+	private void extendInParallel(ArrayList<String> labels, HashMap<String, HashSet<Node>> nodesOfLabel) {
+		ForkJoinPool pool = new ForkJoinPool(config.parallelism);
+		try {
+			List<ForkJoinTask<StartLabelPatterns>> tasks = new ArrayList<>();
+			for (String label : labels) {
+				tasks.add(pool.submit(() -> extend(label, nodesOfLabel.get(label))));
+			}
+			for (ForkJoinTask<StartLabelPatterns> task : tasks) {
+				merge(task.join());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/*
+	 * Extends the start pattern of the label into lattices of its own, with fragments numbered by counters of its own,
+	 * such that the label's patterns do not depend on the other start labels.
+	 */
+	private StartLabelPatterns extend(String label, HashSet<Node> nodes) {
+		StartLabelPatterns found = new StartLabelPatterns(counters.forStartLabel());
+		if (budget.isExhausted())
+			cutShort(label);
+		else
+			extend(createStartPattern(nodes, found.counters), label, new SupportCounter(config.occurenceLevel), found);
+		return found;
+	}
+
+	/*
+	 * Adds the patterns of a start label to the lattices, from the smallest to the largest, except for those that are
+	 * contained in a pattern found from a start label merged before, and adds the start label's anomalies.
+	 */
+	private void merge(StartLabelPatterns found) {
+		for (Lattice lattice : found.lattices) {
+			for (Pattern pattern : lattice.getPatterns()) {
+				if (Lattice.contains(lattices, pattern.getFragments()))
+					pattern.clear();
+				else
+					pattern.add2Lattice(lattices);
+			}
+		}
+		anomalies.addAll(found.anomalies);
+	}
+
+	/*
+	 * The patterns and anomalies found from one start label, before they are merged into those of the mining run.
+	 */
+	private static class StartLabelPatterns {
+		private final MiningCounters counters;
+		private final ArrayList<Lattice> lattices = new ArrayList<>();
+		private final ArrayList<Anomaly> anomalies = new ArrayList<>();
+
+		private StartLabelPatterns(MiningCounters counters) {
+			this.counters = counters;
+		}
+	}
+
 	private void collapseLiterals(APIUsageExample aug) {
 		Set<Node> toRemove = new HashSet<>();
 		for (Node node : aug.vertexSet()) {
@@ -177,7 +292,24 @@ public class Miner {
 		return patterns;
 	}
 
-	private void extend(Pattern pattern) {
+	private void cutShort(String startLabel) {
+		synchronized (cutShortStartLabels) {
+			cutShortStartLabels.add(startLabel);
+		}
+	}
+
+	/**
+	 * @param supportCounter the counter of this extension step, which may still know the frequency of the pattern's
+	 *                       fragments from the step before.
+	 * @param found          the patterns and anomalies found from the start label so far.
+	 */
+	private void extend(Pattern pattern, String startLabel, SupportCounter supportCounter, StartLabelPatterns found) {
+		ArrayList<Lattice> lattices = found.lattices;
+		if (budget.isExhausted()) {
+			cutShort(startLabel);
+			pattern.add2Lattice(lattices);
+			return;
+		}
 		int patternSize = 0;
 		if (pattern.getSize() >= config.maxPatternSize)
 			for(Node node : pattern.getRepresentative().getNodes())
@@ -200,21 +332,44 @@ public class Miner {
 			if (fens.size() < config.minPatternSupport)
 				labelFragmentExtendableNodes.remove(label);
 		}
-		HashSet<Fragment> group = new HashSet<>(), frequentFragments = new HashSet<>();
+		// the extensions are owned by this call, until the best group of them is passed on to the extended pattern
+		HashSet<Fragment> extensions = new HashSet<>();
+		HashSet<Fragment> group = new HashSet<>(), frequentFragments = new HashSet<>(), sampledGens = new HashSet<>();
 		int xfreq = config.minPatternSupport - 1;
 		String xlabel = "";
 		boolean extensible = false;
 		for (String label : labelFragmentExtendableNodes.keySet()) {
+			if (budget.isExhausted()) {
+				cutShort(startLabel);
+				release(extensions);
+				pattern.add2Lattice(lattices);
+				return;
+			}
 			HashMap<Fragment, HashSet<ArrayList<Node>>> fens = labelFragmentExtendableNodes.get(label);
+			List<Map.Entry<Fragment, ArrayList<Node>>> xns = getExtensions(fens);
 			HashSet<Fragment> xfs = new HashSet<>();
-			for (Fragment f : fens.keySet()) {
-				for (ArrayList<Node> ens : fens.get(f)) {
-					Fragment xf = new Fragment(f, ens);
-					xfs.add(xf);
-				}
+			double scale = 1;
+			if (xns.size() > config.maxExtensionsPerLabel) {
+				for (Map.Entry<Fragment, ArrayList<Node>> extension : sampleExtensions(label, xns))
+					xfs.add(new Fragment(extension.getKey(), extension.getValue()));
+				scale = (double) xns.size() / xfs.size();
+			} else {
+				for (Map.Entry<Fragment, ArrayList<Node>> extension : xns)
+					xfs.add(new Fragment(extension.getKey(), extension.getValue()));
 			}
+			extensions.addAll(xfs);
 			HashSet<Fragment> g = new HashSet<>();
-			int freq = mine(g, xfs, pattern, frequentFragments);
+			int numberOfFrequentFragments = frequentFragments.size();
+			int freq = mine(g, xfs, pattern, frequentFragments, scale, supportCounter, lattices);
+			// the fragments that were not sampled are as extensible as the sampled ones
+			if (scale > 1 && frequentFragments.size() > numberOfFrequentFragments)
+				sampledGens.addAll(fens.keySet());
+			if (scale > 1 && freq >= config.minPatternSupport && isBetter(freq, label, xfreq, xlabel)) {
+				// the frequency is estimated from the sample, but the extended pattern consists of the extensions of
+				// all occurrences and has their frequency
+				g = getCompleteGroup(g, xns, extensions);
+				freq = Lattice.contains(lattices, g) ? -1 : supportCounter.getFrequency(g);
+			}
 			System.out.println("\tTrying with label " + label + ": " + xfs.size() + "\t" + freq + "\t" + xfreq);
 			if (freq >= config.minPatternSupport && isBetter(freq, label, xfreq, xlabel)) {
 				extensible = true;
@@ -230,11 +385,14 @@ public class Miner {
 			for (Fragment xf : frequentFragments) {
 				inextensibles.remove(xf.getGenFragment());
 			}
+			inextensibles.removeAll(sampledGens);
+			extensions.removeAll(group);
+			release(extensions);
 			Pattern ip = null;
 			if (inextensibles.size() >= config.minPatternSupport) {
-				int freq = computeFrequency(inextensibles);
+				int freq = supportCounter.getFrequency(inextensibles);
 				if (freq >= config.minPatternSupport && !Lattice.contains(lattices, inextensibles)) {
-					ip = new Pattern(inextensibles, freq);
+					ip = new Pattern(inextensibles, freq, found.counters);
 					ip.subPattern = pattern.subPattern;
 					ip.add2Lattice(lattices);
 					pattern.getFragments().removeAll(inextensibles);
@@ -242,10 +400,11 @@ public class Miner {
 			} else if (xfreq >= config.minPatternSupport && !inextensibles.isEmpty() /*&& inextensibles.size() <= 2*/){
 				// report anomalies
 				double rareness = 1 - inextensibles.size() * 1.0 / pattern.getFreq();
-				anomalies.add(new Anomaly(rareness, pattern.getFreq(), inextensibles, group));
+				Anomaly anomaly = new Anomaly(rareness, pattern.getFreq(), inextensibles, group);
+				found.anomalies.add(anomaly);
 			}
 			if (xfreq >= config.minPatternSupport) {
-				Pattern xp = new Pattern(group, xfreq);
+				Pattern xp = new Pattern(group, xfreq, found.counters);
 				ArrayList<String> labels = new ArrayList<>();
 				Fragment rep = null, xrep = null;
 				for (Fragment f : group) {
@@ -258,7 +417,7 @@ public class Miner {
 				}
 				if (rep != null && xrep != null) {
 					for (int j = rep.getNodes().size(); j < xrep.getNodes().size(); j++)
-						labels.add(config.labelProvider.getLabel(xrep.getNodes().get(j)));
+						labels.add(labelProvider.getLabel(xrep.getNodes().get(j)));
 					System.out.println("{Extending pattern of size " + rep.getNodes().size()
 							+ " " + rep.getNodes()
 							+ " occurences: " + pattern.getFragments().size()
@@ -266,20 +425,30 @@ public class Miner {
 							+ " with label " + labels
 							+ " occurences: " + group.size()
 							+ " frequency: " + xfreq
-							+ " patterns: " + Pattern.nextID 
-							+ " fragments: " + Fragment.numofFragments 
-							+ " next fragment: " + Fragment.nextFragmentId);
+							+ " patterns: " + counters.getNextPatternId()
+							+ " fragments: " + counters.getNumberOfFragments()
+							+ " peak fragments: " + counters.getPeakNumberOfFragments()
+							+ " bucket collisions: " + counters.getNumberOfBucketCollisions()
+							+ " created fragments: " + counters.getNumberOfCreatedFragments());
 				}
 				if (ip == null)
 					xp.subPattern = pattern.subPattern;
 				else
 					xp.subPattern = ip;
-				extend(xp);
+				supportCounter.retainOnly(group);
+				extend(xp, startLabel, supportCounter, found);
 				System.out.println("}");
 			}
 			pattern.clear();
-		} else
+		} else {
+			release(extensions);
 			pattern.add2Lattice(lattices);
+		}
+	}
+
+	private static void release(Set<Fragment> fragments) {
+		for (Fragment f : fragments)
+			f.delete();
 	}
 
 	private boolean isBetter(int freq, String label, int xfreq, String xlabel) {
@@ -298,7 +467,80 @@ public class Miner {
 		return label.compareTo(xlabel) > 0;
 	}
 
-	private int mine(HashSet<Fragment> result, HashSet<Fragment> fragments, Pattern pattern, HashSet<Fragment> frequentFragments) {
+	/**
+	 * Lists the extensions of the fragments, ordered by the fragments' ids and the indices of the extension nodes in the
+	 * fragments' graphs. Since the start fragments are created in the order of their nodes, every run on the same
+	 * graphs creates and samples the extended fragments in the same order and, hence, with the same ids.
+	 */
+	private static List<Map.Entry<Fragment, ArrayList<Node>>> getExtensions(HashMap<Fragment, HashSet<ArrayList<Node>>> fens) {
+		List<Map.Entry<Fragment, ArrayList<Node>>> extensions = new ArrayList<>();
+		for (Map.Entry<Fragment, HashSet<ArrayList<Node>>> fen : fens.entrySet()) {
+			for (ArrayList<Node> ens : fen.getValue())
+				extensions.add(new AbstractMap.SimpleImmutableEntry<>(fen.getKey(), ens));
+		}
+		extensions.sort(Comparator.comparingInt((Map.Entry<Fragment, ArrayList<Node>> extension) -> extension.getKey().getId())
+				.thenComparing(Miner::compareNodeIndices));
+		return extensions;
+	}
+
+	private static int compareNodeIndices(Map.Entry<Fragment, ArrayList<Node>> extension1, Map.Entry<Fragment, ArrayList<Node>> extension2) {
+		CompactAdjacency adjacency = extension1.getKey().getGraph().getCompactAdjacency();
+		ArrayList<Node> ens1 = extension1.getValue(), ens2 = extension2.getValue();
+		for (int i = 0; i < ens1.size() && i < ens2.size(); i++) {
+			int c = Integer.compare(adjacency.getNodeIndex(ens1.get(i)), adjacency.getNodeIndex(ens2.get(i)));
+			if (c != 0)
+				return c;
+		}
+		return Integer.compare(ens1.size(), ens2.size());
+	}
+
+	/**
+	 * Creates the extended fragments of all the extensions that have the same vector as the group of fragments of
+	 * sampled extensions and adds them to the given extensions.
+	 */
+	private HashSet<Fragment> getCompleteGroup(HashSet<Fragment> sampledGroup, List<Map.Entry<Fragment, ArrayList<Node>>> xns, HashSet<Fragment> extensions) {
+		ExasVector vector = sampledGroup.iterator().next().getVector();
+		HashSet<Fragment> group = new HashSet<>();
+		for (Map.Entry<Fragment, ArrayList<Node>> extension : xns) {
+			Fragment xf = new Fragment(extension.getKey(), extension.getValue());
+			if (xf.getVector().equals(vector)) {
+				group.add(xf);
+			} else {
+				xf.delete();
+			}
+		}
+		extensions.addAll(group);
+		removeDuplicates(group);
+		return group;
+	}
+
+	/**
+	 * Draws a uniform sample of {@link Configuration#maxExtensionsPerLabel} of the extensions by the given label, by
+	 * reservoir sampling in the order of the extensions.
+	 */
+	private List<Map.Entry<Fragment, ArrayList<Node>>> sampleExtensions(String label, List<Map.Entry<Fragment, ArrayList<Node>>> extensions) {
+		Random random = new Random(config.extensionSamplingSeed * 31 + label.hashCode());
+		int sampleSize = config.maxExtensionsPerLabel;
+		List<Map.Entry<Fragment, ArrayList<Node>>> sample = new ArrayList<>(sampleSize);
+		int numberOfExtensions = 0;
+		for (Map.Entry<Fragment, ArrayList<Node>> extension : extensions) {
+			numberOfExtensions++;
+			if (sample.size() < sampleSize) {
+				sample.add(extension);
+			} else {
+				int i = random.nextInt(numberOfExtensions);
+				if (i < sampleSize)
+					sample.set(i, extension);
+			}
+		}
+		return sample;
+	}
+
+	/**
+	 * @param scale the ratio of the number of all extensions to the number of the given fragments, if the fragments are
+	 *              a sample, by which the frequencies within the sample are scaled to estimate the frequencies.
+	 */
+	private int mine(HashSet<Fragment> result, HashSet<Fragment> fragments, Pattern pattern, HashSet<Fragment> frequentFragments, double scale, SupportCounter supportCounter, ArrayList<Lattice> lattices) {
 		HashMap<Integer, HashSet<Fragment>> buckets = new HashMap<>();
 		for (Fragment f : fragments) {
 			int h = f.getVectorHashCode();
@@ -308,13 +550,13 @@ public class Miner {
 		HashSet<HashSet<Fragment>> groups = new HashSet<>();
 		for (int h : buckets.keySet()) {
 			HashSet<Fragment> bucket = buckets.get(h);
-			group(groups, bucket);
+			group(groups, bucket, scale);
 		}
 		HashSet<Fragment> group = new HashSet<>();
 		int xfreq = config.minPatternSupport - 1;
 		boolean extensible = false;
 		for (HashSet<Fragment> g : groups) {
-			int freq = computeFrequency(g);
+			int freq = (int) Math.round(supportCounter.getFrequency(g) * scale);
 			if (freq >= config.minPatternSupport)
 				frequentFragments.addAll(g);
 			if (freq > xfreq) {
@@ -331,88 +573,42 @@ public class Miner {
 		return xfreq;
 	}
 
-	private int computeFrequency(HashSet<Fragment> fragments) {
-		HashSet<String> projectNames = new HashSet<>();
-		HashMap<APIUsageGraph, ArrayList<Fragment>> fragmentsOfGraph = new HashMap<>();
-		for (Fragment f : fragments) {
-			APIUsageExample g = f.getGraph();
-			projectNames.add(g.getLocation().getProjectName());
-			ArrayList<Fragment> fs = fragmentsOfGraph.get(g);
-			if (fs == null)
-				fs = new ArrayList<>();
-			fs.add(f);
-			fragmentsOfGraph.put(g, fs);
+	/**
+	 * Partitions the bucket by the fragments' vectors, such that every group consists of the fragments with the same
+	 * vector.
+	 */
+	private void group(HashSet<HashSet<Fragment>> groups, HashSet<Fragment> bucket, double scale) {
+		HashMap<ExasVector, HashSet<Fragment>> groupsByVector = new HashMap<>();
+		for (Fragment f : bucket) {
+			groupsByVector.computeIfAbsent(f.getVector(), k -> new HashSet<>()).add(f);
 		}
-		if (config.occurenceLevel == Configuration.Level.CROSS_PROJECT)
-			return projectNames.size();
-		if (config.occurenceLevel == Configuration.Level.CROSS_METHOD)
-			return fragmentsOfGraph.size();
-		int freq = 0;
-		for (APIUsageGraph g : fragmentsOfGraph.keySet()) {
-			ArrayList<Fragment> fs = fragmentsOfGraph.get(g);
-			int i = 0;
-			while (i < fs.size()) {
-				Fragment f = fs.get(i);
-				int j = i + 1;
-				while (j < fs.size()) {
-					if (f.overlap(fs.get(j))) {
-						fs.remove(j);
-					}
-					else
-						j++;
-				}
-				i++;
-			}
-			freq += i;
-		}	
-		return freq;
-	}
-
-	private void group(HashSet<HashSet<Fragment>> groups, HashSet<Fragment> bucket) {
-		while (!bucket.isEmpty()) {
-			Fragment f = null;
-			for (Fragment fragment : bucket) {
-				f = fragment;
-				break;
-			}
-			group(f, groups, bucket);
+		counters.bucketCollisions(groupsByVector.size() - 1);
+		for (HashSet<Fragment> group : groupsByVector.values()) {
+			addIfFrequent(group, groups, scale);
 		}
 	}
 
-	private void group(Fragment f, HashSet<HashSet<Fragment>> groups, HashSet<Fragment> bucket) {
-		HashSet<Fragment> group = new HashSet<>();
+	private void addIfFrequent(HashSet<Fragment> group, HashSet<HashSet<Fragment>> groups, double scale) {
 		HashSet<Fragment> gens = new HashSet<>();
-		group.add(f);
-		gens.add(f.getGenFragment());
-		bucket.remove(f);
-		for (Fragment g : new HashSet<Fragment>(bucket)) {
-			if (f.getVector().equals(g.getVector())) {
-				group.add(g);
-				gens.add(g.getGenFragment());
-				bucket.remove(g);
-			}
+		for (Fragment f : group) {
+			gens.add(f.getGenFragment());
 		}
-		if (gens.size() >= config.minPatternSupport && group.size() >= config.minPatternSupport) {
+		if (isFrequent(gens.size(), scale) && isFrequent(group.size(), scale)) {
 			removeDuplicates(group);
-			if (group.size() >= config.minPatternSupport)
+			if (isFrequent(group.size(), scale))
 				groups.add(group);
 		}
 	}
 
+	private boolean isFrequent(int numberOfOccurrences, double scale) {
+		return numberOfOccurrences * scale >= config.minPatternSupport;
+	}
+
+	/**
+	 * Keeps only one of every set of fragments that are the same as each other, see {@link Fragment#isSameAs(Fragment)}.
+	 */
 	private void removeDuplicates(HashSet<Fragment> group) {
-		ArrayList<Fragment> l = new ArrayList<>(group);
-		int i = 0;
-		while (i < l.size() - 1) {
-			Fragment f = l.get(i);
-			int j = i + 1;
-			while (j < l.size()) {
-				if (f.isSameAs(l.get(j)))
-					l.remove(j);
-				else
-					j++;
-			}
-			i++;
-		}
-		group.retainAll(l);
+		HashSet<Object> nodeSets = new HashSet<>();
+		group.removeIf(f -> !nodeSets.add(f.getNodeSetKey()));
 	}
 }
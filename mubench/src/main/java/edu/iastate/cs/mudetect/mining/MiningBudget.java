@@ -0,0 +1,51 @@
+package edu.iastate.cs.mudetect.mining;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the time, fragment, and heap budgets of a single mining run, see {@link Configuration#maxMiningTimeMillis},
+ * {@link Configuration#maxNumberOfFragments}, and {@link Configuration#maxHeapUsage}. Once a budget is exhausted, the
+ * budget remains exhausted for the rest of the run. The budget may be checked from multiple threads.
+ */
+class MiningBudget {
+    private final MiningCounters counters;
+    private final boolean hasDeadline;
+    private final long deadline;
+    private final int maxNumberOfFragments;
+    private final double maxHeapUsage;
+    private volatile String exhaustedBudget = null;
+
+    MiningBudget(Configuration config, MiningCounters counters) {
+        this.counters = counters;
+        this.hasDeadline = config.maxMiningTimeMillis < Long.MAX_VALUE;
+        this.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.maxMiningTimeMillis);
+        this.maxNumberOfFragments = config.maxNumberOfFragments;
+        this.maxHeapUsage = config.maxHeapUsage;
+    }
+
+    boolean isExhausted() {
+        if (exhaustedBudget != null) {
+            return true;
+        }
+        if (hasDeadline && System.nanoTime() - deadline >= 0) {
+            exhaustedBudget = "time";
+        } else if (counters.getNumberOfCreatedFragments() >= maxNumberOfFragments) {
+            exhaustedBudget = "fragments";
+        } else if (maxHeapUsage < 1 && getHeapUsage() >= maxHeapUsage) {
+            exhaustedBudget = "heap";
+        }
+        return exhaustedBudget != null;
+    }
+
+    /**
+     * @return the name of the budget that was exhausted first, or <code>null</code>, if none was exhausted.
+     */
+    String getExhaustedBudget() {
+        return exhaustedBudget;
+    }
+
+    private static double getHeapUsage() {
+        Runtime runtime = Runtime.getRuntime();
+        return (double) (runtime.totalMemory() - runtime.freeMemory()) / runtime.maxMemory();
+    }
+}
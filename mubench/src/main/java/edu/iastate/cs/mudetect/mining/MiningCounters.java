@@ -0,0 +1,91 @@
+package edu.iastate.cs.mudetect.mining;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of a single mining run, shared by all fragments and patterns of the run. The counters may be updated from
+ * multiple threads.
+ */
+public class MiningCounters {
+    private final AtomicInteger nextFragmentId = new AtomicInteger(1);
+    private final AtomicInteger numberOfCreatedFragments;
+    private final AtomicInteger numberOfFragments;
+    private final AtomicInteger peakNumberOfFragments;
+    private final AtomicInteger nextPatternId;
+    private final AtomicLong bucketCollisions;
+
+    public MiningCounters() {
+        this(new AtomicInteger(), new AtomicInteger(), new AtomicInteger(), new AtomicInteger(1), new AtomicLong());
+    }
+
+    private MiningCounters(AtomicInteger numberOfCreatedFragments, AtomicInteger numberOfFragments,
+                           AtomicInteger peakNumberOfFragments, AtomicInteger nextPatternId, AtomicLong bucketCollisions) {
+        this.numberOfCreatedFragments = numberOfCreatedFragments;
+        this.numberOfFragments = numberOfFragments;
+        this.peakNumberOfFragments = peakNumberOfFragments;
+        this.nextPatternId = nextPatternId;
+        this.bucketCollisions = bucketCollisions;
+    }
+
+    /**
+     * @return counters that share all counts with these counters, but number their fragments from 1 again, such that
+     * the fragment ids of the patterns of a start label do not depend on the start labels mined before or concurrently.
+     */
+    MiningCounters forStartLabel() {
+        return new MiningCounters(numberOfCreatedFragments, numberOfFragments, peakNumberOfFragments, nextPatternId,
+                bucketCollisions);
+    }
+
+    int newFragmentId() {
+        numberOfCreatedFragments.incrementAndGet();
+        int numberOfLiveFragments = numberOfFragments.incrementAndGet();
+        peakNumberOfFragments.accumulateAndGet(numberOfLiveFragments, Math::max);
+        return nextFragmentId.getAndIncrement();
+    }
+
+    void fragmentDeleted() {
+        numberOfFragments.decrementAndGet();
+    }
+
+    int newPatternId() {
+        return nextPatternId.getAndIncrement();
+    }
+
+    void bucketCollisions(int numberOfCollisions) {
+        bucketCollisions.addAndGet(numberOfCollisions);
+    }
+
+    /**
+     * @return the number of fragments that were created, including those released since.
+     */
+    public int getNumberOfCreatedFragments() {
+        return numberOfCreatedFragments.get();
+    }
+
+    /**
+     * @return the number of fragments that were created, but not yet released, see {@link Fragment#delete()}.
+     */
+    public int getNumberOfFragments() {
+        return numberOfFragments.get();
+    }
+
+    /**
+     * @return the maximum number of fragments that were created, but not yet released, at the same time.
+     */
+    public int getPeakNumberOfFragments() {
+        return peakNumberOfFragments.get();
+    }
+
+    public int getNextPatternId() {
+        return nextPatternId.get();
+    }
+
+    /**
+     * @return the number of times fragments with different Exas vectors fell into the same bucket while grouping
+     * fragments, i.e., the number of distinct vectors in a bucket besides the first one.
+     */
+    public long getNumberOfBucketCollisions() {
+        return bucketCollisions.get();
+    }
+}
@@ -11,7 +11,7 @@ import java.util.HashSet;
  *
  */
 public class Pattern {
-	public static int nextID = 1;
+	private final MiningCounters counters;
 	private int id;
 	private int size = 0;
 	private Fragment representative;
@@ -19,7 +19,8 @@ public class Pattern {
 	private HashSet<Fragment> fragments = new HashSet<Fragment>();
 	protected Pattern subPattern;
 	
-	public Pattern(HashSet<Fragment> group, int freq) {
+	public Pattern(HashSet<Fragment> group, int freq, MiningCounters counters) {
+		this.counters = counters;
 		fragments = group;
 		for (Fragment f : fragments) {
 			size = f.getNodes().size();
@@ -52,7 +53,7 @@ public class Pattern {
 	}
 	
 	public void setId() {
-		this.id = nextID++;
+		this.id = counters.newPatternId();
 	}
 
 	public int getSize() {
@@ -113,15 +114,13 @@ public class Pattern {
 		return true;
 	}
 
+	/**
+	 * Releases the pattern's fragments, once the pattern is discarded or replaced by its extension.
+	 */
 	public void clear() {
 		this.representative = null;
 		for (Fragment f : this.fragments)
 			f.delete();
 		this.fragments.clear();
 	}
-	
-	@Override
-	protected void finalize() throws Throwable {
-		clear();
-	}
 }
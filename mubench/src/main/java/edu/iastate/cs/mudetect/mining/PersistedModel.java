@@ -0,0 +1,54 @@
+package edu.iastate.cs.mudetect.mining;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.patterns.APIUsagePattern;
+import de.tu_darmstadt.stg.mudetect.aug.persistence.BinaryAUGReader;
+import de.tu_darmstadt.stg.mudetect.aug.persistence.BinaryAUGWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A model stored on disk, such that detection may run against previously mined patterns without mining again. The
+ * patterns are stored with their support, example locations, and aggregated data nodes.
+ */
+public class PersistedModel implements Model {
+    private final Set<APIUsagePattern> patterns;
+
+    private PersistedModel(Set<APIUsagePattern> patterns) {
+        this.patterns = Collections.unmodifiableSet(patterns);
+    }
+
+    public static void write(Model model, Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BinaryAUGWriter writer = new BinaryAUGWriter(Files.newOutputStream(file))) {
+            for (APIUsagePattern pattern : model.getPatterns()) {
+                writer.write(pattern);
+            }
+        }
+    }
+
+    public static PersistedModel read(Path file) throws IOException {
+        Set<APIUsagePattern> patterns = new HashSet<>();
+        try (BinaryAUGReader<APIUsagePattern> reader =
+                     new BinaryAUGReader<>(Files.newInputStream(file), APIUsagePattern.class)) {
+            APIUsagePattern pattern;
+            while ((pattern = reader.read()) != null) {
+                pattern.freeze();
+                patterns.add(pattern);
+            }
+        }
+        return new PersistedModel(patterns);
+    }
+
+    @Override
+    public Set<APIUsagePattern> getPatterns() {
+        return patterns;
+    }
+}
@@ -0,0 +1,88 @@
+package edu.iastate.cs.mudetect.mining;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
+
+import java.util.*;
+
+/**
+ * Computes the frequency of groups of fragments of a single extension step, with respect to the configured occurrence
+ * level. Within methods, the occurrences of a group are counted greedily in the group's iteration order: an occurrence
+ * counts, unless it shares an action node with an occurrence counted before. The action nodes claimed by the counted
+ * occurrences are kept in a bitset per graph, such that every occurrence is checked only once.
+ *
+ * The frequency of every evaluated group is cached by the ids of its fragments, such that a group that is evaluated
+ * again, such as the inextensible occurrences of a pattern that could not be extended at all, is not counted again.
+ * Before the next step, the cache is cut down to the group that is extended, see {@link #retainOnly(Set)}, such that it
+ * never holds more than the groups of one step. The counter is not thread-safe.
+ */
+class SupportCounter {
+    private final Configuration.Level occurenceLevel;
+    private final Map<FragmentSetKey, Integer> frequencies = new HashMap<>();
+
+    SupportCounter(Configuration.Level occurenceLevel) {
+        this.occurenceLevel = occurenceLevel;
+    }
+
+    int getFrequency(Set<Fragment> fragments) {
+        return frequencies.computeIfAbsent(new FragmentSetKey(fragments), key -> computeFrequency(fragments));
+    }
+
+    /**
+     * Drops the cached frequencies of all groups but the given one.
+     */
+    void retainOnly(Set<Fragment> fragments) {
+        frequencies.keySet().retainAll(Collections.singleton(new FragmentSetKey(fragments)));
+    }
+
+    private int computeFrequency(Set<Fragment> fragments) {
+        if (occurenceLevel == Configuration.Level.CROSS_PROJECT) {
+            Set<String> projectNames = new HashSet<>();
+            for (Fragment f : fragments) {
+                projectNames.add(f.getGraph().getLocation().getProjectName());
+            }
+            return projectNames.size();
+        }
+        if (occurenceLevel == Configuration.Level.CROSS_METHOD) {
+            Set<APIUsageExample> graphs = new HashSet<>();
+            for (Fragment f : fragments) {
+                graphs.add(f.getGraph());
+            }
+            return graphs.size();
+        }
+        Map<APIUsageExample, long[]> claimedNodesOfGraph = new HashMap<>();
+        int freq = 0;
+        for (Fragment f : fragments) {
+            long[] claimedNodes = claimedNodesOfGraph.computeIfAbsent(f.getGraph(), g -> f.newNodeBits());
+            if (!f.sharesActionNodeWith(claimedNodes)) {
+                f.addNodesTo(claimedNodes);
+                freq++;
+            }
+        }
+        return freq;
+    }
+
+    private static final class FragmentSetKey {
+        private final int[] fragmentIds;
+        private final int hash;
+
+        FragmentSetKey(Set<Fragment> fragments) {
+            fragmentIds = new int[fragments.size()];
+            int i = 0;
+            for (Fragment f : fragments) {
+                fragmentIds[i++] = f.getId();
+            }
+            Arrays.sort(fragmentIds);
+            hash = Arrays.hashCode(fragmentIds);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof FragmentSetKey && Arrays.equals(fragmentIds, ((FragmentSetKey) obj).fragmentIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package de.tu_darmstadt.stg.mubench;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
+import de.tu_darmstadt.stg.mudetect.aug.model.Location;
+import edu.iastate.cs.egroum.aug.AUGBuilder;
+import edu.iastate.cs.egroum.aug.AUGConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class DeclaringTypesCollectorTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void collectsFullyQualifiedDeclaringTypesByAUGLocation() throws IOException {
+        Path src = folder.getRoot().toPath();
+        write(src, "p/List.java", "package p; public class List { public void add() {} }");
+        write(src, "q/List.java", "package q; public class List { public void add() {} }");
+        write(src, "r/C.java", "package r; class C {" +
+                "  void m(p.List l) { l.add(); }" +
+                "  void n(q.List l) { l.add(); }" +
+                "  class D { void o() { new q.List(); } }" +
+                "}");
+        String clientPath = src.resolve("r/C.java").toFile().getAbsolutePath();
+        DeclaringTypesCollector collector = new DeclaringTypesCollector();
+        AUGBuilder builder = new AUGBuilder(new AUGConfiguration());
+        builder.addASTRequestor(collector);
+        List<Location> locations = new ArrayList<>();
+
+        builder.build(new String[]{src.toString()}, new String[0], (APIUsageExample aug) -> locations.add(aug.getLocation()));
+
+        assertThat(collector.getDeclaringTypes(new Location("", clientPath, "m(List)")), contains("p.List"));
+        assertThat(collector.getDeclaringTypes(new Location("", clientPath, "n(List)")), contains("q.List"));
+        assertThat(collector.getDeclaringTypes(new Location("", clientPath, "o()")), contains("q.List"));
+        assertThat(collector.getDeclaringTypes(new Location("", clientPath, "unknown()")), is(empty()));
+        for (Location location : locations) {
+            if (location.getFilePath().equals(clientPath)) {
+                assertThat(collector.getDeclaringTypes(location).isEmpty(), is(false));
+            }
+        }
+    }
+
+    private static void write(Path root, String relativePath, String code) throws IOException {
+        Path file = root.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.write(file, code.getBytes());
+    }
+}
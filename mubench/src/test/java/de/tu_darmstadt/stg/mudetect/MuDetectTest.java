@@ -13,10 +13,7 @@ import org.jmock.integration.junit4.JUnitRuleMockery;
 import org.junit.Rule;
 import org.junit.Test;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.function.BiFunction;
 
 import static de.tu_darmstadt.stg.mudetect.aug.model.TestAUGBuilder.someAUG;
@@ -48,6 +45,8 @@ public class MuDetectTest {
 
         context.checking(new Expectations() {{
             oneOf(model).getPatterns(); will(returnValue(Collections.singleton(pattern)));
+            allowing(overlapsFinder).indexPatterns(Collections.singleton(pattern));
+            will(returnValue(PatternIndex.all(Collections.singleton(pattern))));
             oneOf(overlapsFinder).findOverlaps(target, pattern); will(returnValue(singletonList(overlap)));
             oneOf(violationPredicate).apply(overlap); will(returnValue(Optional.of(true)));
         }});
@@ -69,6 +68,8 @@ public class MuDetectTest {
 
         context.checking(new Expectations() {{
             oneOf(model).getPatterns(); will(returnValue(Collections.singleton(pattern)));
+            allowing(overlapsFinder).indexPatterns(Collections.singleton(pattern));
+            will(returnValue(PatternIndex.all(Collections.singleton(pattern))));
             oneOf(overlapsFinder).findOverlaps(target, pattern); will(returnValue(singletonList(overlap)));
             allowing(violationPredicate).apply(with(any(Overlap.class))); will(returnValue(Optional.of(false)));
         }});
@@ -78,4 +79,62 @@ public class MuDetectTest {
 
         assertThat(violations, is(empty()));
     }
+
+    @Test
+    public void findsSameViolationsInParallel() {
+        final Set<APIUsagePattern> patterns = new HashSet<>();
+        final List<APIUsageExample> targets = new ArrayList<>();
+        final Map<APIUsageExample, Map<APIUsagePattern, Overlap>> overlaps = new HashMap<>();
+        for (int i = 0; i < 5; i++) {
+            patterns.add(somePattern());
+            targets.add(someAUG());
+        }
+        for (APIUsageExample target : targets) {
+            for (APIUsagePattern pattern : patterns) {
+                overlaps.computeIfAbsent(target, t -> new HashMap<>()).put(pattern, someOverlap(pattern, target));
+            }
+        }
+        final Set<Overlap> violatingOverlaps = new HashSet<>();
+        int index = 0;
+        for (Map<APIUsagePattern, Overlap> overlapsByPattern : overlaps.values()) {
+            for (Overlap overlap : overlapsByPattern.values()) {
+                if (index++ % 2 == 0) violatingOverlaps.add(overlap);
+            }
+        }
+        final Model model = () -> patterns;
+        final OverlapsFinder overlapsFinder = (target, pattern) -> singletonList(overlaps.get(target).get(pattern));
+        final ViolationPredicate violationPredicate = overlap -> Optional.of(violatingOverlaps.contains(overlap));
+        final BiFunction<Overlaps, Model, List<Violation>> rankingStrategy = new NoRankingStrategy()::rankViolations;
+
+        List<Violation> sequentialViolations =
+                new MuDetect(model, overlapsFinder, violationPredicate, rankingStrategy).findViolations(targets);
+        List<Violation> parallelViolations =
+                new MuDetect(model, overlapsFinder, violationPredicate, rankingStrategy, 4).findViolations(targets);
+
+        assertThat(sequentialViolations, hasSize(violatingOverlaps.size()));
+        assertThat(parallelViolations, contains(sequentialViolations.toArray()));
+    }
+
+    @Test
+    public void skipsPatternsThatAreNoCandidates() {
+        final APIUsagePattern pattern = somePattern();
+        final APIUsagePattern otherPattern = somePattern();
+        final APIUsageExample target = someAUG();
+        final Set<APIUsagePattern> patterns = new HashSet<>(Arrays.asList(pattern, otherPattern));
+        final Overlap overlap = someOverlap(pattern, target);
+        final BiFunction<Overlaps, Model, List<Violation>> rankingStrategy = new NoRankingStrategy()::rankViolations;
+
+        context.checking(new Expectations() {{
+            oneOf(model).getPatterns(); will(returnValue(patterns));
+            oneOf(overlapsFinder).indexPatterns(patterns); will(returnValue((PatternIndex) t -> singletonList(pattern)));
+            oneOf(overlapsFinder).findOverlaps(target, pattern); will(returnValue(singletonList(overlap)));
+            never(overlapsFinder).findOverlaps(target, otherPattern);
+            oneOf(violationPredicate).apply(overlap); will(returnValue(Optional.of(true)));
+        }});
+
+        MuDetect muDetect = new MuDetect(model, overlapsFinder, violationPredicate, rankingStrategy);
+        List<Violation> violations = muDetect.findViolations(singletonList(target));
+
+        assertThat(violations, hasSize(1));
+    }
 }
@@ -0,0 +1,45 @@
+package de.tu_darmstadt.stg.mudetect.overlapsfinder;
+
+import de.tu_darmstadt.stg.mudetect.PatternIndex;
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
+import de.tu_darmstadt.stg.mudetect.aug.model.actions.MethodCallNode;
+import de.tu_darmstadt.stg.mudetect.aug.model.patterns.APIUsagePattern;
+import de.tu_darmstadt.stg.mudetect.aug.visitors.BaseAUGLabelProvider;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static de.tu_darmstadt.stg.mudetect.aug.model.TestAUGBuilder.buildAUG;
+import static edu.iastate.cs.mudetect.mining.TestPatternBuilder.somePattern;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+
+public class StartNodeLabelPatternIndexTest {
+    @Test
+    public void selectsPatternsSharingStartNodeLabel() {
+        APIUsagePattern pattern1 = somePattern(buildAUG().withActionNodes("A.a()", "B.b()"));
+        APIUsagePattern pattern2 = somePattern(buildAUG().withActionNode("C.c()"));
+        APIUsagePattern pattern3 = somePattern(buildAUG().withActionNodes("B.b()", "C.c()"));
+        APIUsageExample target = buildAUG().withActionNodes("B.b()", "D.d()").build();
+
+        PatternIndex index = createIndex(pattern1, pattern2, pattern3);
+
+        assertThat(index.getCandidatePatterns(target), contains(pattern1, pattern3));
+    }
+
+    @Test
+    public void ignoresLabelsOfNonStartNodes() {
+        APIUsagePattern pattern = somePattern(buildAUG().withActionNode("A.a()").withDataNode("Object"));
+        APIUsageExample target = buildAUG().withDataNode("Object").build();
+
+        PatternIndex index = createIndex(pattern);
+
+        assertThat(index.getCandidatePatterns(target), empty());
+    }
+
+    private static PatternIndex createIndex(APIUsagePattern... patterns) {
+        return new StartNodeLabelPatternIndex(Arrays.asList(patterns), new BaseAUGLabelProvider(),
+                node -> node instanceof MethodCallNode);
+    }
+}
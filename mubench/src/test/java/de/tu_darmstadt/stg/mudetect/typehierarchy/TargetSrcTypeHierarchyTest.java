@@ -1,6 +1,8 @@
 package de.tu_darmstadt.stg.mudetect.typehierarchy;
 
 import de.tu_darmstadt.stg.mudetect.typehierarchy.testtargets.*;
+import edu.iastate.cs.egroum.aug.AUGBuilder;
+import edu.iastate.cs.egroum.aug.AUGConfiguration;
 import org.apache.bcel.util.ClassPath;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -10,19 +12,32 @@ import java.util.*;
 import static org.junit.Assert.assertTrue;
 
 public class TargetSrcTypeHierarchyTest {
+    private static final String TARGETS_PATH = "src/test/java/de/tu_darmstadt/stg/mudetect/typehierarchy/testtargets";
+
+    private static String[] projectDependencyClassPath;
     private static TypeHierarchy hierarchy;
 
     @BeforeClass
     public static void setUp() {
         // Excluding project binary paths from classpath, because it slows down analysis manifold.
-        String[] projectDependencyClassPath = Arrays.stream(ClassPath.getClassPath().split(":"))
+        projectDependencyClassPath = Arrays.stream(ClassPath.getClassPath().split(":"))
                 .filter(dependencyPath ->
                         !dependencyPath.endsWith("target/classes") &&
                         !dependencyPath.endsWith("target/test-classes"))
                 .toArray(String[]::new);
-        hierarchy = TargetSrcTypeHierarchy.build(
-                "src/test/java/de/tu_darmstadt/stg/mudetect/typehierarchy/testtargets",
-                projectDependencyClassPath);
+        hierarchy = TargetSrcTypeHierarchy.build(TARGETS_PATH, projectDependencyClassPath);
+    }
+
+    @Test
+    public void collectsHierarchyWhileBuildingAUGs() {
+        TargetSrcTypeHierarchy.Collector collector = new TargetSrcTypeHierarchy.Collector();
+        AUGBuilder builder = new AUGBuilder(new AUGConfiguration());
+        builder.addASTRequestor(collector);
+
+        builder.build(TARGETS_PATH, projectDependencyClassPath);
+
+        assertIsA(collector.getHierarchy(), C.class, "extends (transitively)", SuperSuper.class);
+        assertIsA(collector.getHierarchy(), I.class, "interface extends (transitively)", ISuperSuper.class);
     }
 
     @Test
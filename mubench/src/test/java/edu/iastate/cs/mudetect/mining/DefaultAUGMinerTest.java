@@ -9,17 +9,27 @@ import org.hamcrest.Matcher;
 import org.junit.Test;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static de.tu_darmstadt.stg.mudetect.aug.model.Edge.Type.ORDER;
 import static de.tu_darmstadt.stg.mudetect.aug.model.Edge.Type.PARAMETER;
 import static de.tu_darmstadt.stg.mudetect.aug.model.Edge.Type.RECEIVER;
 import static de.tu_darmstadt.stg.mudetect.aug.model.TestAUGBuilder.buildAUG;
 import static edu.iastate.cs.mudetect.mining.Configuration.DataNodeExtensionStrategy.IF_INCOMING;
+import static edu.iastate.cs.mudetect.mining.MineWithSampledExtensionsTest.buildWeightedUsages;
+import static edu.iastate.cs.mudetect.mining.MineWithSampledExtensionsTest.getSupportsByPatternKey;
 import static edu.iastate.cs.mudetect.mining.TestPatternBuilder.somePattern;
 import static de.tu_darmstadt.stg.mudetect.utils.CollectionUtils.first;
 import static edu.iastate.cs.egroum.aug.AUGBuilderTestUtils.buildAUGsForClass;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertThat;
 
 public class DefaultAUGMinerTest {
@@ -95,6 +105,129 @@ public class DefaultAUGMinerTest {
         assertThat(node("String", pattern).getAggregatedNames(), contains("s", "s"));
     }
 
+    @Test
+    public void minesStartLabelsInParallel() {
+        Collection<APIUsageExample> groums = buildAUGsForClass("class A {" +
+                "  void m(C c) { c.foo(); }" +
+                "  void n(C c) { c.foo(); }" +
+                "  void o(D d) { d.bar(); }" +
+                "  void p(D d) { d.bar(); }" +
+                "}");
+        Configuration parallelConfig = new Configuration() {{
+            minPatternSupport = 2; extendByDataNode = IF_INCOMING; parallelism = 4;
+        }};
+
+        Set<APIUsagePattern> patterns = new DefaultAUGMiner(parallelConfig).mine(groums).getPatterns();
+
+        TestAUGBuilder pattern1 = buildAUG().withDataNode("C").withActionNode("C.foo()")
+                .withEdge("C", RECEIVER, "C.foo()");
+        TestAUGBuilder pattern2 = buildAUG().withDataNode("D").withActionNode("D.bar()")
+                .withEdge("D", RECEIVER, "D.bar()");
+        assertThat(patterns, containsInAnyOrder(isPattern(pattern1, 2), isPattern(pattern2, 2)));
+    }
+
+    @Test
+    public void minesSamePatternsInParallelAsSequentially() {
+        Configuration sequentialConfig = MineWithSampledExtensionsTest.exactConfig();
+        Configuration parallelConfig = MineWithSampledExtensionsTest.exactConfig();
+        parallelConfig.parallelism = 4;
+
+        // the usages share calls, such that the patterns of different start labels overlap
+        Map<List<Set<String>>, Integer> sequentialPatterns = getSupportsByPatternKey(
+                new DefaultAUGMiner(sequentialConfig).mine(buildWeightedUsages(400, new Random(1))).getPatterns());
+        for (int i = 0; i < 3; i++) {
+            Map<List<Set<String>>, Integer> parallelPatterns = getSupportsByPatternKey(
+                    new DefaultAUGMiner(parallelConfig).mine(buildWeightedUsages(400, new Random(1))).getPatterns());
+
+            assertThat(parallelPatterns, is(sequentialPatterns));
+        }
+        assertThat(sequentialPatterns.keySet(), is(not(empty())));
+    }
+
+    @Test
+    public void groupsHighSupportUsages() {
+        StringBuilder source = new StringBuilder("class A {");
+        for (int i = 0; i < 50; i++) {
+            source.append("  void m").append(i).append("(C c) { c.foo(); c.bar(); }");
+        }
+        Collection<APIUsageExample> groums = buildAUGsForClass(source.append("}").toString());
+
+        Set<APIUsagePattern> patterns = minePatterns(groums);
+
+        TestAUGBuilder pattern = buildAUG().withDataNode("C").withActionNodes("C.foo()", "C.bar()")
+                .withEdge("C", RECEIVER, "C.foo()")
+                .withEdge("C", RECEIVER, "C.bar()")
+                .withEdge("C.foo()", ORDER, "C.bar()");
+        assertThat(patterns, contains(isPattern(pattern, 50)));
+    }
+
+    @Test
+    public void countsEveryRepeatedUsage() {
+        Collection<APIUsageExample> groums = buildAUGsForClass("class A {" +
+                "  void m(C c) { c.foo(); c.foo(); }" +
+                "  void n(C c) { c.foo(); c.foo(); }" +
+                "}");
+
+        Set<APIUsagePattern> patterns = minePatterns(groums);
+
+        assertThat(patterns.size(), is(1));
+        assertThat(first(patterns).getSupport(), is(4));
+    }
+
+    @Test
+    public void separatesUsagesOfSameSize() {
+        Collection<APIUsageExample> groums = buildAUGsForClass("class A {" +
+                "  void m(C c) { c.foo(); c.bar(); }" +
+                "  void n(C c) { c.foo(); c.bar(); }" +
+                "  void o(C c) { c.foo(); c.baz(); }" +
+                "  void p(C c) { c.foo(); c.baz(); }" +
+                "  void q(C c) { c.foo(); c.baz(); }" +
+                "}");
+
+        Set<APIUsagePattern> patterns = minePatterns(groums);
+
+        TestAUGBuilder pattern1 = buildAUG().withDataNode("C").withActionNodes("C.foo()", "C.bar()")
+                .withEdge("C", RECEIVER, "C.foo()")
+                .withEdge("C", RECEIVER, "C.bar()")
+                .withEdge("C.foo()", ORDER, "C.bar()");
+        TestAUGBuilder pattern2 = buildAUG().withDataNode("C").withActionNodes("C.foo()", "C.baz()")
+                .withEdge("C", RECEIVER, "C.foo()")
+                .withEdge("C", RECEIVER, "C.baz()")
+                .withEdge("C.foo()", ORDER, "C.baz()");
+        assertThat(patterns, containsInAnyOrder(isPattern(pattern1, 2), isPattern(pattern2, 3)));
+    }
+
+    @Test
+    public void reportsStartLabelsCutShortByBudget() {
+        Collection<APIUsageExample> groums = buildAUGsForClass("class A {" +
+                "  void m(C c) { c.foo(); }" +
+                "  void n(C c) { c.foo(); }" +
+                "  void o(D d) { d.bar(); }" +
+                "  void p(D d) { d.bar(); }" +
+                "}");
+        Configuration budgetedConfig = new Configuration() {{
+            minPatternSupport = 2; extendByDataNode = IF_INCOMING; maxNumberOfFragments = 2;
+        }};
+        DefaultAUGMiner miner = new DefaultAUGMiner(budgetedConfig);
+
+        miner.mine(groums);
+
+        assertThat(miner.getCutShortStartLabels(), containsInAnyOrder("C.foo()", "D.bar()"));
+    }
+
+    @Test
+    public void reportsNoStartLabelsCutShortWithinBudget() {
+        Collection<APIUsageExample> groums = buildAUGsForClass("class A {" +
+                "  void m(C c) { c.foo(); }" +
+                "  void n(C c) { c.foo(); }" +
+                "}");
+        DefaultAUGMiner miner = new DefaultAUGMiner(MINING_CONFIG);
+
+        miner.mine(groums);
+
+        assertThat(miner.getCutShortStartLabels(), is(empty()));
+    }
+
     private Set<APIUsagePattern> minePatterns(Collection<APIUsageExample> groums) {
         return new DefaultAUGMiner(MINING_CONFIG).mine(groums).getPatterns();
     }
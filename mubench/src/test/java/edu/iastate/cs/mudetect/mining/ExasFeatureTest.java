@@ -0,0 +1,129 @@
+package edu.iastate.cs.mudetect.mining;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
+import de.tu_darmstadt.stg.mudetect.aug.model.Node;
+import de.tu_darmstadt.stg.mudetect.aug.model.data.VariableNode;
+import de.tu_darmstadt.stg.mudetect.aug.visitors.InterningAUGLabelProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static edu.iastate.cs.egroum.aug.AUGBuilderTestUtils.buildAUGsForClass;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class ExasFeatureTest {
+    private static final String[] EDGE_LABELS =
+            {"contains", "hdl", "finally", "order", "rep", "sel", "sync", "throw", "def", "para", "qual", "recv"};
+
+    private final InterningAUGLabelProvider labelProvider = InterningAUGLabelProvider.of(new Configuration().labelProvider);
+    private int[] nodeLabelIds;
+    private int[] edgeLabelIds;
+    private ExasFeature exasFeature;
+
+    @Before
+    public void setup() {
+        ArrayList<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            nodes.add(new VariableNode("T" + i, "v"));
+        }
+        nodeLabelIds = nodes.stream().mapToInt(labelProvider::getLabelId).toArray();
+        edgeLabelIds = Arrays.stream(EDGE_LABELS).mapToInt(labelProvider::intern).toArray();
+        exasFeature = new ExasFeature(nodes, labelProvider);
+    }
+
+    @Test
+    public void distinguishesSequencesOfDifferentLength() {
+        long node = exasFeature.getFeature(sequence(0), 0, 1);
+        long path = exasFeature.getFeature(sequence(0, 0, 0), 0, 3);
+
+        assertThat(node, is(not(path)));
+    }
+
+    @Test
+    public void separatesHashedFromPackedFeatures() {
+        long packed = exasFeature.getFeature(sequence(0, 3, 1), 0, 3);
+        long hashed = exasFeature.getFeature(sequence(0, 3, 4999), 0, 3);
+
+        assertThat(packed, is(greaterThanOrEqualTo(0L)));
+        assertThat(hashed, is(lessThan(0L)));
+    }
+
+    /**
+     * Compares the features of a real mining run to the former 32-bit encoding, which left 5 bits to every node
+     * position after an edge. Once fragments have more than 31 nodes, such positions carried into the bits of the edge
+     * before them, such that the former encoding could not tell the sequence from one over the next edge label. Hashed
+     * features are left out, since they do not retain their sequences.
+     */
+    @Test
+    public void keepsFeaturesOfLargeFragmentsApart() {
+        ArrayList<APIUsageExample> augs =
+                new ArrayList<>(buildAUGsForClass("class A {" + chainOfCalls("m", 20) + chainOfCalls("n", 20) + "}"));
+        Miner miner = new Miner("test", new Configuration() {{ minPatternSupport = 2; maxPatternSize = 300; }});
+
+        miner.mine(augs);
+
+        Set<Long> legacyOverflowingFeatures = new HashSet<>();
+        for (Lattice lattice : miner.lattices) {
+            for (Pattern pattern : lattice.getPatterns()) {
+                for (Fragment fragment : pattern.getFragments()) {
+                    ExasVector vector = fragment.getVector();
+                    for (int i = 0; i < vector.size(); i++) {
+                        long feature = vector.getFeature(i);
+                        if (feature >= 0 && overflowsLegacyFeature(unpack(feature))) {
+                            legacyOverflowingFeatures.add(feature);
+                        }
+                    }
+                }
+            }
+        }
+        assertThat(legacyOverflowingFeatures, is(not(empty())));
+        assertThat(miner.getCounters().getNumberOfBucketCollisions(), is(0L));
+    }
+
+    private static String chainOfCalls(String methodName, int length) {
+        StringBuilder body = new StringBuilder("T0 x0 = c.m0();");
+        for (int i = 1; i < length; i++) {
+            body.append(" T").append(i).append(" x").append(i).append(" = c.m").append(i).append("(x").append(i - 1).append(");");
+        }
+        return "  void " + methodName + "(C c) { " + body + " }";
+    }
+
+    private int[] sequence(int... positions) {
+        int[] labelIds = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            labelIds[i] = i % 2 == 0 ? nodeLabelIds[positions[i]] : edgeLabelIds[positions[i]];
+        }
+        return labelIds;
+    }
+
+    /**
+     * @return the node and edge features that were packed into the given feature
+     */
+    private static int[] unpack(long feature) {
+        List<Integer> featureIds = new ArrayList<>();
+        featureIds.add((int) (feature & ((1 << ExasFeature.NODE_BITS) - 1)));
+        feature >>>= ExasFeature.NODE_BITS;
+        while (feature != 0) {
+            featureIds.add((int) (feature & ((1 << ExasFeature.EDGE_BITS) - 1)));
+            feature >>>= ExasFeature.EDGE_BITS;
+            featureIds.add((int) (feature & ((1 << ExasFeature.NODE_BITS) - 1)));
+            feature >>>= ExasFeature.NODE_BITS;
+        }
+        Collections.reverse(featureIds);
+        return featureIds.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @return whether a node position after an edge carried into the bits of that edge in the former encoding
+     */
+    private static boolean overflowsLegacyFeature(int[] featureIds) {
+        for (int i = 2; i < featureIds.length; i += 2) {
+            if (featureIds[i] >= 1 << 5) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,76 @@
+package edu.iastate.cs.mudetect.mining;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class ExasVectorTest {
+    @Test
+    public void countsFeatures() {
+        ExasVector vector = vector(5, 1, 5, 3);
+
+        assertThat(vector.size(), is(3));
+        assertThat(vector.getCount(5), is(2));
+        assertThat(vector.getCount(1), is(1));
+        assertThat(vector.getCount(2), is(0));
+    }
+
+    @Test
+    public void equalsIndependentOfInsertionOrder() {
+        ExasVector vector1 = vector(1, 2, 3, 2);
+        ExasVector vector2 = vector(2, 3, 2, 1);
+
+        assertThat(vector1, is(vector2));
+        assertThat(vector1.hashCode(), is(vector2.hashCode()));
+    }
+
+    @Test
+    public void differsInCounts() {
+        assertThat(vector(1, 2, 2), is(not(vector(1, 1, 2))));
+    }
+
+    @Test
+    public void distinguishesFeaturesBeyondIntRange() {
+        ExasVector vector = new ExasVector();
+        vector.add(1L << 40);
+        vector.add(1);
+
+        assertThat(vector.getCount(1L << 40), is(1));
+        assertThat(vector.getCount(0), is(0));
+        assertThat(vector.getCount(1), is(1));
+    }
+
+    @Test
+    public void copyIsIndependent() {
+        ExasVector vector = vector(1, 2);
+        int hash = vector.hashCode();
+        ExasVector copy = new ExasVector(vector);
+
+        copy.add(3);
+
+        assertThat(vector.hashCode(), is(hash));
+        assertThat(vector.getCount(3), is(0));
+        assertThat(copy, is(vector(1, 2, 3)));
+    }
+
+    @Test
+    public void growsBeyondInitialCapacity() {
+        ExasVector vector = new ExasVector();
+        for (int feature = 100; feature > 0; feature--) {
+            vector.add(feature);
+        }
+
+        assertThat(vector.size(), is(100));
+        assertThat(vector.getCount(50), is(1));
+    }
+
+    private static ExasVector vector(int... features) {
+        ExasVector vector = new ExasVector();
+        for (int feature : features) {
+            vector.add(feature);
+        }
+        return vector;
+    }
+}
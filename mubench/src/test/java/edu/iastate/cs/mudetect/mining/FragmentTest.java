@@ -0,0 +1,53 @@
+package edu.iastate.cs.mudetect.mining;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.Node;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class FragmentTest {
+    // more calls than fit into a single word of the fragments' node bitsets
+    private final FragmentTestFixture fixture = FragmentTestFixture.withCalls(100);
+    private final Node[] calls = fixture.getCalls();
+    private final Node variable = fixture.getVariable();
+
+    @Test
+    public void containsItsNodes() {
+        Fragment fragment = fixture.fragment(calls[3], calls[70]);
+
+        assertThat(fragment.contains(calls[70]), is(true));
+        assertThat(fragment.contains(calls[71]), is(false));
+    }
+
+    @Test
+    public void containsSubFragment() {
+        Fragment fragment = fixture.fragment(calls[3], calls[70], calls[99]);
+
+        assertThat(fragment.contains(fixture.fragment(calls[70], calls[3])), is(true));
+        assertThat(fragment.contains(fixture.fragment(calls[70], calls[4])), is(false));
+    }
+
+    @Test
+    public void isSameAsFragmentWithSameNodes() {
+        assertThat(fixture.fragment(calls[3], calls[70]).isSameAs(fixture.fragment(calls[70], calls[3])), is(true));
+        assertThat(fixture.fragment(calls[3], calls[70]).isSameAs(fixture.fragment(calls[3], calls[71])), is(false));
+    }
+
+    @Test
+    public void overlapsOnlyInActionNodes() {
+        assertThat(fixture.fragment(calls[3], calls[70]).overlap(fixture.fragment(calls[70], calls[99])), is(true));
+        assertThat(fixture.fragment(calls[3], variable).overlap(fixture.fragment(calls[99], variable)), is(false));
+    }
+
+    @Test
+    public void countsLiveFragments() {
+        Fragment fragment = fixture.fragment(calls[0], calls[1]);
+
+        fragment.delete();
+        fragment.delete();
+
+        assertThat(fixture.counters.getNumberOfFragments(), is(1));
+        assertThat(fixture.counters.getPeakNumberOfFragments(), is(2));
+    }
+}
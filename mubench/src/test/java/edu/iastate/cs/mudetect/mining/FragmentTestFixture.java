@@ -0,0 +1,96 @@
+package edu.iastate.cs.mudetect.mining;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
+import de.tu_darmstadt.stg.mudetect.aug.model.Location;
+import de.tu_darmstadt.stg.mudetect.aug.model.Node;
+import de.tu_darmstadt.stg.mudetect.aug.model.actions.MethodCallNode;
+import de.tu_darmstadt.stg.mudetect.aug.model.data.VariableNode;
+import de.tu_darmstadt.stg.mudetect.aug.visitors.InterningAUGLabelProvider;
+
+import java.util.*;
+
+import static edu.iastate.cs.egroum.aug.AUGBuilderTestUtils.buildAUGsForClass;
+
+/**
+ * Creates fragments on the nodes of frozen AUGs, like the miner does, sharing one configuration, label provider, and
+ * set of counters.
+ */
+class FragmentTestFixture {
+    final Configuration config = new Configuration();
+    final InterningAUGLabelProvider labelProvider = InterningAUGLabelProvider.of(config.labelProvider);
+    final MiningCounters counters = new MiningCounters();
+    private final Collection<APIUsageExample> augs;
+
+    private FragmentTestFixture(Collection<APIUsageExample> augs) {
+        this.augs = augs;
+        for (APIUsageExample aug : augs) {
+            for (Node node : aug.vertexSet()) {
+                node.setGraph(aug);
+            }
+            aug.freeze();
+        }
+    }
+
+    /**
+     * An edgeless AUG with the given number of calls and a variable, see {@link #getCalls()} and
+     * {@link #getVariable()}.
+     */
+    static FragmentTestFixture withCalls(int numberOfCalls) {
+        APIUsageExample aug = new APIUsageExample(new Location("p", "f", "m()"));
+        for (int i = 0; i < numberOfCalls; i++) {
+            aug.addVertex(new MethodCallNode("C", "m" + i + "()"));
+        }
+        aug.addVertex(new VariableNode("C", "c"));
+        return new FragmentTestFixture(Collections.singletonList(aug));
+    }
+
+    /**
+     * The AUGs of the methods of the given class.
+     */
+    static FragmentTestFixture forClass(String classCode) {
+        return new FragmentTestFixture(buildAUGsForClass(classCode));
+    }
+
+    Node[] getCalls() {
+        List<Node> calls = new ArrayList<>();
+        for (int i = 0; !getNodes("C.m" + i + "()").isEmpty(); i++) {
+            calls.add(getNode("C.m" + i + "()"));
+        }
+        return calls.toArray(new Node[0]);
+    }
+
+    Node getVariable() {
+        return getNode("C");
+    }
+
+    Node getNode(String label) {
+        List<Node> nodes = getNodes(label);
+        if (nodes.size() != 1)
+            throw new IllegalArgumentException("expected one node with label " + label + ", found " + nodes.size());
+        return nodes.get(0);
+    }
+
+    List<Node> getNodes(String label) {
+        List<Node> nodes = new ArrayList<>();
+        for (APIUsageExample aug : augs) {
+            for (Node node : aug.vertexSet()) {
+                if (labelProvider.getLabel(node).equals(label)) {
+                    nodes.add(node);
+                }
+            }
+        }
+        return nodes;
+    }
+
+    Fragment fragment(Node first, Node... others) {
+        Fragment fragment = new Fragment(first, config, labelProvider, counters);
+        return others.length == 0 ? fragment : new Fragment(fragment, new ArrayList<>(Arrays.asList(others)));
+    }
+
+    /**
+     * The fragments in the given order.
+     */
+    static HashSet<Fragment> group(Fragment... fragments) {
+        return new LinkedHashSet<>(Arrays.asList(fragments));
+    }
+}
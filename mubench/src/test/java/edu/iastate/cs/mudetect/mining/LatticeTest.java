@@ -0,0 +1,97 @@
+package edu.iastate.cs.mudetect.mining;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.Node;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+import static edu.iastate.cs.mudetect.mining.FragmentTestFixture.group;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class LatticeTest {
+    private final FragmentTestFixture fixture = FragmentTestFixture.withCalls(100);
+    private final Node[] calls = fixture.getCalls();
+    private final Node variable = fixture.getVariable();
+
+    @Test
+    public void containsGroupCoveredByLargerPattern() {
+        ArrayList<Lattice> lattices = latticesWith(pattern(fixture.fragment(calls[3], calls[70], calls[99])));
+
+        assertThat(Lattice.contains(lattices, group(fixture.fragment(calls[70], calls[3]))), is(true));
+    }
+
+    @Test
+    public void doesNotContainGroupOnOtherNodes() {
+        ArrayList<Lattice> lattices = latticesWith(pattern(fixture.fragment(calls[3], calls[70], calls[99])));
+
+        assertThat(Lattice.contains(lattices, group(fixture.fragment(calls[70], calls[4]))), is(false));
+        assertThat(Lattice.contains(lattices,
+                group(fixture.fragment(calls[3], calls[70]), fixture.fragment(calls[5], calls[6]))), is(false));
+    }
+
+    @Test
+    public void doesNotContainGroupCoveredByRemovedPattern() {
+        Pattern pattern = pattern(fixture.fragment(calls[3], calls[70], calls[99]));
+        ArrayList<Lattice> lattices = latticesWith(pattern);
+
+        lattices.get(2).remove(pattern);
+
+        assertThat(Lattice.contains(lattices, group(fixture.fragment(calls[70], calls[3]))), is(false));
+    }
+
+    @Test
+    public void filtersContainedPatterns() {
+        Pattern large = pattern(fixture.fragment(calls[3], calls[70], calls[99]));
+        Pattern contained = pattern(fixture.fragment(calls[70], calls[3]));
+        Pattern other = pattern(fixture.fragment(calls[70], calls[4]));
+        ArrayList<Lattice> lattices = latticesWith(large, contained, other);
+
+        Lattice.filter(lattices, 1);
+
+        assertThat(lattices.get(1).getPatterns(), contains(other));
+        assertThat(lattices.get(2).getPatterns(), contains(large));
+    }
+
+    @Test
+    public void filtersLatticesInParallel() {
+        Pattern large = pattern(fixture.fragment(calls[3], calls[70], calls[99]));
+        Pattern contained = pattern(fixture.fragment(calls[70], calls[3]));
+        Pattern single = pattern(fixture.fragment(calls[99]));
+        Pattern other = pattern(fixture.fragment(calls[5]));
+        ArrayList<Lattice> lattices = latticesWith(large, contained, single, other);
+
+        Lattice.filter(lattices, 1, 4);
+
+        assertThat(lattices.get(0).getPatterns(), contains(other));
+        assertThat(lattices.get(1).getPatterns(), is(empty()));
+        assertThat(lattices.get(2).getPatterns(), contains(large));
+    }
+
+    @Test
+    public void keepsOneOfEqualPatterns() {
+        Pattern pattern1 = pattern(fixture.fragment(calls[3], calls[70]));
+        Pattern pattern2 = pattern(fixture.fragment(calls[70], calls[3]));
+        ArrayList<Lattice> lattices = latticesWith(pattern1, pattern2);
+
+        Lattice.filter(lattices, 1);
+
+        assertThat(lattices.get(1).getPatterns(), contains(pattern2));
+    }
+
+    private ArrayList<Lattice> latticesWith(Pattern... patterns) {
+        ArrayList<Lattice> lattices = new ArrayList<>();
+        for (Pattern pattern : patterns) {
+            pattern.add2Lattice(lattices);
+        }
+        return lattices;
+    }
+
+    private Pattern pattern(Fragment... fragments) {
+        HashSet<Fragment> group = group(fragments);
+        return new Pattern(group, group.size(), fixture.counters);
+    }
+}
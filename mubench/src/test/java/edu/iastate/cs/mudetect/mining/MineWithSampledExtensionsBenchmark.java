@@ -0,0 +1,54 @@
+package edu.iastate.cs.mudetect.mining;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
+import de.tu_darmstadt.stg.mudetect.aug.model.patterns.APIUsagePattern;
+
+import java.util.*;
+
+import static edu.iastate.cs.mudetect.mining.MineWithSampledExtensionsTest.*;
+
+/**
+ * Benchmark of mining with sampled extensions against exact mining, on the weighted usages of
+ * {@link MineWithSampledExtensionsTest}. Reports the mining time of both modes, the share of the exactly mined patterns
+ * that are also found from the samples, and the number of found patterns whose support differs from the exact one.
+ * Unlike the tests, it is not run with the test suite, since its timings depend on the machine.
+ *
+ * Usage: MineWithSampledExtensionsBenchmark [number of methods [max extensions per label [repetitions]]]
+ */
+public class MineWithSampledExtensionsBenchmark {
+    public static void main(String[] args) {
+        int numberOfMethods = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int maxExtensionsPerLabel = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int repetitions = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        for (int i = 0; i < repetitions; i++) {
+            // mining removes nodes from and freezes the AUGs, hence, every run mines freshly built AUGs
+            Collection<APIUsageExample> exactAUGs = buildWeightedUsages(numberOfMethods, new Random(i));
+            long start = System.currentTimeMillis();
+            Set<APIUsagePattern> exactPatterns = mine(exactAUGs, exactConfig());
+            long exactTime = System.currentTimeMillis() - start;
+
+            Collection<APIUsageExample> sampledAUGs = buildWeightedUsages(numberOfMethods, new Random(i));
+            start = System.currentTimeMillis();
+            Set<APIUsagePattern> sampledPatterns = mine(sampledAUGs, sampledConfig(maxExtensionsPerLabel, i));
+            long sampledTime = System.currentTimeMillis() - start;
+
+            Map<List<Set<String>>, Integer> exactSupports = getSupportsByPatternKey(exactPatterns);
+            Map<List<Set<String>>, Integer> sampledSupports = getSupportsByPatternKey(sampledPatterns);
+            int found = 0, wrongSupport = 0;
+            for (Map.Entry<List<Set<String>>, Integer> exactSupport : exactSupports.entrySet()) {
+                Integer sampledSupport = sampledSupports.get(exactSupport.getKey());
+                if (sampledSupport != null) {
+                    found++;
+                    if (!sampledSupport.equals(exactSupport.getValue()))
+                        wrongSupport++;
+                }
+            }
+            System.out.println(String.format("[MineWithSampledExtensionsBenchmark] %d methods, run %d: " +
+                            "exact: %d patterns in %d ms, sampled (%d per label): %d patterns in %d ms, " +
+                            "recall = %.2f, found patterns with other support = %d",
+                    numberOfMethods, i, exactSupports.size(), exactTime, maxExtensionsPerLabel,
+                    sampledSupports.size(), sampledTime, (double) found / exactSupports.size(), wrongSupport));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package edu.iastate.cs.mudetect.mining;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageGraph;
+import de.tu_darmstadt.stg.mudetect.aug.model.Edge;
+import de.tu_darmstadt.stg.mudetect.aug.model.patterns.APIUsagePattern;
+import de.tu_darmstadt.stg.mudetect.aug.visitors.AUGLabelProvider;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static edu.iastate.cs.egroum.aug.AUGBuilderTestUtils.buildAUGsForClass;
+import static edu.iastate.cs.mudetect.mining.Configuration.DataNodeExtensionStrategy.IF_INCOMING;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class MineWithSampledExtensionsTest {
+    private static final String[] USAGES = {
+            "c.foo(); c.bar();",
+            "c.foo(); c.baz();",
+            "c.foo(); c.bar(); c.baz();",
+            "c.foo(); if (c.isOpen()) c.bar();"
+    };
+    private static final String[] WEIGHTED_USAGES = {
+            "c.open(); c.read(); c.close();",
+            "c.open(); if (c.ready()) c.read(); c.close();",
+            "c.open(); c.write(s); c.flush(); c.close();",
+            "c.open(); while (c.hasNext()) c.next(); c.close();",
+            "c.open(); try { c.read(); } finally { c.close(); }",
+            "d.start(); c.open(); c.read(); d.stop();",
+            "d.start(); d.stop();",
+            "c.write(s); c.write(s); c.flush();"
+    };
+    private static final int[] USAGE_WEIGHTS = {12, 6, 5, 4, 3, 2, 2, 1};
+
+    @Test
+    public void samplesReproducibly() {
+        Collection<APIUsageExample> groums = buildUsages(200);
+
+        Set<List<Set<String>>> patterns1 = getPatternKeys(mine(groums, sampledConfig(50, 42)));
+        Set<List<Set<String>>> patterns2 = getPatternKeys(mine(groums, sampledConfig(50, 42)));
+
+        assertThat(patterns1, is(not(empty())));
+        assertThat(patterns1, is(patterns2));
+    }
+
+    @Test
+    public void samplesReproduciblyOnRebuiltAUGs() {
+        Map<List<Set<String>>, Integer> patterns1 = getSupportsByPatternKey(mine(buildUsages(200), sampledConfig(50, 42)));
+        Map<List<Set<String>>, Integer> patterns2 = getSupportsByPatternKey(mine(buildUsages(200), sampledConfig(50, 42)));
+
+        assertThat(patterns1.keySet(), is(not(empty())));
+        assertThat(patterns1, is(patterns2));
+    }
+
+    /**
+     * Mines usages of different frequencies, whose start labels have many more extensions than are sampled. Patterns
+     * with a support close to the minimum support may be missed, since their estimated support depends on the sample,
+     * but the more frequent patterns are all found. The found patterns consist of all their occurrences, such that
+     * their support is exact, also of those extended from patterns that were chosen from a sample.
+     */
+    @Test
+    public void findsFrequentPatternsFromSamples() {
+        Collection<APIUsageExample> groums = buildWeightedUsages(400, new Random(1));
+
+        Set<APIUsagePattern> exactPatterns = mine(groums, exactConfig());
+        Map<List<Set<String>>, Integer> sampledSupports = getSupportsByPatternKey(mine(groums, sampledConfig(50, 0)));
+
+        List<Integer> supportsOfMissedPatterns = new ArrayList<>();
+        for (APIUsagePattern exactPattern : exactPatterns) {
+            Integer sampledSupport = sampledSupports.get(getPatternKey(exactPattern));
+            if (sampledSupport == null) {
+                supportsOfMissedPatterns.add(exactPattern.getSupport());
+            } else {
+                assertThat(sampledSupport, is(exactPattern.getSupport()));
+            }
+        }
+        assertThat(exactPatterns.size(), is(greaterThan(WEIGHTED_USAGES.length / 2)));
+        assertThat(supportsOfMissedPatterns, everyItem(is(lessThan(3 * exactConfig().minPatternSupport))));
+        assertThat(supportsOfMissedPatterns.size(), is(lessThanOrEqualTo(exactPatterns.size() / 4)));
+    }
+
+    private static Collection<APIUsageExample> buildUsages(int numberOfMethods) {
+        StringBuilder source = new StringBuilder("class A {");
+        for (int i = 0; i < numberOfMethods; i++) {
+            source.append("  void m").append(i).append("(C c) { ").append(USAGES[i % USAGES.length]).append(" }");
+        }
+        return buildAUGsForClass(source.append("}").toString());
+    }
+
+    /**
+     * @return the AUGs of the given number of methods, each of which is one of the {@link #WEIGHTED_USAGES}, drawn by
+     * their weights.
+     */
+    static Collection<APIUsageExample> buildWeightedUsages(int numberOfMethods, Random random) {
+        int totalWeight = Arrays.stream(USAGE_WEIGHTS).sum();
+        StringBuilder source = new StringBuilder("class A {");
+        for (int i = 0; i < numberOfMethods; i++) {
+            int usage = 0;
+            for (int r = random.nextInt(totalWeight); r >= USAGE_WEIGHTS[usage]; usage++) {
+                r -= USAGE_WEIGHTS[usage];
+            }
+            source.append("  void m").append(i).append("(C c, D d, String s) { ").append(WEIGHTED_USAGES[usage])
+                    .append(" }");
+        }
+        return buildAUGsForClass(source.append("}").toString());
+    }
+
+    static Configuration exactConfig() {
+        return new Configuration() {{ minPatternSupport = 10; extendByDataNode = IF_INCOMING; }};
+    }
+
+    static Configuration sampledConfig(int maxExtensions, long seed) {
+        return new Configuration() {{
+            minPatternSupport = 10; extendByDataNode = IF_INCOMING;
+            maxExtensionsPerLabel = maxExtensions; extensionSamplingSeed = seed;
+        }};
+    }
+
+    static Set<APIUsagePattern> mine(Collection<APIUsageExample> groums, Configuration config) {
+        return new DefaultAUGMiner(config).mine(groums).getPatterns();
+    }
+
+    private static Set<List<Set<String>>> getPatternKeys(Set<APIUsagePattern> patterns) {
+        return patterns.stream().map(MineWithSampledExtensionsTest::getPatternKey).collect(Collectors.toSet());
+    }
+
+    /**
+     * @return the total support of the patterns with the same nodes and edges, by their labels.
+     */
+    static Map<List<Set<String>>, Integer> getSupportsByPatternKey(Set<APIUsagePattern> patterns) {
+        Map<List<Set<String>>, Integer> supportsByPatternKey = new HashMap<>();
+        for (APIUsagePattern pattern : patterns) {
+            supportsByPatternKey.merge(getPatternKey(pattern), pattern.getSupport(), Integer::sum);
+        }
+        return supportsByPatternKey;
+    }
+
+    private static List<Set<String>> getPatternKey(APIUsageGraph pattern) {
+        AUGLabelProvider labelProvider = new Configuration().labelProvider;
+        Set<String> nodeLabels = pattern.vertexSet().stream().map(labelProvider::getLabel).collect(Collectors.toSet());
+        Set<String> edgeLabels = pattern.edgeSet().stream().map(edge -> getEdgeLabel(edge, labelProvider))
+                .collect(Collectors.toSet());
+        return Arrays.asList(nodeLabels, edgeLabels);
+    }
+
+    private static String getEdgeLabel(Edge edge, AUGLabelProvider labelProvider) {
+        return labelProvider.getLabel(edge.getSource()) + "--(" + labelProvider.getLabel(edge) + ")-->" +
+                labelProvider.getLabel(edge.getTarget());
+    }
+}
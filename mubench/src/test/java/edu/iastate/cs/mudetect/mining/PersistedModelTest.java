@@ -0,0 +1,51 @@
+package edu.iastate.cs.mudetect.mining;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
+import de.tu_darmstadt.stg.mudetect.aug.model.patterns.APIUsagePattern;
+import de.tu_darmstadt.stg.mudetect.aug.model.patterns.AggregateDataNode;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.Collection;
+
+import static de.tu_darmstadt.stg.mudetect.aug.matchers.AUGMatchers.hasReceiverEdge;
+import static de.tu_darmstadt.stg.mudetect.aug.matchers.NodeMatchers.dataNodeWith;
+import static de.tu_darmstadt.stg.mudetect.aug.matchers.NodeMatchers.methodCall;
+import static de.tu_darmstadt.stg.mudetect.aug.matchers.NodePropertyMatchers.type;
+import static de.tu_darmstadt.stg.mudetect.utils.CollectionUtils.first;
+import static edu.iastate.cs.egroum.aug.AUGBuilderTestUtils.buildAUGsForClass;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class PersistedModelTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void restoresMinedPatterns() throws Exception {
+        Collection<APIUsageExample> examples = buildAUGsForClass("class A {" +
+                "  void m(C c) { c.foo(); }" +
+                "  void n(C d) { d.foo(); }" +
+                "}");
+        Model model = new DefaultAUGMiner(new Configuration() {{ minPatternSupport = 2; }}).mine(examples);
+        APIUsagePattern minedPattern = first(model.getPatterns());
+        Path modelFile = folder.getRoot().toPath().resolve("model").resolve("patterns.model");
+
+        PersistedModel.write(model, modelFile);
+        Model restoredModel = PersistedModel.read(modelFile);
+
+        assertThat(restoredModel.getPatterns(), hasSize(1));
+        APIUsagePattern pattern = first(restoredModel.getPatterns());
+        assertThat(pattern.getSupport(), is(2));
+        assertThat(pattern.getExampleLocations(), is(minedPattern.getExampleLocations()));
+        assertThat(pattern.getNodeSize(), is(2));
+        assertThat(pattern.getEdgeSize(), is(1));
+        assertThat(pattern, hasReceiverEdge(dataNodeWith(type("C")), methodCall("C", "foo()")));
+        AggregateDataNode receiver = (AggregateDataNode) pattern.vertexSet().stream()
+                .filter(node -> node instanceof AggregateDataNode).findFirst().get();
+        assertThat(receiver.getAggregatedNames(), containsInAnyOrder("c", "d"));
+        assertThat(pattern.isFrozen(), is(true));
+    }
+}
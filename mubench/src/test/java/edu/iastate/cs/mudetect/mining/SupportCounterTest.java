@@ -0,0 +1,78 @@
+package edu.iastate.cs.mudetect.mining;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.Node;
+import org.junit.Test;
+
+import java.util.List;
+
+import static edu.iastate.cs.mudetect.mining.FragmentTestFixture.group;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SupportCounterTest {
+    private final FragmentTestFixture fixture = FragmentTestFixture.withCalls(100);
+    private final Node[] calls = fixture.getCalls();
+    private final Node variable = fixture.getVariable();
+
+    @Test
+    public void countsNonOverlappingOccurrencesWithinMethod() {
+        SupportCounter supportCounter = new SupportCounter(Configuration.Level.WITHIN_METHOD);
+
+        int freq = supportCounter.getFrequency(group(
+                fixture.fragment(calls[3], calls[70]),
+                fixture.fragment(calls[70], calls[99]),
+                fixture.fragment(calls[10], calls[99])));
+
+        assertThat(freq, is(2));
+    }
+
+    @Test
+    public void countsOccurrencesSharingOnlyDataNodes() {
+        SupportCounter supportCounter = new SupportCounter(Configuration.Level.WITHIN_METHOD);
+
+        int freq = supportCounter.getFrequency(
+                group(fixture.fragment(calls[3], variable), fixture.fragment(calls[99], variable)));
+
+        assertThat(freq, is(2));
+    }
+
+    @Test
+    public void countsMethodsAcrossMethods() {
+        SupportCounter supportCounter = new SupportCounter(Configuration.Level.CROSS_METHOD);
+
+        int freq = supportCounter.getFrequency(group(fixture.fragment(calls[3]), fixture.fragment(calls[99])));
+
+        assertThat(freq, is(1));
+    }
+
+    @Test
+    public void reusesFrequencyOfSameFragments() {
+        SupportCounter supportCounter = new SupportCounter(Configuration.Level.WITHIN_METHOD);
+        Fragment fragment1 = fixture.fragment(calls[3], calls[70]);
+        Fragment fragment2 = fixture.fragment(calls[70], calls[99]);
+
+        int freq = supportCounter.getFrequency(group(fragment1, fragment2));
+        int cachedFreq = supportCounter.getFrequency(group(fragment2, fragment1));
+
+        assertThat(cachedFreq, is(freq));
+    }
+
+    @Test
+    public void countsOccurrencesInMethods() {
+        FragmentTestFixture fixture = FragmentTestFixture.forClass("class A {" +
+                "  void m(C c) { c.foo(); c.foo(); }" +
+                "  void n(C c) { c.foo(); }" +
+                "}");
+        List<Node> calls = fixture.getNodes("C.foo()");
+        Fragment[] occurrences = new Fragment[calls.size()];
+        for (int i = 0; i < calls.size(); i++) {
+            occurrences[i] = fixture.fragment(calls.get(i));
+        }
+
+        int freqWithinMethods = new SupportCounter(Configuration.Level.WITHIN_METHOD).getFrequency(group(occurrences));
+        int freqAcrossMethods = new SupportCounter(Configuration.Level.CROSS_METHOD).getFrequency(group(occurrences));
+
+        assertThat(freqWithinMethods, is(3));
+        assertThat(freqAcrossMethods, is(2));
+    }
+}
@@ -2,10 +2,16 @@ package edu.iastate.cs.egroum.aug;
 
 import de.tu_darmstadt.stg.mudetect.aug.builder.APIUsageExampleBuilder;
 import de.tu_darmstadt.stg.mudetect.aug.model.*;
+import edu.iastate.cs.egroum.utils.FileIO;
 import edu.iastate.cs.egroum.utils.JavaASTUtil;
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.FileASTRequestor;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
 
+import java.io.File;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -44,17 +50,114 @@ public class AUGBuilder {
     }
 
     private final AUGConfiguration configuration;
+    private final List<FileASTRequestor> astRequestors = new ArrayList<>();
 
     public AUGBuilder(AUGConfiguration configuration) {
         this.configuration = configuration;
     }
 
+    /**
+     * Adds a requestor that receives every compilation unit parsed by {@link #build(String[], String[])}, with resolved
+     * bindings, see {@link EGroumBuilder#addASTRequestor(FileASTRequestor)}. Source files whose AUGs are loaded from
+     * the cache or that the usage-example predicate rejects before parsing, see
+     * {@link AUGConfiguration#preScreenSourceFiles}, are not parsed and, hence, not passed to the requestor.
+     */
+    public void addASTRequestor(FileASTRequestor requestor) {
+        astRequestors.add(requestor);
+    }
+
     public Collection<APIUsageExample> build(String[] sourcePaths, String[] classpaths) {
         EGroumBuilder builder = new EGroumBuilder(configuration);
-        return Arrays.stream(sourcePaths)
-                .flatMap(sourcePath -> builder.buildBatch(sourcePath, classpaths).stream())
-                .map(this::toAUG)
-                .collect(Collectors.toList());
+        astRequestors.forEach(builder::addASTRequestor);
+        AUGCache cache = createCache(classpaths);
+        List<APIUsageExample> augs = new ArrayList<>();
+        for (String sourcePath : sourcePaths) {
+            if (cache == null) {
+                augs.addAll(toAUGs(builder.buildBatch(sourcePath, classpaths)));
+            } else {
+                augs.addAll(build(sourcePath, classpaths, builder, cache));
+            }
+        }
+        return augs;
+    }
+
+    /**
+     * Builds the AUGs like {@link #build(String[], String[])}, but passes the AUGs of every source file to the consumer
+     * as soon as they are built, such that neither the ASTs nor the AUGs of all files are held at once, see
+     * {@link EGroumBuilder#buildBatch(String, String[], BiConsumer)}. To bound the number of AUGs in flight, the
+     * consumer may, e.g., put them into a bounded {@link java.util.concurrent.BlockingQueue} that another thread drains.
+     */
+    public void build(String[] sourcePaths, String[] classpaths, Consumer<APIUsageExample> consumer) {
+        EGroumBuilder builder = new EGroumBuilder(configuration);
+        astRequestors.forEach(builder::addASTRequestor);
+        AUGCache cache = createCache(classpaths);
+        for (String sourcePath : sourcePaths) {
+            if (cache == null) {
+                builder.buildBatch(sourcePath, classpaths, (sourceFilePath, groums) -> toAUGs(groums).forEach(consumer));
+            } else {
+                List<File> changedFiles = new ArrayList<>();
+                for (File sourceFile : FileIO.getPaths(new File(sourcePath))) {
+                    Optional<Collection<APIUsageExample>> cachedAUGs = cache.load(sourceFile);
+                    if (cachedAUGs.isPresent()) {
+                        cachedAUGs.get().forEach(consumer);
+                    } else {
+                        changedFiles.add(sourceFile);
+                    }
+                }
+                if (!changedFiles.isEmpty()) {
+                    builder.buildBatch(sourcePath, changedFiles, classpaths, (sourceFilePath, groums) -> {
+                        List<APIUsageExample> augs = toAUGs(groums);
+                        cache.store(new File(sourceFilePath), augs);
+                        augs.forEach(consumer);
+                    });
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the configured cache or <code>null</code>, if there is none or if the AUGs cannot be cached, because the
+     * usage-example predicate has no cache key.
+     */
+    private AUGCache createCache(String[] classpaths) {
+        if (configuration.cachePath == null) {
+            return null;
+        }
+        if (configuration.usageExamplePredicate.getCacheKey() == null) {
+            LOGGER.warning("Not caching AUGs, since the usage-example predicate " + configuration.usageExamplePredicate
+                    + " has no cache key.");
+            return null;
+        }
+        return new AUGCache(configuration.cachePath, configuration, classpaths);
+    }
+
+    /**
+     * Loads the AUGs of unchanged files from the cache and builds and caches only those of the remaining files.
+     */
+    private List<APIUsageExample> build(String sourcePath, String[] classpaths, EGroumBuilder builder, AUGCache cache) {
+        List<APIUsageExample> augs = new ArrayList<>();
+        List<File> sourceFiles = FileIO.getPaths(new File(sourcePath));
+        List<File> changedFiles = new ArrayList<>();
+        for (File sourceFile : sourceFiles) {
+            Optional<Collection<APIUsageExample>> cachedAUGs = cache.load(sourceFile);
+            if (cachedAUGs.isPresent()) {
+                augs.addAll(cachedAUGs.get());
+            } else {
+                changedFiles.add(sourceFile);
+            }
+        }
+        LOGGER.info("Loaded AUGs of " + (sourceFiles.size() - changedFiles.size()) + " files from cache, building AUGs of "
+                + changedFiles.size() + " files.");
+        if (!changedFiles.isEmpty()) {
+            List<APIUsageExample> newAUGs = toAUGs(builder.buildBatch(sourcePath, changedFiles, classpaths));
+            Map<String, List<APIUsageExample>> newAUGsByFile = newAUGs.stream()
+                    .collect(Collectors.groupingBy(aug -> aug.getLocation().getFilePath()));
+            for (File sourceFile : changedFiles) {
+                cache.store(sourceFile, newAUGsByFile.getOrDefault(sourceFile.getAbsolutePath(), Collections.emptyList()));
+            }
+            augs.addAll(newAUGs);
+        }
+        return augs;
     }
 
 	public Collection<APIUsageExample> build(String sourcePath, String[] classpaths) {
@@ -62,19 +165,30 @@ public class AUGBuilder {
     }
 
     public Collection<APIUsageExample> build(String source, String basePath, String projectName, String[] classpath) {
-        return new EGroumBuilder(configuration).buildGroums(source, basePath, projectName, classpath).stream()
-                .map(this::toAUG).collect(Collectors.toList());
+        return toAUGs(new EGroumBuilder(configuration).buildGroums(source, basePath, projectName, classpath));
+    }
+
+    private List<APIUsageExample> toAUGs(List<EGroumGraph> groums) {
+        return ParallelMapper.map(groums, this::toAUG, configuration.parallelism);
     }
 
     private APIUsageExample toAUG(EGroumGraph groum) {
         LOGGER.info("Converting to AUG: " + groum.getFilePath() + " " + groum.getName());
         APIUsageExampleBuilder builder = APIUsageExampleBuilder.buildAUG(
                 new Location(groum.getProjectName(), groum.getFilePath(), getMethodSignature(groum)));
-        for (EGroumNode node : groum.getNodes()) {
+        // the graph's nodes are a hash set and the order of their edges depends on the simplification, hence, we add
+        // them in the order of the nodes' creation, such that building the same AUG again yields the same iteration
+        // order
+        List<EGroumNode> nodes = new ArrayList<>(groum.getNodes());
+        nodes.sort(Comparator.comparingInt(EGroumNode::getId));
+        for (EGroumNode node : nodes) {
             addNode(builder, node);
         }
-        for (EGroumNode node : groum.getNodes()) {
-            for (EGroumEdge edge : node.getInEdges()) {
+        for (EGroumNode node : nodes) {
+            List<EGroumEdge> inEdges = new ArrayList<>(node.getInEdges());
+            inEdges.sort(Comparator.comparingInt((EGroumEdge edge) -> edge.getSource().getId())
+                    .thenComparing(EGroumEdge::getLabel));
+            for (EGroumEdge edge : inEdges) {
                 addEdge(builder, edge);
             }
         }
@@ -296,7 +410,18 @@ public class AUGBuilder {
         // - C.method#ParamType1#ParamType2#
         // - C.method#A.B#
         // - C.I.method#
-        String[] parts = graph.getName().split("#", 2);
+        return getMethodSignature(graph.getName());
+    }
+
+    /**
+     * @return the method signature of the {@link Location} of the AUG built from the given method declaration.
+     */
+    public static String getMethodSignature(MethodDeclaration method) {
+        return getMethodSignature(JavaASTUtil.buildSignature(method));
+    }
+
+    private static String getMethodSignature(String graphName) {
+        String[] parts = graphName.split("#", 2);
         return toMethodName(parts[0]) + toParameterList(parts[1]);
     }
 
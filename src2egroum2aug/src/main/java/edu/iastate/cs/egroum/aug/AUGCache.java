@@ -0,0 +1,171 @@
+package edu.iastate.cs.egroum.aug;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
+import de.tu_darmstadt.stg.mudetect.aug.persistence.BinaryAUGReader;
+import de.tu_darmstadt.stg.mudetect.aug.persistence.BinaryAUGWriter;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Caches the AUGs built from a source file on disk. An entry is identified by the file's path, the configuration the
+ * AUGs were built with, and the classpath and JDK that bindings were resolved against, and is only valid for the file's
+ * content at the time of storing. Storing the AUGs of a
+ * file replaces any previous entry for that file.
+ */
+public class AUGCache {
+    private static final Logger LOGGER = Logger.getLogger(AUGCache.class.getSimpleName());
+
+    /**
+     * Part of every key, to be changed whenever the AUGs built from the same source change.
+     */
+    private static final int FORMAT_VERSION = 3;
+    private static final String EXTENSION = ".augs";
+
+    private final Path directory;
+    private final String configurationFingerprint;
+
+    public AUGCache(String directory, AUGConfiguration configuration) {
+        this(directory, configuration, null);
+    }
+
+    /**
+     * @param classpaths the classpath the AUGs are built with. An entry is only valid as long as the size and the
+     *                   modification time of every classpath entry stay the same.
+     */
+    public AUGCache(String directory, AUGConfiguration configuration, String[] classpaths) {
+        this.directory = Paths.get(directory);
+        this.configurationFingerprint = getFingerprint(configuration) + "|" + getClasspathFingerprint(classpaths);
+    }
+
+    /**
+     * @return the AUGs stored for the file's current content or nothing, if there are none.
+     */
+    public Optional<Collection<APIUsageExample>> load(File sourceFile) {
+        Path entry;
+        try {
+            entry = getEntry(sourceFile);
+        } catch (IOException e) {
+            LOGGER.warning("Failed to read " + sourceFile + ": " + e.getMessage());
+            return Optional.empty();
+        }
+        if (!Files.isRegularFile(entry)) {
+            return Optional.empty();
+        }
+        try (BinaryAUGReader<APIUsageExample> reader =
+                     new BinaryAUGReader<>(Files.newInputStream(entry), APIUsageExample.class)) {
+            return Optional.of(reader.readAll());
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning("Ignoring unreadable cache entry " + entry + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void store(File sourceFile, Collection<APIUsageExample> augs) {
+        try {
+            Files.createDirectories(directory);
+            Path entry = getEntry(sourceFile);
+            Path tempFile = Files.createTempFile(directory, "entry", ".tmp");
+            try {
+                try (BinaryAUGWriter writer = new BinaryAUGWriter(Files.newOutputStream(tempFile))) {
+                    for (APIUsageExample aug : augs) {
+                        writer.write(aug);
+                    }
+                }
+                removeEntries(sourceFile);
+                Files.move(tempFile, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            LOGGER.warning("Failed to cache AUGs of " + sourceFile + ": " + e.getMessage());
+        }
+    }
+
+    private void removeEntries(File sourceFile) throws IOException {
+        String prefix = getEntryPrefix(sourceFile);
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, prefix + "-*" + EXTENSION)) {
+            for (Path entry : entries) {
+                Files.deleteIfExists(entry);
+            }
+        }
+    }
+
+    private Path getEntry(File sourceFile) throws IOException {
+        String contentHash = com.google.common.io.Files.asByteSource(sourceFile).hash(Hashing.sha256()).toString();
+        return directory.resolve(getEntryPrefix(sourceFile) + "-" + contentHash + EXTENSION);
+    }
+
+    private String getEntryPrefix(File sourceFile) {
+        return Hashing.sha256().newHasher()
+                .putString(configurationFingerprint, StandardCharsets.UTF_8)
+                .putString(sourceFile.getAbsolutePath(), StandardCharsets.UTF_8)
+                .hash().toString();
+    }
+
+    /**
+     * @return a description of all configuration values that influence the AUGs. Values are described by their string
+     * representation, except for the usage-example predicate, which is described by its cache key.
+     * @throws IllegalArgumentException if the usage-example predicate has no cache key, see
+     * {@link UsageExamplePredicate#getCacheKey()}.
+     */
+    static String getFingerprint(AUGConfiguration configuration) {
+        Hasher fingerprint = Hashing.sha256().newHasher().putInt(FORMAT_VERSION);
+        Field[] fields = AUGConfiguration.class.getFields();
+        Arrays.sort(fields, Comparator.comparing(Field::getName));
+        for (Field field : fields) {
+            if (Modifier.isStatic(field.getModifiers()) || isIrrelevantForAUGs(field)) {
+                continue;
+            }
+            try {
+                Object value = field.get(configuration);
+                if (value instanceof UsageExamplePredicate) {
+                    value = ((UsageExamplePredicate) value).getCacheKey();
+                    if (value == null) {
+                        throw new IllegalArgumentException("usage-example predicate " + configuration.usageExamplePredicate
+                                + " has no cache key");
+                    }
+                }
+                fingerprint.putString(field.getName() + "=" + value + ";", StandardCharsets.UTF_8);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("cannot read configuration field " + field.getName(), e);
+            }
+        }
+        return fingerprint.hash().toString();
+    }
+
+    /**
+     * @return a description of the JDK and of the classpath entries, by their paths, sizes, and modification times,
+     * like {@link LibrarySummary} identifies libraries.
+     */
+    static String getClasspathFingerprint(String[] classpaths) {
+        Hasher fingerprint = Hashing.sha256().newHasher()
+                .putString(System.getProperty("java.home") + "|" + System.getProperty("java.version") + ";",
+                        StandardCharsets.UTF_8);
+        if (classpaths != null) {
+            for (String classpath : classpaths) {
+                Path entry = Paths.get(classpath).toAbsolutePath();
+                String description;
+                try {
+                    description = entry + "|" + Files.size(entry) + "|" + Files.getLastModifiedTime(entry).toMillis();
+                } catch (IOException e) {
+                    description = entry + "|missing";
+                }
+                fingerprint.putString(description + ";", StandardCharsets.UTF_8);
+            }
+        }
+        return fingerprint.hash().toString();
+    }
+
+    private static boolean isIrrelevantForAUGs(Field field) {
+        return field.getName().equals("parallelism") || field.getName().equals("cachePath")
+                || field.getName().equals("librarySummaryCachePath");
+    }
+}
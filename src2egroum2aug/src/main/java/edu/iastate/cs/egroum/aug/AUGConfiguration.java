@@ -98,6 +98,14 @@ public class AUGConfiguration {
 	 * Predicate that matches usage examples of interest.
 	 */
 	public UsageExamplePredicate usageExamplePredicate = UsageExamplePredicate.allUsageExamples();
+
+	/**
+	 * Whether batch builds skip parsing the source files with bindings that the usage-example predicate rules out from
+	 * their source code alone, see {@link UsageExamplePredicate#mayMatch(String, String)}. This saves the binding
+	 * resolution of these files, but the check may rule out files that use the types of interest without naming them,
+	 * e.g., through calls on the results of other calls, whose usage examples are then missed.
+	 */
+	public boolean preScreenSourceFiles = false;
 	
 	/**
 	 * 
@@ -105,4 +113,24 @@ public class AUGConfiguration {
 	public boolean buildTransitiveDataEdges = false;
 
 	public boolean encodeQualifiers = false;
+
+	/**
+	 * The number of threads to simplify EGroums and to convert them to AUGs with. Parsing and building the EGroums from
+	 * the ASTs remains sequential, since it resolves bindings. The AUGs are the same for any parallelism.
+	 */
+	public int parallelism = 1;
+
+	/**
+	 * Directory to cache the AUGs of each source file in, across runs. Only files whose content or whose configuration
+	 * changed are parsed again. The AUGs of a file may also depend on other files, e.g., through type resolution, which
+	 * the cache does not track. Without a directory, nothing is cached.
+	 */
+	public String cachePath = null;
+
+	/**
+	 * Directory to store the type summaries of the JDK and of the jar files in the source paths in, across runs. A
+	 * library is only read again, if its size or modification time changed. Without a directory, every library is read
+	 * once per process.
+	 */
+	public String librarySummaryCachePath = null;
 }
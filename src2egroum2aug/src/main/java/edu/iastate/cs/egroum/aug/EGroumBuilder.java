@@ -2,25 +2,37 @@ package edu.iastate.cs.egroum.aug;
 
 import edu.iastate.cs.egroum.utils.FileIO;
 import edu.iastate.cs.egroum.utils.JavaASTUtil;
-import org.apache.bcel.Constants;
-import org.apache.bcel.classfile.*;
-import org.apache.bcel.generic.Type;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.dom.*;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.*;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
+import java.util.function.BiConsumer;
 
 public class EGroumBuilder {
+    /**
+     * The number of graphs per thread that a batch build simplifies at once. Only the graphs of one such chunk are held
+     * before they are simplified and filtered, which bounds the memory for graphs that will be dropped.
+     */
+    private static final int GROUMS_PER_THREAD = 16;
+
     private final AUGConfiguration configuration;
+    private final List<FileASTRequestor> astRequestors = new ArrayList<>();
     
     public EGroumBuilder(AUGConfiguration configuration) {
         this.configuration = configuration;
     }
 
+	/**
+	 * Adds a requestor that receives every compilation unit that the <code>buildBatch</code> methods parse, with
+	 * resolved bindings, such that further information can be collected from the same parse that builds the graphs.
+	 * Source files that the usage-example predicate rejects before parsing are not passed to the requestor, see
+	 * {@link UsageExamplePredicate#mayMatch(String, String)}.
+	 */
+	public void addASTRequestor(FileASTRequestor requestor) {
+		astRequestors.add(requestor);
+	}
+
 	/**
 	 * @param classpaths
 	 *            if you are to parse a batch of files, do not include the
@@ -30,8 +42,52 @@ public class EGroumBuilder {
 	 */
 	public ArrayList<EGroumGraph> buildBatch(String path, String[] classpaths) {
 		buildStandardJars();
-		buildHierarchy(new File(path));
-		return buildBatchGroums(new File(path), classpaths);
+		Set<String> sourceRoots = new HashSet<>();
+		List<File> files = preScreen(FileIO.getPaths(new File(path)), sourceRoots);
+		buildHierarchy(new File(path), getAbsolutePaths(files));
+		return buildBatchGroums(new File(path), files, toSourcepaths(sourceRoots), classpaths);
+	}
+
+	/**
+	 * Builds the graphs of only the given source files below the path. Types declared in the other source files are
+	 * resolved from their source roots, see {@link #getSourceRoots(String)}.
+	 */
+	public ArrayList<EGroumGraph> buildBatch(String path, List<File> sourceFiles, String[] classpaths) {
+		buildStandardJars();
+		Set<String> sourceRoots = getSourceRoots(path);
+		List<File> files = preScreen(sourceFiles, sourceRoots);
+		buildHierarchy(new File(path), getAbsolutePaths(files));
+		return buildBatchGroums(new File(path), files, toSourcepaths(sourceRoots), classpaths);
+	}
+
+	/**
+	 * Builds the graphs like {@link #buildBatch(String, String[])}, but passes the graphs of every source file to the
+	 * consumer as soon as the file is parsed, together with the file's path, and drops the file's AST right away.
+	 * Hence, the memory required scales with the largest file, rather than with all files. Since the graphs of a file
+	 * are built before later files are parsed, the hierarchy of all files is collected beforehand, from a separate
+	 * parse without bindings.
+	 */
+	public void buildBatch(String path, String[] classpaths, BiConsumer<String, List<EGroumGraph>> consumer) {
+		buildStandardJars();
+		buildHierarchy(new File(path), Collections.emptySet());
+		EGroumBuildingContext.buildExceptionHierarchy();
+		Set<String> sourceRoots = new HashSet<>();
+		List<File> files = preScreen(FileIO.getPaths(new File(path)), sourceRoots);
+		streamBatchGroums(new File(path), files, toSourcepaths(sourceRoots), classpaths, consumer);
+	}
+
+	/**
+	 * Builds the graphs of only the given source files below the path, like
+	 * {@link #buildBatch(String, List, String[])}, but passes them to the consumer file by file, like
+	 * {@link #buildBatch(String, String[], BiConsumer)}.
+	 */
+	public void buildBatch(String path, List<File> sourceFiles, String[] classpaths, BiConsumer<String, List<EGroumGraph>> consumer) {
+		buildStandardJars();
+		buildHierarchy(new File(path), Collections.emptySet());
+		EGroumBuildingContext.buildExceptionHierarchy();
+		Set<String> sourceRoots = getSourceRoots(path);
+		List<File> files = preScreen(sourceFiles, sourceRoots);
+		streamBatchGroums(new File(path), files, toSourcepaths(sourceRoots), classpaths, consumer);
 	}
 
 	/**
@@ -43,34 +99,95 @@ public class EGroumBuilder {
 	 */
 	public ArrayList<EGroumGraph> build(String path, String[] classpaths) {
 		buildStandardJars();
-		buildHierarchy(new File(path));
+		buildHierarchy(new File(path), Collections.emptySet());
+		EGroumBuildingContext.buildExceptionHierarchy();
 		return buildGroums(new File(path), classpaths);
 	}
 
 	private void buildStandardJars() {
-		String jrePath = System.getProperty("java.home") + "/lib";
-		buildJar(jrePath + "/rt.jar");
+		File rtJar = new File(System.getProperty("java.home") + "/lib/rt.jar");
+		LibrarySummary.publish(rtJar.isFile() ? rtJar.getPath() : LibrarySummary.JRT, configuration.librarySummaryCachePath);
 	}
 
-	private void buildHierarchy(File file) {
+	/**
+	 * Drops the source files that the usage-example predicate rejects from their source code alone, such that they are
+	 * not parsed with bindings, see {@link UsageExamplePredicate#mayMatch(String, String)}, if
+	 * {@link AUGConfiguration#preScreenSourceFiles} is set. Adds the source roots of the dropped files to the given
+	 * roots, such that types declared in these files are still resolved from source.
+	 */
+	private List<File> preScreen(List<File> files, Set<String> sourceRoots) {
+		if (!configuration.preScreenSourceFiles)
+			return files;
+		List<File> screenedFiles = new ArrayList<>();
+		for (File file : files) {
+			String sourceCode = FileIO.readStringFromFile(file.getAbsolutePath());
+			if (configuration.usageExamplePredicate.mayMatch(file.getAbsolutePath(), sourceCode))
+				screenedFiles.add(file);
+			else
+				sourceRoots.add(getSourceRoot(file, sourceCode));
+		}
+		return screenedFiles;
+	}
+
+	/**
+	 * @return the source roots of all source files below the path, derived from their package declarations, which the
+	 * path itself is not, if it contains, e.g., a <code>src/main/java</code> directory.
+	 */
+	private static Set<String> getSourceRoots(String path) {
+		Set<String> sourceRoots = new HashSet<>();
+		for (File file : FileIO.getPaths(new File(path)))
+			sourceRoots.add(getSourceRoot(file, FileIO.readStringFromFile(file.getAbsolutePath())));
+		return sourceRoots;
+	}
+
+	private static String getSourceRoot(File file, String sourceCode) {
+		File root = file.getAbsoluteFile().getParentFile();
+		String packageName = JavaASTUtil.getPackageName(sourceCode);
+		if (packageName != null) {
+			String[] segments = packageName.split("\\.");
+			for (int i = segments.length - 1; i >= 0 && root.getParentFile() != null && root.getName().equals(segments[i]); i--)
+				root = root.getParentFile();
+		}
+		return root.getAbsolutePath();
+	}
+
+	private static String[] toSourcepaths(Set<String> sourceRoots) {
+		return sourceRoots.isEmpty() ? null : sourceRoots.toArray(new String[sourceRoots.size()]);
+	}
+
+	private static Set<String> getAbsolutePaths(List<File> files) {
+		Set<String> paths = new HashSet<>();
+		for (File file : files)
+			paths.add(file.getAbsolutePath());
+		return paths;
+	}
+
+	/**
+	 * Collects the hierarchy of the jar files and of the source files below the file, except for the source files that
+	 * are parsed in the batch anyways, whose hierarchy is collected from the batch parse, see
+	 * {@link #buildBatchGroums(File, List, String[], String[])}.
+	 */
+	private void buildHierarchy(File file, Set<String> batchFilePaths) {
 		if (file.isDirectory()) {
 			for (File sub : file.listFiles())
-				buildHierarchy(sub);
+				buildHierarchy(sub, batchFilePaths);
 		} else if (file.isFile()) {
 			if (file.getName().endsWith(".jar"))
-				buildJar(file.getAbsolutePath());
-			else if (file.getName().endsWith(".java")) {
+				LibrarySummary.publish(file.getAbsolutePath(), configuration.librarySummaryCachePath);
+			else if (file.getName().endsWith(".java") && !batchFilePaths.contains(file.getAbsolutePath())) {
 				try {
-					CompilationUnit cu = (CompilationUnit) JavaASTUtil.parseSource(FileIO.readStringFromFile(file.getAbsolutePath()));
-					for (int i = 0 ; i < cu.types().size(); i++)
-						buildHierarchy((AbstractTypeDeclaration) cu.types().get(i), cu.getPackage() == null ? "" : cu.getPackage().getName().getFullyQualifiedName() + ".");
+					buildHierarchy((CompilationUnit) JavaASTUtil.parseSource(FileIO.readStringFromFile(file.getAbsolutePath())));
 				} catch (Exception e) {
 					System.err.println("Failed to parse file " + file.getAbsolutePath() + ": " + e.getClass().getName());
 					// TODO Suppress runtime problems with unknown reason
 				}
 			}
 		}
-		EGroumBuildingContext.buildExceptionHierarchy();
+	}
+
+	private void buildHierarchy(CompilationUnit cu) {
+		for (int i = 0 ; i < cu.types().size(); i++)
+			buildHierarchy((AbstractTypeDeclaration) cu.types().get(i), cu.getPackage() == null ? "" : cu.getPackage().getName().getFullyQualifiedName() + ".");
 	}
 
 	private void buildHierarchy(AbstractTypeDeclaration type, String prefix) {
@@ -86,39 +203,24 @@ public class EGroumBuilder {
 		String className = prefix + type.getName().getIdentifier();
 		if (type.getSuperclassType() != null) {
 			String stype = JavaASTUtil.getSimpleType(type.getSuperclassType());
-			HashSet<String> subs =  EGroumBuildingContext.exceptionHierarchy.get(stype);
-			if (subs == null) {
-				subs = new HashSet<>();
-				EGroumBuildingContext.exceptionHierarchy.put(stype, subs);
-			}
-			subs.add(className);
+			EGroumBuildingContext.addSubType(stype, className);
 		}
-		HashMap<String, String> fieldTypes = EGroumBuildingContext.typeFieldType.get(className);
-		if (fieldTypes == null)
-			fieldTypes = new HashMap<>();
+		HashMap<String, String> fieldTypes = new HashMap<>();
 		for (FieldDeclaration field : type.getFields())
 			buildHierarchy(field, fieldTypes);
-		if (!fieldTypes.isEmpty())
-			EGroumBuildingContext.typeFieldType.put(className, fieldTypes);
-		HashMap<String, HashSet<String>> methodExceptions = EGroumBuildingContext.typeMethodExceptions.get(className);
-		if (methodExceptions == null)
-			methodExceptions = new HashMap<>();
+		EGroumBuildingContext.addFieldTypes(className, fieldTypes);
+		HashMap<String, HashSet<String>> methodExceptions = new HashMap<>();
 		for (MethodDeclaration method : type.getMethods())
 			buildHierarchy(method, methodExceptions);
-		if (!methodExceptions.isEmpty())
-			EGroumBuildingContext.typeMethodExceptions.put(className, methodExceptions);
+		EGroumBuildingContext.addMethodExceptions(className, methodExceptions);
 		for (TypeDeclaration inner : type.getTypes())
 			buildHierarchy(inner, className + ".");
 	}
 
 	private void buildHierarchy(EnumDeclaration ed, String prefix) {
 		String className = prefix + ed.getName().getIdentifier();
-		HashMap<String, String> fieldTypes = EGroumBuildingContext.typeFieldType.get(className);
-		if (fieldTypes == null)
-			fieldTypes = new HashMap<>();
-		HashMap<String, HashSet<String>> methodExceptions = EGroumBuildingContext.typeMethodExceptions.get(className);
-		if (methodExceptions == null)
-			methodExceptions = new HashMap<>();
+		HashMap<String, String> fieldTypes = new HashMap<>();
+		HashMap<String, HashSet<String>> methodExceptions = new HashMap<>();
 		for (int i = 0; i < ed.bodyDeclarations().size(); i++) {
 			BodyDeclaration bd = (BodyDeclaration) ed.bodyDeclarations().get(i);
 			if (bd instanceof FieldDeclaration)
@@ -126,10 +228,8 @@ public class EGroumBuilder {
 			else if (bd instanceof MethodDeclaration)
 				buildHierarchy((MethodDeclaration) bd, methodExceptions);
 		}
-		if (!fieldTypes.isEmpty())
-			EGroumBuildingContext.typeFieldType.put(className, fieldTypes);
-		if (!methodExceptions.isEmpty())
-			EGroumBuildingContext.typeMethodExceptions.put(className, methodExceptions);
+		EGroumBuildingContext.addFieldTypes(className, fieldTypes);
+		EGroumBuildingContext.addMethodExceptions(className, methodExceptions);
 	}
 
 	private void buildHierarchy(AnnotationTypeDeclaration type, String prefix) {
@@ -161,135 +261,6 @@ public class EGroumBuilder {
 			methodExceptions.put(name, exceptions);
 	}
 
-	private void buildJar(String jarFilePath) {
-		try {
-			JarFile jarFile = new JarFile(jarFilePath);
-			Enumeration<JarEntry> entries = jarFile.entries();
-			while(entries.hasMoreElements()) {
-				JarEntry entry = entries.nextElement();
-				if(entry.getName().endsWith(".class") && entry.getName().startsWith("java")) {
-					try {
-						ClassParser parser = new ClassParser(jarFilePath, entry.getName());
-						JavaClass jc = parser.parse();
-						String className = jc.getClassName();
-						className = className.replace('$', '.');
-						HashMap<String, String> fieldTypes = EGroumBuildingContext.typeFieldType.get(className);
-						if (fieldTypes == null)
-							fieldTypes = new HashMap<>();
-						for (Field field : jc.getFields())
-							buildJar(field, fieldTypes);
-						if (!fieldTypes.isEmpty())
-							EGroumBuildingContext.typeFieldType.put(className, fieldTypes);
-						String simpleClassName = className.substring(className.lastIndexOf('.') + 1);
-						HashMap<String, HashSet<String>> methodExceptions = EGroumBuildingContext.typeMethodExceptions.get(simpleClassName);
-						if (methodExceptions == null)
-							methodExceptions = new HashMap<>();
-						for (Method method : jc.getMethods())
-							buildJar(method, methodExceptions);
-						if (!methodExceptions.isEmpty())
-							EGroumBuildingContext.typeMethodExceptions.put(simpleClassName, methodExceptions);
-						if (jc.getSuperclassName() != null) {
-							String stype = FileIO.getSimpleClassName(jc.getSuperclassName());
-							HashSet<String> subs =  EGroumBuildingContext.exceptionHierarchy.get(stype);
-							if (subs == null) {
-								subs = new HashSet<>();
-								EGroumBuildingContext.exceptionHierarchy.put(stype, subs);
-							}
-							subs.add(simpleClassName);
-						}
-					} catch (IOException | ClassFormatException e) {
-						System.err.println("Error in parsing class file: " + entry.getName());
-						System.err.println(e.getMessage());
-					}
-				}
-			}
-			jarFile.close();
-		} catch (IOException e) {
-			System.err.println("Error in parsing jar file: " + jarFilePath);
-			//e.printStackTrace();
-			System.err.println(e.getMessage());
-		}
-	}
-
-	private void buildJar(Field field, HashMap<String, String> fieldTypes) {
-		String name = field.getName();
-		if (name.startsWith("this$"))
-			return;
-		String type = getSimpleType(field.getType());
-		fieldTypes.put(name, type);
-	}
-
-	private void buildJar(Method method, HashMap<String, HashSet<String>> methodExceptions) {
-		String name = method.getName();
-		name += "(" + method.getArgumentTypes().length + ")";
-		HashSet<String> exceptions = methodExceptions.get(name);
-		if (exceptions == null)
-			exceptions = new HashSet<>();
-		if (method.getExceptionTable() != null)
-			for (String exception: method.getExceptionTable().getExceptionNames())
-				exceptions.add(exception.substring(exception.lastIndexOf('.') + 1));
-		if (!exceptions.isEmpty())
-			methodExceptions.put(name, exceptions);
-	}
-	
-	/*
-	 * Modify com.sun.org.apache.bcel.internal.generic.Type.toString()
-	 */
-	private String getSimpleType(Type type) {
-	    return ((type.equals(Type.NULL) || (type.getType() >= Constants.T_UNKNOWN)))? type.getSignature() : signatureToString(type.getSignature());
-	}
-	
-	/*
-	 * Modify com.sun.org.apache.bcel.internal.classfile.Utility.signatureToString(signature, false)
-	 */
-	private String signatureToString(String signature) {
-	    try {
-	      switch(signature.charAt(0)) {
-	      case 'B' : return "number"; //return "byte";
-	      case 'C' : return "char";
-	      case 'D' : return "number"; //return "double";
-	      case 'F' : return "number"; //return "float";
-	      case 'I' : return "number"; //return "int";
-	      case 'J' : return "number"; //return "long";
-
-	      case 'L' : { // Full class name
-	        int    index = signature.indexOf(';'); // Look for closing `;'
-
-	        if(index < 0)
-	          throw new ClassFormatException("Invalid signature: " + signature);
-
-	        return compactClassName(signature.substring(1, index));
-	      }
-
-	      case 'S' : return "number"; //return "short";
-	      case 'Z' : return "boolean";
-
-	      case '[' : { // Array declaration
-	        int n;
-	        StringBuffer brackets;
-
-	        brackets = new StringBuffer(); // Accumulate []'s
-
-	        // Count opening brackets and look for optional size argument
-	        for(n=0; signature.charAt(n) == '['; n++)
-	          brackets.append("[]");
-
-	        // The rest of the string denotes a `<field_type>'
-	        String type = signatureToString(signature.substring(n));
-
-	        return type + brackets.toString();
-	      }
-
-	      case 'V' : return "void";
-
-	      default  : throw new ClassFormatException("Invalid signature: `" +
-	                                            signature + "'");
-	      }
-	    } catch(StringIndexOutOfBoundsException e) { // Should never occur
-	      throw new ClassFormatException("Invalid signature: " + e + ":" + signature);
-	    }
-	}
-	
 	/*
 	 * Modify com.sun.org.apache.bcel.internal.classfile.Utility.compactClassName(long class name, false)
 	 */
@@ -302,18 +273,68 @@ public class EGroumBuilder {
 		return className;
 	}
 
-	private ArrayList<EGroumGraph> buildBatchGroums(File dir, String[] classpaths) {
-		ArrayList<File> files = FileIO.getPaths(dir);
+	private ArrayList<EGroumGraph> buildBatchGroums(File dir, List<File> files, String[] sourcepaths, String[] classpaths) {
+		HashMap<String, CompilationUnit> cus = new HashMap<>();
+		parseBatch(files, sourcepaths, classpaths, (sourceFilePath, cu) -> {
+			try {
+				buildHierarchy(cu);
+			} catch (Exception e) {
+				System.err.println("Failed to collect hierarchy of file " + sourceFilePath + ": " + e.getClass().getName());
+			}
+			if (configuration.usageExamplePredicate.matches(sourceFilePath, cu))
+				cus.put(sourceFilePath, cu);
+		});
+		EGroumBuildingContext.buildExceptionHierarchy();
+		ArrayList<EGroumGraph> groums = new ArrayList<>();
+		List<EGroumGraph> unsimplifiedGroums = new ArrayList<>();
+		for (String path : cus.keySet()) {
+			CompilationUnit cu = cus.get(path);
+			for (int i = 0 ; i < cu.types().size(); i++)
+				if (cu.types().get(i) instanceof TypeDeclaration)
+					unsimplifiedGroums.addAll(buildGroums((TypeDeclaration) cu.types().get(i), path, ""));
+			if (unsimplifiedGroums.size() >= GROUMS_PER_THREAD * configuration.parallelism) {
+				groums.addAll(simplify(unsimplifiedGroums));
+				unsimplifiedGroums.clear();
+			}
+		}
+		groums.addAll(simplify(unsimplifiedGroums));
+		for (EGroumGraph groum : groums) {
+			groum.setProjectName(dir.getAbsolutePath());
+		}
+		return groums;
+	}
+
+	private void streamBatchGroums(File dir, List<File> files, String[] sourcepaths, String[] classpaths, BiConsumer<String, List<EGroumGraph>> consumer) {
+		parseBatch(files, sourcepaths, classpaths, (sourceFilePath, cu) -> {
+			ArrayList<EGroumGraph> groums = new ArrayList<>();
+			if (configuration.usageExamplePredicate.matches(sourceFilePath, cu)) {
+				for (int i = 0 ; i < cu.types().size(); i++)
+					if (cu.types().get(i) instanceof TypeDeclaration)
+						groums.addAll(buildGroums((TypeDeclaration) cu.types().get(i), sourceFilePath, ""));
+				groums = simplify(groums);
+				for (EGroumGraph groum : groums) {
+					groum.setProjectName(dir.getAbsolutePath());
+				}
+			}
+			consumer.accept(sourceFilePath, groums);
+		});
+	}
+
+	/**
+	 * Parses the files with resolved bindings and passes every compilation unit to the {@link #astRequestors} and, then,
+	 * to the consumer.
+	 */
+	private void parseBatch(List<File> files, String[] sourcepaths, String[] classpaths, BiConsumer<String, CompilationUnit> consumer) {
 		String[] paths = new String[files.size()];
 		for (int i = 0; i < files.size(); i++) {
 			paths[i] = files.get(i).getAbsolutePath();
 		}
-		HashMap<String, CompilationUnit> cus = new HashMap<>();
 		FileASTRequestor r = new FileASTRequestor() {
 			@Override
 			public void acceptAST(String sourceFilePath, CompilationUnit cu) {
-				if (configuration.usageExamplePredicate.matches(sourceFilePath, cu))
-					cus.put(sourceFilePath, cu);
+				for (FileASTRequestor requestor : astRequestors)
+					requestor.acceptAST(sourceFilePath, cu);
+				consumer.accept(sourceFilePath, cu);
 			}
 		};
 		@SuppressWarnings("rawtypes")
@@ -325,23 +346,12 @@ public class EGroumBuilder {
 		parser.setCompilerOptions(options);
 		parser.setEnvironment(
 				classpaths == null ? new String[0] : classpaths,
-				new String[]{}, 
-				new String[]{}, 
+				sourcepaths == null ? new String[]{} : sourcepaths,
+				sourcepaths == null ? new String[]{} : null,
 				true);
 		parser.setResolveBindings(true);
 		parser.setBindingsRecovery(true);
 		parser.createASTs(paths, null, new String[0], r, null);
-		ArrayList<EGroumGraph> groums = new ArrayList<>();
-		for (String path : cus.keySet()) {
-			CompilationUnit cu = cus.get(path);
-			for (int i = 0 ; i < cu.types().size(); i++)
-				if (cu.types().get(i) instanceof TypeDeclaration)
-					groums.addAll(buildGroums((TypeDeclaration) cu.types().get(i), path, ""));
-		}
-		for (EGroumGraph groum : groums) {
-			groum.setProjectName(dir.getAbsolutePath());
-		}
-		return groums;
 	}
 
 	private ArrayList<EGroumGraph> buildGroums(File file, String[] classpaths) {
@@ -369,26 +379,39 @@ public class EGroumBuilder {
 		for (int i = 0 ; i < cu.types().size(); i++)
 			if (cu.types().get(i) instanceof TypeDeclaration)
 				groums.addAll(buildGroums((TypeDeclaration) cu.types().get(i), path, ""));
-		return groums;
+		return simplify(groums);
 	}
 
+	/**
+	 * @return the not yet simplified graphs of the type's methods, see {@link #simplify(List)}.
+	 */
 	private ArrayList<EGroumGraph> buildGroums(TypeDeclaration type, String path, String prefix) {
 		ArrayList<EGroumGraph> groums = new ArrayList<>();
 		for (MethodDeclaration method : type.getMethods())
-			if (configuration.usageExamplePredicate.matches(method)) {
-				EGroumGraph g = buildGroum(method, path, prefix + type.getName().getIdentifier() + ".");
-				if (configuration.usageExamplePredicate.matches(g))
-					groums.add(g);
-			}
+			if (configuration.usageExamplePredicate.matches(method))
+				groums.add(buildGroum(method, path, prefix + type.getName().getIdentifier() + "."));
 		for (TypeDeclaration inner : type.getTypes())
 			groums.addAll(buildGroums(inner, path, prefix + type.getName().getIdentifier() + "."));
 		return groums;
 	}
 
+	/**
+	 * Simplifies the graphs and keeps those that match the usage-example predicate, in their original order. Building
+	 * the graphs resolves bindings, which JDT does not support concurrently, but simplifying them uses
+	 * {@link AUGConfiguration#parallelism} threads.
+	 */
+	private ArrayList<EGroumGraph> simplify(List<EGroumGraph> groums) {
+		ArrayList<EGroumGraph> simplifiedGroums = new ArrayList<>();
+		for (EGroumGraph g : ParallelMapper.map(groums, g -> { g.simplify(); return g; }, configuration.parallelism))
+			if (configuration.usageExamplePredicate.matches(g))
+				simplifiedGroums.add(g);
+		return simplifiedGroums;
+	}
+
 	EGroumGraph buildGroum(MethodDeclaration method, String filepath, String name) {
 		String sig = JavaASTUtil.buildSignature(method);
 		System.out.println(filepath + " " + name + sig);
-		EGroumGraph g = new EGroumGraph(method, new EGroumBuildingContext(false), configuration);
+		EGroumGraph g = new EGroumGraph(method, new EGroumBuildingContext(false), configuration, false);
 		g.setFilePath(filepath);
 		g.setName(name + sig);
 		return g;
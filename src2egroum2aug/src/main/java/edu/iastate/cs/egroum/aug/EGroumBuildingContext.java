@@ -3,7 +3,11 @@ package edu.iastate.cs.egroum.aug;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import edu.iastate.cs.egroum.utils.JavaASTUtil;
 import org.eclipse.jdt.core.dom.ASTNode;
@@ -24,9 +28,13 @@ import org.eclipse.jdt.core.dom.TypeDeclaration;
 import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
 
 public class EGroumBuildingContext {
-	public static HashMap<String, HashMap<String, String>> typeFieldType = new HashMap<>();
-	public static HashMap<String, HashMap<String, HashSet<String>>> typeMethodExceptions = new HashMap<>();
-	public static HashMap<String, HashSet<String>> exceptionHierarchy = new HashMap<>();
+	/*
+	 * The type information is shared by all builders and may be extended and read concurrently. The nested maps are
+	 * never modified after they have been published, but replaced by extended copies.
+	 */
+	public static final ConcurrentMap<String, HashMap<String, String>> typeFieldType = new ConcurrentHashMap<>();
+	public static final ConcurrentMap<String, HashMap<String, HashSet<String>>> typeMethodExceptions = new ConcurrentHashMap<>();
+	public static final ConcurrentMap<String, Set<String>> exceptionHierarchy = new ConcurrentHashMap<>();
 	
 	private MethodDeclaration method;
 	private String type = "this", superType = "Object";
@@ -162,7 +170,7 @@ public class EGroumBuildingContext {
 			return false;
 		if (type.equals(otherType))
 			return true;
-		HashSet<String> subs = exceptionHierarchy.get(type);
+		Set<String> subs = exceptionHierarchy.get(type);
 		if (subs != null) {
 			if (subs.contains(otherType))
 				return true;
@@ -306,19 +314,47 @@ public class EGroumBuildingContext {
 		return null;
 	}
 
+	public static void addFieldTypes(String type, Map<String, String> fieldTypes) {
+		if (fieldTypes.isEmpty())
+			return;
+		typeFieldType.compute(type, (t, knownFieldTypes) -> {
+			HashMap<String, String> allFieldTypes = knownFieldTypes == null ? new HashMap<>() : new HashMap<>(knownFieldTypes);
+			allFieldTypes.putAll(fieldTypes);
+			return allFieldTypes;
+		});
+	}
+
+	public static void addMethodExceptions(String type, Map<String, HashSet<String>> methodExceptions) {
+		if (methodExceptions.isEmpty())
+			return;
+		typeMethodExceptions.compute(type, (t, knownMethodExceptions) -> {
+			HashMap<String, HashSet<String>> allMethodExceptions = knownMethodExceptions == null ? new HashMap<>() : new HashMap<>(knownMethodExceptions);
+			for (Map.Entry<String, HashSet<String>> entry : methodExceptions.entrySet()) {
+				HashSet<String> exceptions = new HashSet<>(entry.getValue());
+				HashSet<String> knownExceptions = allMethodExceptions.get(entry.getKey());
+				if (knownExceptions != null)
+					exceptions.addAll(knownExceptions);
+				allMethodExceptions.put(entry.getKey(), exceptions);
+			}
+			return allMethodExceptions;
+		});
+	}
+
+	public static void addSubType(String superType, String subType) {
+		exceptionHierarchy.computeIfAbsent(superType, t -> ConcurrentHashMap.newKeySet()).add(subType);
+	}
+
 	public static void buildExceptionHierarchy() {
 		HashSet<String> exceptionTypes = new HashSet<>();
 		buildExceptionHierarchy("Throwable", exceptionTypes);
-		for (String type : new HashSet<String>(exceptionHierarchy.keySet()))
-			if (!exceptionTypes.contains(type))
-				exceptionHierarchy.remove(type);
+		exceptionHierarchy.keySet().retainAll(exceptionTypes);
 	}
 
 	private static void buildExceptionHierarchy(String type, HashSet<String> exceptionTypes) {
 		if (exceptionTypes.contains(type))
 			return;
 		exceptionTypes.add(type);
-		HashSet<String> subs = exceptionHierarchy.get(type);
+		Set<String> subs = exceptionHierarchy.get(type);
 		if (subs != null)
 			for (String sub : subs)
 				buildExceptionHierarchy(sub, exceptionTypes);
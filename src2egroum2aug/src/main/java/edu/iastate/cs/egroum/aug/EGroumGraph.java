@@ -15,6 +15,7 @@ import static java.util.stream.Collectors.toList;
 
 public class EGroumGraph implements Serializable {
 	private static final long serialVersionUID = -5128703931982211886L;
+	private static final Object BINDING_LOCK = new Object();
 
 	private final AUGConfiguration configuration;
 
@@ -31,6 +32,15 @@ public class EGroumGraph implements Serializable {
 	protected HashSet<EGroumNode> returns = new HashSet<>();
 	
 	public EGroumGraph(MethodDeclaration md, EGroumBuildingContext context, AUGConfiguration configuration) {
+		this(md, context, configuration, true);
+	}
+
+	/**
+	 * @param simplify whether to simplify the graph right away. Otherwise, the graph remains as built from the method's
+	 *                 AST until {@link #simplify()} is called. Only building the graph resolves bindings, such that the
+	 *                 graphs of the methods of one batch may be simplified in parallel.
+	 */
+	EGroumGraph(MethodDeclaration md, EGroumBuildingContext context, AUGConfiguration configuration, boolean simplify) {
 		this(context, configuration);
 		if (isTooSmall(md))
 			return;
@@ -68,6 +78,13 @@ public class EGroumGraph implements Serializable {
 		}
 		adjustControlEdges();
 		context.removeScope();
+		if (simplify)
+			simplify();
+	}
+
+	void simplify() {
+		if (entryNode == null)
+			return;
 		deleteOperators();
 		if (configuration.collapseTemporaryDataNodes)
 			deleteTemporaryDataNodes();
@@ -2353,21 +2370,24 @@ public class EGroumGraph implements Serializable {
 			return false;
 		if (!(node.astNode instanceof SimpleName))
 			return false;
-		IBinding b = ((SimpleName)(node.astNode)).resolveBinding();
-		if (b == null || !(b instanceof IVariableBinding))
-			return false;
-		IVariableBinding vb = (IVariableBinding) b;
-		vb = vb.getVariableDeclaration();
-		String vbKey = vb.getKey();
 		MethodDeclaration md = getContainingMethod(node);
 		if (md == null)
 			return false;
-		IMethodBinding mb = md.resolveBinding();
-		if (mb == null)
-			return false;
-		mb = mb.getMethodDeclaration();
-		String mbKey = mb.getKey();
-		return !vbKey.startsWith(mbKey);
+		// The binding tables are shared by all ASTs of a batch, which may be simplified in parallel.
+		synchronized (BINDING_LOCK) {
+			IBinding b = ((SimpleName)(node.astNode)).resolveBinding();
+			if (b == null || !(b instanceof IVariableBinding))
+				return false;
+			IVariableBinding vb = (IVariableBinding) b;
+			vb = vb.getVariableDeclaration();
+			String vbKey = vb.getKey();
+			IMethodBinding mb = md.resolveBinding();
+			if (mb == null)
+				return false;
+			mb = mb.getMethodDeclaration();
+			String mbKey = mb.getKey();
+			return !vbKey.startsWith(mbKey);
+		}
 	}
 
 	private MethodDeclaration getContainingMethod(EGroumNode node) {
@@ -2644,4 +2664,4 @@ public class EGroumGraph implements Serializable {
 	private DotGraph toDotGraph(String s) {
 		return new DotGraph(this, s);
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
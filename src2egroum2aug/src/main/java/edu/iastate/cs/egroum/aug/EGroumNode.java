@@ -1,6 +1,7 @@
 package edu.iastate.cs.egroum.aug;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import edu.iastate.cs.egroum.utils.JavaASTUtil;
 import org.eclipse.jdt.core.dom.ASTNode;
@@ -10,7 +11,7 @@ import static edu.iastate.cs.egroum.aug.EGroumDataEdge.Type.*;
 
 public abstract class EGroumNode {
 	protected static final String PREFIX_DUMMY = "dummy_";
-	public static int numOfNodes = 0;
+	public static final AtomicInteger numOfNodes = new AtomicInteger();
 	private static HashSet<Integer> invocationTypes = new HashSet<>(), controlTypes = new HashSet<>(), literalTypes = new HashSet<>();
 
 	static {
@@ -62,7 +63,7 @@ public abstract class EGroumNode {
 	protected HashMap<String, HashSet<EGroumDataNode>> defStore = new HashMap<>();
 
 	public EGroumNode(ASTNode astNode, int nodeType) {
-		this.id = ++numOfNodes;
+		this.id = numOfNodes.incrementAndGet();
 		this.astNode = astNode;
 		this.astNodeType = nodeType;
 		this.sourceLineNumber = -1;
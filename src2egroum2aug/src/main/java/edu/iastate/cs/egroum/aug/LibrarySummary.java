@@ -0,0 +1,364 @@
+package edu.iastate.cs.egroum.aug;
+
+import com.google.common.hash.Hashing;
+import edu.iastate.cs.egroum.utils.FileIO;
+import org.apache.bcel.Constants;
+import org.apache.bcel.classfile.*;
+import org.apache.bcel.generic.Type;
+
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * The type information of the <code>java*</code> classes of a library, i.e., of a jar file or of the runtime image of
+ * the running JDK, as {@link EGroumBuildingContext} uses it: the field types and the exceptions thrown by the methods
+ * of each type, and the sub types of each type.
+ *
+ * A summary is published to {@link EGroumBuildingContext} at most once per process. With a cache directory, summaries
+ * are also stored on disk, identified by the library's path, size, and modification time, such that every library is
+ * read only once across runs.
+ */
+class LibrarySummary {
+    private static final Logger LOGGER = Logger.getLogger(LibrarySummary.class.getSimpleName());
+
+    /**
+     * The library of the running JDK's runtime image, for JDKs that have no <code>rt.jar</code> anymore.
+     */
+    static final String JRT = "jrt:/";
+
+    /**
+     * Part of every key, to be changed whenever the summary of the same library changes.
+     */
+    private static final int FORMAT_VERSION = 1;
+    private static final String EXTENSION = ".summary";
+
+    private static final Set<String> publishedLibraries = new HashSet<>();
+
+    private final Map<String, HashMap<String, String>> fieldTypes = new HashMap<>();
+    private final Map<String, HashMap<String, HashSet<String>>> methodExceptions = new HashMap<>();
+    private final Map<String, HashSet<String>> subTypes = new HashMap<>();
+
+    /**
+     * Publishes the summary of the library, unless it was published before. The summary is loaded from the cache
+     * directory, if it has an entry for the library's current state, and is otherwise read from the library and
+     * stored in the cache directory.
+     *
+     * @param library   the path of a jar file or {@link #JRT}
+     * @param cachePath the cache directory or <code>null</code>, to not cache summaries on disk
+     */
+    static synchronized void publish(String library, String cachePath) {
+        String key;
+        try {
+            key = getKey(library);
+        } catch (IOException e) {
+            LOGGER.warning("Failed to read library " + library + ": " + e.getMessage());
+            return;
+        }
+        if (publishedLibraries.contains(key)) {
+            return;
+        }
+        get(library, key, cachePath).publish();
+        publishedLibraries.add(key);
+    }
+
+    /**
+     * @return the summary of the library, loaded from the cache directory, if possible
+     */
+    static LibrarySummary get(String library, String cachePath) throws IOException {
+        return get(library, getKey(library), cachePath);
+    }
+
+    private static LibrarySummary get(String library, String key, String cachePath) {
+        Path entry = cachePath == null ? null : Paths.get(cachePath).resolve(getEntryName(key));
+        LibrarySummary summary = entry == null ? null : load(entry, key);
+        if (summary == null) {
+            summary = read(library);
+            if (entry != null) {
+                summary.store(entry, key);
+            }
+        }
+        return summary;
+    }
+
+    private void publish() {
+        for (Map.Entry<String, HashMap<String, String>> entry : fieldTypes.entrySet()) {
+            EGroumBuildingContext.addFieldTypes(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, HashMap<String, HashSet<String>>> entry : methodExceptions.entrySet()) {
+            EGroumBuildingContext.addMethodExceptions(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, HashSet<String>> entry : subTypes.entrySet()) {
+            for (String subType : entry.getValue()) {
+                EGroumBuildingContext.addSubType(entry.getKey(), subType);
+            }
+        }
+    }
+
+    private static String getKey(String library) throws IOException {
+        if (library.equals(JRT)) {
+            Path modules = Paths.get(System.getProperty("java.home"), "lib", "modules");
+            return FORMAT_VERSION + "|" + JRT + "|" + System.getProperty("java.home") + "|"
+                    + System.getProperty("java.version") + "|" + Files.size(modules) + "|"
+                    + Files.getLastModifiedTime(modules).toMillis();
+        }
+        Path jar = Paths.get(library).toAbsolutePath();
+        return FORMAT_VERSION + "|" + jar + "|" + Files.size(jar) + "|" + Files.getLastModifiedTime(jar).toMillis();
+    }
+
+    private static String getEntryName(String key) {
+        return Hashing.sha256().hashString(key, StandardCharsets.UTF_8).toString() + EXTENSION;
+    }
+
+    private static LibrarySummary read(String library) {
+        LibrarySummary summary = new LibrarySummary();
+        if (library.equals(JRT)) {
+            summary.readJRT();
+        } else {
+            summary.readJar(library);
+        }
+        return summary;
+    }
+
+    private void readJar(String jarFilePath) {
+        try (JarFile jarFile = new JarFile(jarFilePath)) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                if (isSummarized(entry.getName())) {
+                    try (InputStream in = jarFile.getInputStream(entry)) {
+                        addClass(new ClassParser(in, entry.getName()).parse());
+                    } catch (IOException | ClassFormatException e) {
+                        LOGGER.warning("Failed to parse class file " + entry.getName() + ": " + e.getMessage());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warning("Failed to parse jar file " + jarFilePath + ": " + e.getMessage());
+        }
+    }
+
+    private void readJRT() {
+        try (Stream<Path> modules = Files.list(FileSystems.getFileSystem(URI.create(JRT)).getPath("/modules"))) {
+            for (Path module : (Iterable<Path>) modules::iterator) {
+                try (Stream<Path> classFiles = Files.walk(module)) {
+                    for (Path classFile : (Iterable<Path>) classFiles::iterator) {
+                        String name = module.relativize(classFile).toString();
+                        if (isSummarized(name)) {
+                            try (InputStream in = Files.newInputStream(classFile)) {
+                                addClass(new ClassParser(in, name).parse());
+                            } catch (IOException | ClassFormatException e) {
+                                LOGGER.warning("Failed to parse class file " + classFile + ": " + e.getMessage());
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning("Failed to read the runtime image " + JRT + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean isSummarized(String classFileName) {
+        return classFileName.endsWith(".class") && classFileName.startsWith("java");
+    }
+
+    private void addClass(JavaClass jc) {
+        String className = jc.getClassName().replace('$', '.');
+        HashMap<String, String> fieldTypes = new HashMap<>();
+        for (Field field : jc.getFields()) {
+            addField(field, fieldTypes);
+        }
+        if (!fieldTypes.isEmpty()) {
+            this.fieldTypes.computeIfAbsent(className, t -> new HashMap<>()).putAll(fieldTypes);
+        }
+        String simpleClassName = className.substring(className.lastIndexOf('.') + 1);
+        HashMap<String, HashSet<String>> methodExceptions = this.methodExceptions.getOrDefault(simpleClassName, new HashMap<>());
+        for (Method method : jc.getMethods()) {
+            addMethod(method, methodExceptions);
+        }
+        if (!methodExceptions.isEmpty()) {
+            this.methodExceptions.put(simpleClassName, methodExceptions);
+        }
+        if (jc.getSuperclassName() != null) {
+            String superType = FileIO.getSimpleClassName(jc.getSuperclassName());
+            subTypes.computeIfAbsent(superType, t -> new HashSet<>()).add(simpleClassName);
+        }
+    }
+
+    private static void addField(Field field, HashMap<String, String> fieldTypes) {
+        String name = field.getName();
+        if (name.startsWith("this$"))
+            return;
+        fieldTypes.put(name, getSimpleType(field.getType()));
+    }
+
+    private static void addMethod(Method method, HashMap<String, HashSet<String>> methodExceptions) {
+        if (method.getExceptionTable() == null)
+            return;
+        String name = method.getName() + "(" + method.getArgumentTypes().length + ")";
+        for (String exception : method.getExceptionTable().getExceptionNames()) {
+            methodExceptions.computeIfAbsent(name, n -> new HashSet<>())
+                    .add(exception.substring(exception.lastIndexOf('.') + 1));
+        }
+    }
+
+    /*
+     * Modify com.sun.org.apache.bcel.internal.generic.Type.toString()
+     */
+    private static String getSimpleType(Type type) {
+        return ((type.equals(Type.NULL) || (type.getType() >= Constants.T_UNKNOWN))) ? type.getSignature() : signatureToString(type.getSignature());
+    }
+
+    /*
+     * Modify com.sun.org.apache.bcel.internal.classfile.Utility.signatureToString(signature, false)
+     */
+    private static String signatureToString(String signature) {
+        try {
+            switch (signature.charAt(0)) {
+                case 'B': return "number"; //return "byte";
+                case 'C': return "char";
+                case 'D': return "number"; //return "double";
+                case 'F': return "number"; //return "float";
+                case 'I': return "number"; //return "int";
+                case 'J': return "number"; //return "long";
+                case 'L': { // Full class name
+                    int index = signature.indexOf(';'); // Look for closing `;'
+                    if (index < 0)
+                        throw new ClassFormatException("Invalid signature: " + signature);
+                    return EGroumBuilder.compactClassName(signature.substring(1, index));
+                }
+                case 'S': return "number"; //return "short";
+                case 'Z': return "boolean";
+                case '[': { // Array declaration
+                    int n;
+                    StringBuilder brackets = new StringBuilder(); // Accumulate []'s
+                    // Count opening brackets and look for optional size argument
+                    for (n = 0; signature.charAt(n) == '['; n++)
+                        brackets.append("[]");
+                    // The rest of the string denotes a `<field_type>'
+                    return signatureToString(signature.substring(n)) + brackets;
+                }
+                case 'V': return "void";
+                default: throw new ClassFormatException("Invalid signature: `" + signature + "'");
+            }
+        } catch (StringIndexOutOfBoundsException e) { // Should never occur
+            throw new ClassFormatException("Invalid signature: " + e + ":" + signature);
+        }
+    }
+
+    /**
+     * @return the summary stored in the entry or <code>null</code>, if there is none for the key.
+     */
+    private static LibrarySummary load(Path entry, String key) {
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            if (!in.readUTF().equals(key)) {
+                return null;
+            }
+            LibrarySummary summary = new LibrarySummary();
+            for (int i = in.readInt(); i > 0; i--) {
+                String type = in.readUTF();
+                HashMap<String, String> fieldTypes = new HashMap<>();
+                for (int j = in.readInt(); j > 0; j--) {
+                    fieldTypes.put(in.readUTF(), in.readUTF());
+                }
+                summary.fieldTypes.put(type, fieldTypes);
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                String type = in.readUTF();
+                HashMap<String, HashSet<String>> methodExceptions = new HashMap<>();
+                for (int j = in.readInt(); j > 0; j--) {
+                    String method = in.readUTF();
+                    HashSet<String> exceptions = new HashSet<>();
+                    for (int k = in.readInt(); k > 0; k--) {
+                        exceptions.add(in.readUTF());
+                    }
+                    methodExceptions.put(method, exceptions);
+                }
+                summary.methodExceptions.put(type, methodExceptions);
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                String type = in.readUTF();
+                HashSet<String> subTypes = new HashSet<>();
+                for (int j = in.readInt(); j > 0; j--) {
+                    subTypes.add(in.readUTF());
+                }
+                summary.subTypes.put(type, subTypes);
+            }
+            return summary;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning("Ignoring unreadable library summary " + entry + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void store(Path entry, String key) {
+        try {
+            Files.createDirectories(entry.getParent());
+            Path tempFile = Files.createTempFile(entry.getParent(), "summary", ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                    out.writeUTF(key);
+                    out.writeInt(fieldTypes.size());
+                    for (Map.Entry<String, HashMap<String, String>> type : fieldTypes.entrySet()) {
+                        out.writeUTF(type.getKey());
+                        out.writeInt(type.getValue().size());
+                        for (Map.Entry<String, String> field : type.getValue().entrySet()) {
+                            out.writeUTF(field.getKey());
+                            out.writeUTF(field.getValue());
+                        }
+                    }
+                    out.writeInt(methodExceptions.size());
+                    for (Map.Entry<String, HashMap<String, HashSet<String>>> type : methodExceptions.entrySet()) {
+                        out.writeUTF(type.getKey());
+                        out.writeInt(type.getValue().size());
+                        for (Map.Entry<String, HashSet<String>> method : type.getValue().entrySet()) {
+                            out.writeUTF(method.getKey());
+                            out.writeInt(method.getValue().size());
+                            for (String exception : method.getValue()) {
+                                out.writeUTF(exception);
+                            }
+                        }
+                    }
+                    out.writeInt(subTypes.size());
+                    for (Map.Entry<String, HashSet<String>> type : subTypes.entrySet()) {
+                        out.writeUTF(type.getKey());
+                        out.writeInt(type.getValue().size());
+                        for (String subType : type.getValue()) {
+                            out.writeUTF(subType);
+                        }
+                    }
+                }
+                Files.move(tempFile, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            LOGGER.warning("Failed to store library summary " + entry + ": " + e.getMessage());
+        }
+    }
+
+    Map<String, HashMap<String, String>> getFieldTypes() {
+        return fieldTypes;
+    }
+
+    Map<String, HashMap<String, HashSet<String>>> getMethodExceptions() {
+        return methodExceptions;
+    }
+
+    /**
+     * @return the simple names of the direct sub types by the simple name of their super type
+     */
+    Map<String, HashSet<String>> getSubTypes() {
+        return subTypes;
+    }
+}
@@ -0,0 +1,36 @@
+package edu.iastate.cs.egroum.aug;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+final class ParallelMapper {
+    private ParallelMapper() {}
+
+    /**
+     * Applies the mapping to every item, using the given number of threads. The results are in the order of the items,
+     * regardless of the parallelism. With a parallelism of one, the items are mapped on the calling thread.
+     */
+    static <T, R> List<R> map(List<T> items, Function<? super T, ? extends R> mapping, int parallelism) {
+        if (parallelism <= 1 || items.size() <= 1) {
+            return items.stream().map(mapping).collect(Collectors.toList());
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> items.parallelStream().map(mapping).collect(Collectors.<R>toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while building usage graphs", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("failed to build usage graphs", cause);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.TreeSet;
 
 public class TypeUsageExamplePredicate implements UsageExamplePredicate {
     private final Set<String> fullyQualifiedTypeNames;
@@ -28,6 +29,34 @@ public class TypeUsageExamplePredicate implements UsageExamplePredicate {
         return matches(cu);
     }
 
+    /**
+     * Checks whether the source code mentions the simple name of any of the types, which a file needs to do to declare
+     * variables of, import, or instantiate one of the types. Calls on values whose type is never named in the file,
+     * such as <code>list.iterator().next()</code>, are missed.
+     */
+    @Override
+    public boolean mayMatch(String sourceFilePath, String sourceCode) {
+        if (matchesAnyExample()) return true;
+
+        for (String simpleTypeName : simpleTypeNames) {
+            if (containsIdentifier(sourceCode, simpleTypeName.substring(simpleTypeName.lastIndexOf('$') + 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsIdentifier(String sourceCode, String identifier) {
+        for (int i = sourceCode.indexOf(identifier); i >= 0; i = sourceCode.indexOf(identifier, i + 1)) {
+            int end = i + identifier.length();
+            if ((i == 0 || !Character.isJavaIdentifierPart(sourceCode.charAt(i - 1)))
+                    && (end == sourceCode.length() || !Character.isJavaIdentifierPart(sourceCode.charAt(end)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public boolean matches(MethodDeclaration methodDeclaration) {
         return matches((ASTNode) methodDeclaration);
@@ -81,4 +110,14 @@ public class TypeUsageExamplePredicate implements UsageExamplePredicate {
     private boolean matchesAnyExample() {
         return fullyQualifiedTypeNames.isEmpty();
     }
+
+    @Override
+    public String getCacheKey() {
+        return toString();
+    }
+
+    @Override
+    public String toString() {
+        return "usageExamplesOf" + new TreeSet<>(fullyQualifiedTypeNames);
+    }
 }
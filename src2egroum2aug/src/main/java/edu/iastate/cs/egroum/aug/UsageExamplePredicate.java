@@ -20,12 +20,41 @@ public interface UsageExamplePredicate {
                 return true;
             }
 
+            @Override
+            public String getCacheKey() {
+                return toString();
+            }
+
+            @Override
+            public String toString() {
+                return "allUsageExamples()";
+            }
         };
     }
 
     boolean matches(String sourceFilePath, CompilationUnit cu);
+
+    /**
+     * Checks whether a source file may contain usage examples, from its source code alone. If
+     * {@link AUGConfiguration#preScreenSourceFiles} is set, source files that this check rejects are not parsed with
+     * bindings in batch builds, which saves their binding resolution. By default, every source file may contain usage
+     * examples.
+     */
+    default boolean mayMatch(String sourceFilePath, String sourceCode) {
+        return true;
+    }
+
     boolean matches(MethodDeclaration methodDeclaration);
 
+    /**
+     * @return a description of this predicate that is the same for equal predicates across runs, such that the
+     * {@link AUGCache} can identify the AUGs built with it, or <code>null</code>, if the predicate has no such
+     * description. The AUGs built with a predicate without a cache key are never cached.
+     */
+    default String getCacheKey() {
+        return null;
+    }
+
     /**
      * This is only here, because we need a check during the src2aug transformation, which uses EGroum as an
      * intermediate state.
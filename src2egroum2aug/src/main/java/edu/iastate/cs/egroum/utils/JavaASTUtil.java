@@ -1,6 +1,7 @@
 package edu.iastate.cs.egroum.utils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -42,7 +43,6 @@ import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
 import org.eclipse.jdt.core.dom.VariableDeclarationStatement;
 import org.eclipse.jdt.core.dom.WildcardType;
 import org.eclipse.jdt.core.dom.Assignment.Operator;
-import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.internal.core.dom.NaiveASTFlattener;
 
 public class JavaASTUtil {
@@ -93,15 +93,24 @@ public class JavaASTUtil {
 		return JavaASTUtil.infixExpressionLables.get(key.toString());
 	}
 
-	@SuppressWarnings("rawtypes")
-	public static ASTNode parseSource(String source, String path, String name, String[] classpaths) {
-		Map options = JavaCore.getOptions();
+	/**
+	 * The JLS8 compiler options shared by all parsers. {@link ASTParser#setCompilerOptions(Map)} copies the options, such
+	 * that they are computed only once.
+	 */
+	private static final Map<String, String> COMPILER_OPTIONS = createCompilerOptions();
+
+	private static Map<String, String> createCompilerOptions() {
+		Map<String, String> options = JavaCore.getOptions();
 		options.put(JavaCore.COMPILER_COMPLIANCE, JavaCore.VERSION_1_8);
 		options.put(JavaCore.COMPILER_CODEGEN_TARGET_PLATFORM, JavaCore.VERSION_1_8);
 		options.put(JavaCore.COMPILER_SOURCE, JavaCore.VERSION_1_8);
+		return Collections.unmodifiableMap(options);
+	}
+
+	public static ASTNode parseSource(String source, String path, String name, String[] classpaths) {
 		String srcDir = getSrcDir(source, path, name);
 		ASTParser parser = ASTParser.newParser(AST.JLS8);
-    	parser.setCompilerOptions(options);
+		parser.setCompilerOptions(COMPILER_OPTIONS);
 		parser.setEnvironment(
 				classpaths == null ? new String[]{} : classpaths, 
 				new String[]{srcDir}, 
@@ -110,47 +119,99 @@ public class JavaASTUtil {
 		parser.setResolveBindings(true);
 		parser.setBindingsRecovery(true);
 		parser.setSource(source.toCharArray());
-    	parser.setUnitName(name);
+		parser.setUnitName(name);
 		return parser.createAST(null);
 	}
 
-	@SuppressWarnings("rawtypes")
 	public static ASTNode parseSource(String source) {
-		Map options = JavaCore.getOptions();
-		options.put(JavaCore.COMPILER_COMPLIANCE, JavaCore.VERSION_1_8);
-		options.put(JavaCore.COMPILER_CODEGEN_TARGET_PLATFORM, JavaCore.VERSION_1_8);
-		options.put(JavaCore.COMPILER_SOURCE, JavaCore.VERSION_1_8);
 		ASTParser parser = ASTParser.newParser(AST.JLS8);
-    	parser.setCompilerOptions(options);
+		parser.setCompilerOptions(COMPILER_OPTIONS);
 		parser.setSource(source.toCharArray());
-    	ASTNode ast = parser.createAST(null);
+		ASTNode ast = parser.createAST(null);
 		return ast;
 	}
 	
-	@SuppressWarnings("rawtypes")
 	private static String getSrcDir(String source, String path, String name) {
-		Map options = JavaCore.getOptions();
-		options.put(JavaCore.COMPILER_COMPLIANCE, JavaCore.VERSION_1_8);
-		options.put(JavaCore.COMPILER_CODEGEN_TARGET_PLATFORM, JavaCore.VERSION_1_8);
-		options.put(JavaCore.COMPILER_SOURCE, JavaCore.VERSION_1_8);
-		ASTParser parser = ASTParser.newParser(AST.JLS8);
-    	parser.setCompilerOptions(options);
-		parser.setSource(source.toCharArray());
-    	ASTNode ast = parser.createAST(null);
-    	CompilationUnit cu =  (CompilationUnit) ast;
-    	String srcDir = path;
-    	if (cu.getPackage() != null) {
-    		String p = cu.getPackage().getName().getFullyQualifiedName();
-    		int end = path.length() - p.length() - 1 - name.length();
-    		if (end > 0)
-    			srcDir = path.substring(0, end);
-    	} else {
-	    	int end = path.length() - name.length();
+		String srcDir = path;
+		String p = getPackageName(source);
+		if (p != null) {
+			int end = path.length() - p.length() - 1 - name.length();
+			if (end > 0)
+				srcDir = path.substring(0, end);
+		} else {
+			int end = path.length() - name.length();
 			if (end > 0)
 				srcDir = path.substring(0, end);
-    	}
+		}
 		return srcDir;
 	}
+
+	/**
+	 * Reads the name of the package declared by the given compilation unit, without parsing it. Only comments and
+	 * annotations may precede the package declaration.
+	 * 
+	 * @return the fully-qualified package name, or <code>null</code>, if the unit declares no package.
+	 */
+	public static String getPackageName(String source) {
+		int i = skipWhitespaceAndComments(source, 0);
+		while (i < source.length() && source.charAt(i) == '@') {
+			i = skipAnnotation(source, i + 1);
+		}
+		if (!source.startsWith("package", i) || (i + 7 < source.length() && Character.isJavaIdentifierPart(source.charAt(i + 7))))
+			return null;
+		StringBuilder name = new StringBuilder();
+		i = skipWhitespaceAndComments(source, i + 7);
+		while (i < source.length() && source.charAt(i) != ';') {
+			char c = source.charAt(i);
+			if (!Character.isJavaIdentifierPart(c) && c != '.')
+				return null;
+			name.append(c);
+			i = skipWhitespaceAndComments(source, i + 1);
+		}
+		return name.length() == 0 ? null : name.toString();
+	}
+
+	private static int skipAnnotation(String source, int i) {
+		i = skipWhitespaceAndComments(source, i);
+		while (i < source.length() && (Character.isJavaIdentifierPart(source.charAt(i)) || source.charAt(i) == '.')) {
+			i = skipWhitespaceAndComments(source, i + 1);
+		}
+		if (i < source.length() && source.charAt(i) == '(') {
+			int depth = 0;
+			do {
+				char c = source.charAt(i);
+				if (c == '(')
+					depth++;
+				else if (c == ')')
+					depth--;
+				else if (c == '"' || c == '\'') {
+					for (i++; i < source.length() && source.charAt(i) != c; i++) {
+						if (source.charAt(i) == '\\')
+							i++;
+					}
+				}
+				i = skipWhitespaceAndComments(source, i + 1);
+			} while (depth > 0 && i < source.length());
+		}
+		return i;
+	}
+
+	private static int skipWhitespaceAndComments(String source, int i) {
+		while (i < source.length()) {
+			if (Character.isWhitespace(source.charAt(i)) || source.charAt(i) == '\uFEFF') {
+				i++;
+			} else if (source.startsWith("//", i)) {
+				int end = source.indexOf('\n', i);
+				i = end < 0 ? source.length() : end + 1;
+			} else if (source.startsWith("/*", i)) {
+				int end = source.indexOf("*/", i + 2);
+				i = end < 0 ? source.length() : end + 2;
+			} else {
+				break;
+			}
+		}
+		return i;
+	}
 	
 	public static String getSource(ASTNode node) {
 		NaiveASTFlattener flatterner = new NaiveASTFlattener();
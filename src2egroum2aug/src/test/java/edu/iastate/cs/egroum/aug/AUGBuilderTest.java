@@ -1,15 +1,25 @@
 package edu.iastate.cs.egroum.aug;
 
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
 import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageGraph;
+import de.tu_darmstadt.stg.mudetect.aug.model.Edge;
 import de.tu_darmstadt.stg.mudetect.aug.model.dot.DisplayAUGDotExporter;
+import de.tu_darmstadt.stg.mudetect.aug.visitors.AUGLabelProvider;
+import de.tu_darmstadt.stg.mudetect.aug.visitors.BaseAUGLabelProvider;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestName;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
 
 import static edu.iastate.cs.egroum.aug.AUGBuilderTestUtils.buildAUGForMethod;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
 
 public class AUGBuilderTest {
 	@Rule public TestName name = new TestName();
@@ -51,6 +61,36 @@ public class AUGBuilderTest {
 				"}"));
 	}
 
+	@Test
+	public void buildsSameAUGsInParallel() {
+		StringBuilder code = new StringBuilder("class C {");
+		for (int i = 0; i < 10; i++) {
+			code.append("  void m").append(i).append("(java.util.List l) {")
+					.append("    if (!l.isEmpty()) { l.get(").append(i).append("); }")
+					.append("    try { l.remove(0); } catch (RuntimeException e) { e.printStackTrace(); }")
+					.append("  }");
+		}
+		code.append("}");
+		AUGConfiguration parallelConfiguration = new AUGConfiguration() {{ parallelism = 4; }};
+
+		List<String> augs = describe(new AUGBuilder(new AUGConfiguration()).build(code.toString(), "C.java", "p", null));
+		List<String> parallelAUGs = describe(new AUGBuilder(parallelConfiguration).build(code.toString(), "C.java", "p", null));
+
+		assertThat(augs, hasSize(10));
+		assertThat(parallelAUGs, contains(augs.toArray()));
+	}
+
+	private static List<String> describe(Collection<APIUsageExample> augs) {
+		AUGLabelProvider labelProvider = new BaseAUGLabelProvider();
+		return augs.stream().map(aug -> aug.getLocation().getMethodSignature() + ":" + aug.edgeSet().stream()
+				.map(edge -> describe(aug, edge, labelProvider)).sorted().collect(toList())).collect(toList());
+	}
+
+	private static String describe(APIUsageGraph aug, Edge edge, AUGLabelProvider labelProvider) {
+		return labelProvider.getLabel(aug.getEdgeSource(edge)) + " -" + labelProvider.getLabel(edge) + "-> "
+				+ labelProvider.getLabel(aug.getEdgeTarget(edge));
+	}
+
     private void print(APIUsageGraph groum) throws IOException, InterruptedException {
         DisplayAUGDotExporter exporter = new DisplayAUGDotExporter();
         exporter.toPNGFile(groum, new File("output", name.getMethodName()));
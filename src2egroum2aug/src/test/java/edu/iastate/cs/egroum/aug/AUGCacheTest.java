@@ -0,0 +1,171 @@
+package edu.iastate.cs.egroum.aug;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static de.tu_darmstadt.stg.mudetect.aug.matchers.AUGMatchers.hasNode;
+import static de.tu_darmstadt.stg.mudetect.aug.matchers.NodeMatchers.methodCall;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class AUGCacheTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File srcDir;
+    private File sourceFile;
+    private File cacheDir;
+
+    @Before
+    public void setup() throws IOException {
+        srcDir = folder.newFolder("src");
+        sourceFile = new File(srcDir, "C.java");
+        cacheDir = folder.newFolder("cache");
+    }
+
+    @Test
+    public void loadsCachedAUGs() throws IOException {
+        write(sourceFile, "class C { void m(java.util.List l) { l.size(); } }");
+        AUGConfiguration configuration = new AUGConfiguration() {{ cachePath = cacheDir.getPath(); }};
+        Collection<APIUsageExample> builtAUGs = new AUGBuilder(configuration).build(srcDir.getPath(), null);
+
+        Optional<Collection<APIUsageExample>> cachedAUGs =
+                new AUGCache(cacheDir.getPath(), configuration).load(sourceFile);
+
+        assertThat(builtAUGs, hasSize(1));
+        assertThat(cachedAUGs.isPresent(), is(true));
+        assertThat(cachedAUGs.get(), hasSize(1));
+        APIUsageExample aug = cachedAUGs.get().iterator().next();
+        assertThat(aug.getLocation(), is(builtAUGs.iterator().next().getLocation()));
+        assertThat(aug, hasNode(methodCall("List", "size()")));
+        assertThat(aug.vertexSet().stream().map(aug::getSourceLineNumber).collect(Collectors.toList()),
+                hasItem(Optional.of(1)));
+    }
+
+    @Test
+    public void rebuildsChangedFile() throws IOException {
+        AUGConfiguration configuration = new AUGConfiguration() {{ cachePath = cacheDir.getPath(); }};
+        write(sourceFile, "class C { void m(java.util.List l) { l.size(); } }");
+        new AUGBuilder(configuration).build(srcDir.getPath(), null);
+        write(sourceFile, "class C { void m(java.util.List l) { l.clear(); } }");
+
+        Collection<APIUsageExample> augs = new AUGBuilder(configuration).build(srcDir.getPath(), null);
+
+        assertThat(augs, hasSize(1));
+        assertThat(augs.iterator().next(), hasNode(methodCall("List", "clear()")));
+        assertThat(cacheDir.listFiles(), arrayWithSize(1));
+    }
+
+    @Test
+    public void ignoresEntriesOfOtherConfiguration() throws IOException {
+        AUGConfiguration configuration = new AUGConfiguration() {{ cachePath = cacheDir.getPath(); }};
+        AUGConfiguration otherConfiguration = new AUGConfiguration() {{ encodeUnaryOperators = true; }};
+        write(sourceFile, "class C { void m(java.util.List l) { l.size(); } }");
+        new AUGBuilder(configuration).build(srcDir.getPath(), null);
+
+        Optional<Collection<APIUsageExample>> cachedAUGs =
+                new AUGCache(cacheDir.getPath(), otherConfiguration).load(sourceFile);
+
+        assertThat(cachedAUGs.isPresent(), is(false));
+    }
+
+    @Test
+    public void ignoresEntriesOfChangedClasspath() throws IOException {
+        AUGConfiguration configuration = new AUGConfiguration();
+        File library = folder.newFile("library.jar");
+        String[] classpath = {library.getPath()};
+        write(sourceFile, "class C {}");
+        new AUGCache(cacheDir.getPath(), configuration, classpath).store(sourceFile, Collections.emptyList());
+        boolean cachedBeforeChange = new AUGCache(cacheDir.getPath(), configuration, classpath).load(sourceFile).isPresent();
+
+        write(library, "changed");
+
+        assertThat(cachedBeforeChange, is(true));
+        assertThat(new AUGCache(cacheDir.getPath(), configuration, classpath).load(sourceFile).isPresent(), is(false));
+    }
+
+    @Test
+    public void resolvesTypesOfUnchangedFilesBelowSourceRoot() throws IOException {
+        File projectDir = folder.newFolder("project");
+        File packageDir = folder.newFolder("project", "src", "main", "java", "p");
+        File client = new File(packageDir, "Client.java");
+        write(new File(packageDir, "Base.java"), "package p; class Base { Base next() { return this; } }");
+        write(new File(packageDir, "Helper.java"), "package p; class Helper extends Base {}");
+        write(client, "package p; class Client { void m(Helper h) { h.next(); } }");
+        AUGConfiguration configuration = new AUGConfiguration() {{ cachePath = cacheDir.getPath(); }};
+        new AUGBuilder(configuration).build(projectDir.getPath(), null);
+        write(client, "package p; class Client { void n(Helper h) { h.next(); } }");
+
+        Collection<APIUsageExample> augs = new AUGBuilder(configuration).build(projectDir.getPath(), null);
+
+        assertThat(augs, hasItem(hasNode(methodCall("Base", "next()"))));
+    }
+
+    @Test
+    public void fingerprintIgnoresParallelism() {
+        AUGConfiguration configuration = new AUGConfiguration();
+        AUGConfiguration parallelConfiguration = new AUGConfiguration() {{ parallelism = 4; }};
+
+        assertThat(AUGCache.getFingerprint(parallelConfiguration), is(AUGCache.getFingerprint(configuration)));
+    }
+
+    @Test
+    public void fingerprintIsStableForEqualPredicates() {
+        AUGConfiguration configuration = new AUGConfiguration() {{
+            usageExamplePredicate = TypeUsageExamplePredicate.usageExamplesOf("java.util.List");
+        }};
+        AUGConfiguration equalConfiguration = new AUGConfiguration() {{
+            usageExamplePredicate = TypeUsageExamplePredicate.usageExamplesOf("java.util.List");
+        }};
+
+        assertThat(AUGCache.getFingerprint(equalConfiguration), is(AUGCache.getFingerprint(configuration)));
+    }
+
+    @Test
+    public void doesNotCacheWithPredicateWithoutCacheKey() throws IOException {
+        UsageExamplePredicate allUsageExamples = UsageExamplePredicate.allUsageExamples();
+        AUGConfiguration configuration = new AUGConfiguration() {{
+            cachePath = cacheDir.getPath();
+            usageExamplePredicate = new UsageExamplePredicate() {
+                @Override
+                public boolean matches(String sourceFilePath, CompilationUnit cu) {
+                    return allUsageExamples.matches(sourceFilePath, cu);
+                }
+
+                @Override
+                public boolean matches(MethodDeclaration methodDeclaration) {
+                    return allUsageExamples.matches(methodDeclaration);
+                }
+
+                @Override
+                public boolean matches(EGroumGraph graph) {
+                    return allUsageExamples.matches(graph);
+                }
+            };
+        }};
+        write(sourceFile, "class C { void m(java.util.List l) { l.size(); } }");
+
+        Collection<APIUsageExample> augs = new AUGBuilder(configuration).build(srcDir.getPath(), null);
+
+        assertThat(augs, hasSize(1));
+        assertThat(cacheDir.listFiles(), arrayWithSize(0));
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
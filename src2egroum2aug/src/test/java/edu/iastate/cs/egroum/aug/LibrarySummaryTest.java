@@ -0,0 +1,79 @@
+package edu.iastate.cs.egroum.aug;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class LibrarySummaryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File jar;
+    private File cacheDir;
+
+    @Before
+    public void setup() throws IOException {
+        jar = folder.newFile("lib.jar");
+        cacheDir = folder.newFolder("cache");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar.toPath()));
+             InputStream in = getFileInputStreamClass()) {
+            out.putNextEntry(new JarEntry("java/io/FileInputStream.class"));
+            byte[] buffer = new byte[4096];
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    @Test
+    public void summarizesJar() throws IOException {
+        LibrarySummary summary = LibrarySummary.get(jar.getPath(), null);
+
+        assertThat(summary.getMethodExceptions().get("FileInputStream").get("<init>(1)"), hasItem("FileNotFoundException"));
+        assertThat(summary.getSubTypes().get("InputStream"), contains("FileInputStream"));
+        assertThat(summary.getFieldTypes(), hasKey("java.io.FileInputStream"));
+    }
+
+    @Test
+    public void loadsStoredSummary() throws IOException {
+        LibrarySummary summary = LibrarySummary.get(jar.getPath(), cacheDir.getPath());
+        overwriteKeepingSizeAndModificationTime(jar);
+
+        LibrarySummary storedSummary = LibrarySummary.get(jar.getPath(), cacheDir.getPath());
+
+        assertThat(cacheDir.list(), arrayWithSize(1));
+        assertThat(storedSummary.getFieldTypes(), is(summary.getFieldTypes()));
+        assertThat(storedSummary.getMethodExceptions(), is(summary.getMethodExceptions()));
+        assertThat(storedSummary.getSubTypes(), is(summary.getSubTypes()));
+    }
+
+    @Test
+    public void summarizesRuntimeImage() throws IOException {
+        File rtJar = new File(System.getProperty("java.home") + "/lib/rt.jar");
+        LibrarySummary summary = LibrarySummary.get(rtJar.isFile() ? rtJar.getPath() : LibrarySummary.JRT, null);
+
+        assertThat(summary.getSubTypes().get("Exception"), hasItem("IOException"));
+    }
+
+    private static InputStream getFileInputStreamClass() {
+        return Object.class.getResourceAsStream("/java/io/FileInputStream.class");
+    }
+
+    private static void overwriteKeepingSizeAndModificationTime(File file) throws IOException {
+        FileTime modificationTime = Files.getLastModifiedTime(file.toPath());
+        Files.write(file.toPath(), new byte[(int) file.length()]);
+        Files.setLastModifiedTime(file.toPath(), modificationTime);
+    }
+}
@@ -0,0 +1,119 @@
+package edu.iastate.cs.egroum.aug;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.FileASTRequestor;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static de.tu_darmstadt.stg.mudetect.aug.matchers.AUGMatchers.hasNode;
+import static de.tu_darmstadt.stg.mudetect.aug.matchers.NodeMatchers.methodCall;
+import static edu.iastate.cs.egroum.aug.TypeUsageExamplePredicate.usageExamplesOf;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class PreScreenUsageExamplesTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File srcDir;
+
+    @Before
+    public void setup() throws IOException {
+        srcDir = folder.newFolder("src");
+        File apiDir = folder.newFolder("src", "p");
+        File clientDir = folder.newFolder("src", "q");
+        write(new File(apiDir, "Api.java"), "package p; public class Api { public void use() {} }");
+        write(new File(clientDir, "Client.java"), "package q; import p.Api; " +
+                "class Client { void m(Api a, Helper h) { a.use(); h.next(); } }");
+        write(new File(clientDir, "Helper.java"), "package q; class Helper extends Base {}");
+        write(new File(clientDir, "Base.java"), "package q; class Base { Base next() { return this; } }");
+        write(new File(clientDir, "Apis.java"), "package q; class Apis { static p.Api get() { return null; } }");
+        write(new File(clientDir, "Chain.java"), "package q; class Chain { void m() { Apis.get().use(); } }");
+    }
+
+    @Test
+    public void screensBySimpleTypeName() {
+        TypeUsageExamplePredicate predicate = usageExamplesOf("p.Api");
+
+        assertThat(predicate.mayMatch("C.java", "import p.Api; class C {}"), is(true));
+        assertThat(predicate.mayMatch("C.java", "import p.*; class C { void m(Api a) {} }"), is(true));
+        assertThat(predicate.mayMatch("C.java", "class C { void m(p.Api a) {} }"), is(true));
+        assertThat(predicate.mayMatch("C.java", "class C { void m(ApiFactory f) {} }"), is(false));
+        assertThat(predicate.mayMatch("C.java", "class C { void m(MyApi a) {} }"), is(false));
+    }
+
+    @Test
+    public void screensNothingForAllExamples() {
+        assertThat(usageExamplesOf().mayMatch("C.java", "class C {}"), is(true));
+        assertThat(UsageExamplePredicate.allUsageExamples().mayMatch("C.java", "class C {}"), is(true));
+    }
+
+    @Test
+    public void parsesOnlyScreenedFiles() {
+        AUGBuilder builder = new AUGBuilder(preScreeningConfiguration());
+        List<String> parsedFiles = new ArrayList<>();
+        builder.addASTRequestor(new FileASTRequestor() {
+            @Override
+            public void acceptAST(String sourceFilePath, CompilationUnit ast) {
+                parsedFiles.add(new File(sourceFilePath).getName());
+            }
+        });
+
+        Collection<APIUsageExample> augs = builder.build(srcDir.getPath(), null);
+
+        assertThat(parsedFiles, containsInAnyOrder("Api.java", "Client.java", "Apis.java"));
+        assertThat(augs, contains(hasNode(methodCall("Api", "use()"))));
+    }
+
+    @Test
+    public void findsCallChainsThatNeverNameTheType() {
+        AUGBuilder builder = new AUGBuilder(new AUGConfiguration() {{ usageExamplePredicate = usageExamplesOf("p.Api"); }});
+
+        Collection<APIUsageExample> augs = builder.build(srcDir.getPath(), null);
+
+        assertThat(augs, containsInAnyOrder(
+                both(hasNode(methodCall("Api", "use()"))).and(hasNode(methodCall("Base", "next()"))),
+                both(hasNode(methodCall("Api", "use()"))).and(hasNode(methodCall("Apis", "get()")))));
+    }
+
+    @Test
+    public void missesCallChainsThatNeverNameTheTypeWhenPreScreening() {
+        AUGBuilder builder = new AUGBuilder(preScreeningConfiguration());
+
+        Collection<APIUsageExample> augs = builder.build(srcDir.getPath(), null);
+
+        assertThat(augs, not(hasItem(hasNode(methodCall("Apis", "get()")))));
+    }
+
+    @Test
+    public void resolvesTypesFromScreenedOutFiles() {
+        AUGBuilder builder = new AUGBuilder(preScreeningConfiguration());
+
+        List<APIUsageExample> augs = new ArrayList<>();
+        builder.build(new String[]{srcDir.getPath()}, null, augs::add);
+
+        assertThat(augs, contains(hasNode(methodCall("Base", "next()"))));
+    }
+
+    private static AUGConfiguration preScreeningConfiguration() {
+        return new AUGConfiguration() {{
+            usageExamplePredicate = usageExamplesOf("p.Api");
+            preScreenSourceFiles = true;
+        }};
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,76 @@
+package edu.iastate.cs.egroum.aug;
+
+import de.tu_darmstadt.stg.mudetect.aug.model.APIUsageExample;
+import de.tu_darmstadt.stg.mudetect.aug.model.Location;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static de.tu_darmstadt.stg.mudetect.aug.matchers.AUGMatchers.hasNode;
+import static de.tu_darmstadt.stg.mudetect.aug.matchers.NodeMatchers.methodCall;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class StreamAUGsTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File srcDir;
+
+    @Before
+    public void setup() throws IOException {
+        srcDir = folder.newFolder("src");
+        write(new File(srcDir, "C.java"), "class C { void m(java.util.List l) { l.size(); } void n(D d) { d.d(); } }");
+        write(new File(srcDir, "D.java"), "class D { void d() {} }");
+    }
+
+    @Test
+    public void streamsAUGsOfAllFiles() {
+        AUGBuilder builder = new AUGBuilder(new AUGConfiguration());
+        Collection<APIUsageExample> builtAUGs = builder.build(srcDir.getPath(), null);
+
+        List<APIUsageExample> streamedAUGs = new ArrayList<>();
+        builder.build(new String[]{srcDir.getPath()}, null, streamedAUGs::add);
+
+        assertThat(getLocations(streamedAUGs), containsInAnyOrder(getLocations(builtAUGs).toArray()));
+        assertThat(streamedAUGs, hasItem(hasNode(methodCall("List", "size()"))));
+        assertThat(streamedAUGs, hasItem(hasNode(methodCall("D", "d()"))));
+    }
+
+    @Test
+    public void streamsCachedAUGsAndCachesBuiltAUGs() throws IOException {
+        File cacheDir = folder.newFolder("cache");
+        AUGConfiguration configuration = new AUGConfiguration() {{ cachePath = cacheDir.getPath(); }};
+        AUGBuilder builder = new AUGBuilder(configuration);
+
+        List<APIUsageExample> streamedAUGs = new ArrayList<>();
+        builder.build(new String[]{srcDir.getPath()}, null, streamedAUGs::add);
+        List<APIUsageExample> restreamedAUGs = new ArrayList<>();
+        builder.build(new String[]{srcDir.getPath()}, null, restreamedAUGs::add);
+
+        Optional<Collection<APIUsageExample>> cachedAUGs =
+                new AUGCache(cacheDir.getPath(), configuration).load(new File(srcDir, "C.java"));
+        assertThat(cachedAUGs.isPresent(), is(true));
+        assertThat(cachedAUGs.get(), hasSize(2));
+        assertThat(getLocations(restreamedAUGs), containsInAnyOrder(getLocations(streamedAUGs).toArray()));
+    }
+
+    private static List<Location> getLocations(Collection<APIUsageExample> augs) {
+        return augs.stream().map(APIUsageExample::getLocation).collect(Collectors.toList());
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,67 @@
+package edu.iastate.cs.egroum.utils;
+
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class JavaASTUtilTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readsPackageName() {
+        assertThat(JavaASTUtil.getPackageName("package a.b.c; class C {}"), is("a.b.c"));
+    }
+
+    @Test
+    public void readsNoPackageName() {
+        assertThat(JavaASTUtil.getPackageName("import a.B; class C {}"), is(nullValue()));
+        assertThat(JavaASTUtil.getPackageName("class C {}"), is(nullValue()));
+        assertThat(JavaASTUtil.getPackageName(""), is(nullValue()));
+    }
+
+    @Test
+    public void skipsCommentsAndAnnotations() {
+        String source = "/* package x; */\n" +
+                "// package y;\n" +
+                "@Deprecated @SuppressWarnings({\"package z;\", \")\"})\n" +
+                "package /* c */ a . b;\n";
+
+        assertThat(JavaASTUtil.getPackageName(source), is("a.b"));
+    }
+
+    @Test
+    public void ignoresIdentifiersStartingWithPackage() {
+        assertThat(JavaASTUtil.getPackageName("packages.C c;"), is(nullValue()));
+    }
+
+    @Test
+    public void readsSamePackageAsParser() {
+        String source = "/** doc */ package a.b; class C {}";
+
+        CompilationUnit cu = (CompilationUnit) JavaASTUtil.parseSource(source);
+
+        assertThat(JavaASTUtil.getPackageName(source), is(cu.getPackage().getName().getFullyQualifiedName()));
+    }
+
+    @Test
+    public void parsesSingleFileWithBindings() throws IOException {
+        File packageDir = folder.newFolder("a", "b");
+        String path = new File(packageDir, "C.java").getAbsolutePath();
+        String source = "/* package x; */ package a.b; class C { void m(java.util.List<String> l) { l.add(\"\"); } }";
+
+        CompilationUnit cu = (CompilationUnit) JavaASTUtil.parseSource(source, path, "C.java", null);
+
+        TypeDeclaration type = (TypeDeclaration) cu.types().get(0);
+        assertThat(type.resolveBinding().getQualifiedName(), is("a.b.C"));
+    }
+}